@@ -0,0 +1,35 @@
+#!/usr/bin/env python3
+# 对比两次JMH运行结果（-rf json），逐项输出得分变化
+# 用法：python3 script/benchmark/compare-jmh.py baseline.json target/jmh-result.json
+import json
+import sys
+
+
+def load(path):
+    results = {}
+    for entry in json.load(open(path)):
+        params = ",".join(f"{k}={v}" for k, v in sorted(entry.get("params", {}).items()))
+        key = entry["benchmark"].rsplit("benchmark.", 1)[-1] + (f"[{params}]" if params else "")
+        metric = entry["primaryMetric"]
+        results[key] = (metric["score"], metric["scoreError"], metric["scoreUnit"])
+    return results
+
+
+def main():
+    if len(sys.argv) != 3:
+        sys.exit("usage: compare-jmh.py baseline.json current.json")
+    baseline, current = load(sys.argv[1]), load(sys.argv[2])
+    width = max(map(len, current), default=20)
+    print(f"{'benchmark':<{width}} {'baseline':>14} {'current':>14} {'change':>9}")
+    for key, (score, error, unit) in sorted(current.items()):
+        if key not in baseline:
+            print(f"{key:<{width}} {'-':>14} {score:>10.1f} {unit:<3} {'new':>9}")
+            continue
+        base = baseline[key][0]
+        change = (score - base) / base * 100 if base else float("nan")
+        # 基准模式为平均耗时（ns/op），变化为负表示变快
+        print(f"{key:<{width}} {base:>10.1f} {unit:<3} {score:>10.1f} {unit:<3} {change:>+8.1f}%")
+
+
+if __name__ == "__main__":
+    main()
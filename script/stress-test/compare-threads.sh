@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# 平台线程与虚拟线程模式对比压测：依次以两种模式启动服务，运行同一k6脚本，输出吞吐量与p99延迟
+# 用法：./script/stress-test/compare-threads.sh [jar路径]
+# 默认开启WAL，使写请求包含刷盘等待，更接近两种线程模型差异明显的阻塞I/O场景
+set -euo pipefail
+
+JAR="${1:-$(ls target/*.jar | grep -v original | head -n 1)}"
+PORT="${PORT:-8080}"
+OUT_DIR="${OUT_DIR:-target/thread-comparison}"
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+mkdir -p "$OUT_DIR"
+
+run_mode() {
+  local mode="$1"
+  local profile_args=()
+  if [ "$mode" = "virtual" ]; then
+    profile_args=(--spring.profiles.active=virtual)
+  fi
+  rm -rf "$OUT_DIR/$mode-data"
+  java -jar "$JAR" --server.port="$PORT" "${profile_args[@]}" \
+    --transaction.storage.wal.enabled=true \
+    --transaction.storage.wal.directory="$OUT_DIR/$mode-data/wal" \
+    --transaction.cache.warmup.enabled=false \
+    > "$OUT_DIR/$mode.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  for _ in $(seq 1 60); do
+    curl -sf "http://localhost:$PORT/actuator/health" > /dev/null && break
+    sleep 1
+  done
+  k6 run --quiet --summary-trend-stats="avg,p(95),p(99),max" \
+    --summary-export="$OUT_DIR/$mode-summary.json" "$SCRIPT_DIR/stress-test.js" || true
+  if [ "$mode" = "virtual" ]; then
+    curl -sf "http://localhost:$PORT/actuator/pinning" > "$OUT_DIR/virtual-pinning.json" || true
+  fi
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform
+run_mode virtual
+
+python3 - "$OUT_DIR" <<'PY'
+import json, sys
+out = sys.argv[1]
+print(f"{'mode':<10}{'req/s':>12}{'p95(ms)':>12}{'p99(ms)':>12}{'failed':>10}")
+for mode in ("platform", "virtual"):
+    metrics = json.load(open(f"{out}/{mode}-summary.json"))["metrics"]
+    duration = metrics["http_req_duration"]
+    print(f"{mode:<10}{metrics['http_reqs']['rate']:>12.1f}{duration['p(95)']:>12.2f}"
+          f"{duration['p(99)']:>12.2f}{metrics['http_req_failed']['value']:>10.4f}")
+pinning = json.load(open(f"{out}/virtual-pinning.json"))
+print("pinned sites:", pinning if pinning else "none")
+PY
@@ -0,0 +1,35 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.model.Transaction.TransactionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 基准测试数据，按序号生成确定的交易内容，多次运行之间结果可比
+ */
+final class BenchmarkData {
+    static final int ACCOUNTS = 1000;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    static String accountOf(long i) {
+        return "ACC-" + (i % ACCOUNTS);
+    }
+
+    static TransactionDto dto(long i) {
+        return new TransactionDto(accountOf(i), 1 + (i % 100_000) / 100.0, typeOf(i), "benchmark transaction " + i);
+    }
+
+    static Transaction transaction(long i) {
+        return new Transaction("tx-" + i, accountOf(i), 1 + (i % 100_000) / 100.0, typeOf(i),
+                BASE_TIME.plusNanos(i * 1_000L), "benchmark transaction " + i);
+    }
+
+    private static TransactionType typeOf(long i) {
+        return (i & 1) == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL;
+    }
+}
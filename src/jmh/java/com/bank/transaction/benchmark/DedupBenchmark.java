@@ -0,0 +1,52 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.storage.dedup.Fingerprint;
+import com.bank.transaction.storage.dedup.FingerprintSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 重复检测基准：内容指纹计算（取代原 generateHash 的MD5字符串哈希）与指纹集合查询
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DedupBenchmark {
+    private static final int DTOS = 1024;
+
+    @Param({"100000"})
+    public int size;
+
+    private final TransactionDto[] dtos = new TransactionDto[DTOS];
+    private FingerprintSet fingerprints;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < DTOS; i++) {
+            dtos[i] = BenchmarkData.dto(i);
+        }
+        fingerprints = new FingerprintSet(Duration.ofHours(24));
+        now = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            fingerprints.add(Fingerprint.of(BenchmarkData.dto(i)), now);
+        }
+    }
+
+    @Benchmark
+    public Fingerprint fingerprint() {
+        return Fingerprint.of(dtos[ThreadLocalRandom.current().nextInt(DTOS)]);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return fingerprints.contains(Fingerprint.of(dtos[ThreadLocalRandom.current().nextInt(DTOS)]), now);
+    }
+}
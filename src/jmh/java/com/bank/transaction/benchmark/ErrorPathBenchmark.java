@@ -0,0 +1,84 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.exception.GlobalExceptionHandler;
+import com.bank.transaction.exception.GlobalExceptionHandler.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 错误路径基准：抛出并处理一次业务拒绝
+ * <p>
+ * rejectStackless 为当前实现（无堆栈异常 + 预先序列化的响应）；rejectWithStackTrace 模拟改造前的做法
+ * （采集堆栈的异常 + 每次新建响应对象并序列化），两者之差即错误路径节省的开销。
+ * 抛出点位于若干层调用之下，使堆栈采集的代价接近真实请求。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+    private static final int CALL_DEPTH = 40;
+
+    private ObjectMapper objectMapper;
+    private GlobalExceptionHandler handler;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        handler = new GlobalExceptionHandler(objectMapper);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> rejectStackless() {
+        try {
+            throwAt(CALL_DEPTH, new Thrower(true));
+            return null;
+        } catch (BusinessException e) {
+            return handler.handleBusinessException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] rejectWithStackTrace() throws IOException {
+        try {
+            throwAt(CALL_DEPTH, new Thrower(false));
+            return null;
+        } catch (StackTracedException e) {
+            return objectMapper.writeValueAsBytes(new ErrorResponse(e.errorCode.getCode(), e.errorCode.getMessage()));
+        }
+    }
+
+    private static void throwAt(int depth, Thrower thrower) {
+        if (depth == 0) {
+            thrower.fire();
+            return;
+        }
+        throwAt(depth - 1, thrower);
+    }
+
+    private record Thrower(boolean stackless) {
+        void fire() {
+            if (stackless) {
+                throw new BusinessException(ErrorCode.DUPLICATE_TRANSACTION);
+            }
+            throw new StackTracedException(ErrorCode.DUPLICATE_TRANSACTION);
+        }
+    }
+
+    private static final class StackTracedException extends RuntimeException {
+        private final ErrorCode errorCode;
+
+        StackTracedException(ErrorCode errorCode) {
+            super(errorCode.getMessage());
+            this.errorCode = errorCode;
+        }
+    }
+}
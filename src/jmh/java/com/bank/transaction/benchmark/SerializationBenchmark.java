@@ -0,0 +1,80 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.dto.json.TransactionJsonModule;
+import com.bank.transaction.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON序列化基准：单条交易、一页交易（与接口默认分页大小一致）的写出，以及请求体的解析
+ * <p>
+ * ObjectMapper 按 Spring Boot 的默认方式构建（日期写为ISO字符串），与接口实际使用的配置一致。
+ * {@code mapper=reflective} 为默认的反射序列化，{@code mapper=module} 额外注册手写序列化器；
+ * 配合 {@code -prof gc} 可对比每次操作的分配字节数。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"reflective", "module"})
+    private String mapper;
+
+    private ObjectWriter transactionWriter;
+    private ObjectWriter pageWriter;
+    private ObjectReader dtoReader;
+    private Transaction transaction;
+    private PageResponse<Transaction> page;
+    private byte[] dtoJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("module".equals(mapper)) {
+            builder.modulesToInstall(new TransactionJsonModule());
+        }
+        ObjectMapper objectMapper = builder.build();
+        transactionWriter = objectMapper.writerFor(Transaction.class);
+        pageWriter = objectMapper.writerFor(PageResponse.class);
+        dtoReader = objectMapper.readerFor(TransactionDto.class);
+
+        transaction = BenchmarkData.transaction(1);
+        List<Transaction> content = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            content.add(BenchmarkData.transaction(i));
+        }
+        page = new PageResponse<>(content, 0, PAGE_SIZE, 1000, 1000 / PAGE_SIZE);
+        dtoJson = objectMapper.writeValueAsBytes(BenchmarkData.dto(1));
+    }
+
+    @Benchmark
+    public byte[] writeTransaction() throws IOException {
+        return transactionWriter.writeValueAsBytes(transaction);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public TransactionDto readTransactionDto() throws IOException {
+        return dtoReader.readValue(dtoJson);
+    }
+}
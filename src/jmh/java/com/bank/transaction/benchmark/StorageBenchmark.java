@@ -0,0 +1,89 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.config.DedupProperties;
+import com.bank.transaction.config.OffHeapProperties;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.storage.TransactionStorage;
+import com.bank.transaction.storage.impl.InMemoryTransactionStorage;
+import com.bank.transaction.storage.impl.OffHeapColumnarTransactionStorage;
+import com.bank.transaction.storage.wal.TransactionLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 存储层基准：单条写入、按ID查询、分页查询、重复检测
+ * <p>
+ * 每轮迭代前重新装载 size 条记录，写入基准不会让数据量在迭代之间持续增长。
+ * 单线程结果见本类，多线程竞争下的结果见 {@link Contended}。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class StorageBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"memory", "offheap"})
+    public String storageType;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private TransactionStorage storage;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        storage = switch (storageType) {
+            case "memory" -> new InMemoryTransactionStorage();
+            case "offheap" -> new OffHeapColumnarTransactionStorage(TransactionLog.noop(), DedupProperties.defaults(),
+                    new OffHeapProperties(65536, 2, Duration.ofMinutes(1)), Clock.systemDefaultZone());
+            default -> throw new IllegalArgumentException(storageType);
+        };
+        for (int i = 0; i < size; i++) {
+            storage.save(BenchmarkData.transaction(i));
+        }
+        sequence.set(size);
+    }
+
+    @Benchmark
+    public Transaction save() {
+        return storage.save(BenchmarkData.transaction(sequence.getAndIncrement()));
+    }
+
+    @Benchmark
+    public Optional<Transaction> findById() {
+        return storage.findById("tx-" + ThreadLocalRandom.current().nextInt(size));
+    }
+
+    /**
+     * 从中间位置取一页，反映深分页的定位开销
+     */
+    @Benchmark
+    public List<Transaction> findAll() {
+        return storage.findAll(size / 2 / PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public boolean exists() {
+        TransactionDto dto = BenchmarkData.dto(ThreadLocalRandom.current().nextInt(size));
+        return storage.exists(dto);
+    }
+
+    /**
+     * 4个线程同时访问同一存储实例
+     */
+    @Threads(4)
+    public static class Contended extends StorageBenchmark {
+    }
+}
@@ -0,0 +1,103 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.model.Transaction.TransactionType;
+import com.bank.transaction.validation.blacklist.BlacklistSnapshot;
+import com.bank.transaction.validation.validator.BlacklistValidator;
+import com.bank.transaction.validation.validator.TimeWindowValidator;
+import com.bank.transaction.validation.validator.TransactionValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 校验基准：通过与被拒绝的单条校验、整批校验，以及百万条目黑名单的命中与未命中查询
+ * <p>
+ * 时间窗口规则使用固定时钟（窗口内的中午与窗口外的凌晨），结果与运行时刻无关。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+    private static final int BATCH_SIZE = 100;
+    private static final int BLACKLIST_SIZE = 1_000_000;
+
+    private TransactionValidator validator;
+    private TransactionValidator nightValidator;
+    private TransactionDto accepted;
+    private TransactionDto blacklisted;
+    private List<TransactionDto> batch;
+    private BlacklistSnapshot largeBlacklist;
+
+    @Setup
+    public void setUp() {
+        validator = new TransactionValidator(List.of(new BlacklistValidator(), new TimeWindowValidator(clockAt(12))));
+        nightValidator = new TransactionValidator(List.of(new BlacklistValidator(), new TimeWindowValidator(clockAt(3))));
+        accepted = BenchmarkData.dto(1);
+        blacklisted = new TransactionDto("BLACKLISTED_ACCOUNT", 10.0, TransactionType.DEPOSIT, "blacklisted");
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            // 每10条中有1条命中黑名单
+            batch.add(i % 10 == 0 ? blacklisted : BenchmarkData.dto(i));
+        }
+        BlacklistSnapshot.Builder builder = BlacklistSnapshot.builder();
+        for (int i = 0; i < BLACKLIST_SIZE; i++) {
+            builder.add("blocked-" + i, BlacklistSnapshot.PERMANENT);
+        }
+        largeBlacklist = builder.build();
+    }
+
+    @Benchmark
+    public ErrorCode validateAccepted() {
+        return validate(accepted);
+    }
+
+    @Benchmark
+    public ErrorCode validateRejected() {
+        return validate(blacklisted);
+    }
+
+    /**
+     * 营业时间外的请求：所有记录都被时间窗口拒绝
+     */
+    @Benchmark
+    public ErrorCode validateOutsideWindow() {
+        return nightValidator.check(accepted);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public ErrorCode[] validateAll() {
+        return validator.validateAll(batch);
+    }
+
+    /**
+     * 常见情况：布隆过滤器直接排除，不访问哈希表
+     */
+    @Benchmark
+    public boolean blacklistMiss() {
+        return largeBlacklist.isBlacklisted(accepted.accountId(), 0);
+    }
+
+    @Benchmark
+    public boolean blacklistHit() {
+        return largeBlacklist.isBlacklisted("blocked-123456", 0);
+    }
+
+    private ErrorCode validate(TransactionDto dto) {
+        return validator.check(dto);
+    }
+
+    private static Clock clockAt(int hour) {
+        return Clock.fixed(LocalDateTime.of(2024, 1, 1, hour, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+}
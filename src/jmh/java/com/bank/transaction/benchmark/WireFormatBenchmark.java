@@ -0,0 +1,89 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.config.CborConfig;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.dto.json.TransactionJsonModule;
+import com.bank.transaction.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 传输格式对比基准：同一配置下JSON与CBOR的编码、解码耗时
+ * <p>
+ * 各格式的编码大小在 Setup 时打印到标准输出，与耗时一起作为选择格式的依据。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectWriter transactionWriter;
+    private ObjectWriter pageWriter;
+    private ObjectReader transactionReader;
+    private ObjectReader dtoReader;
+    private Transaction transaction;
+    private PageResponse<Transaction> page;
+    private byte[] transactionBytes;
+    private byte[] dtoBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new TransactionJsonModule())
+                .build();
+        ObjectMapper mapper = "cbor".equals(format) ? CborConfig.cborMapper(json) : json;
+        transactionWriter = mapper.writerFor(Transaction.class);
+        pageWriter = mapper.writerFor(PageResponse.class);
+        transactionReader = mapper.readerFor(Transaction.class);
+        dtoReader = mapper.readerFor(TransactionDto.class);
+
+        transaction = BenchmarkData.transaction(1);
+        List<Transaction> content = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            content.add(BenchmarkData.transaction(i));
+        }
+        page = new PageResponse<>(content, 0, PAGE_SIZE, 1000, 1000 / PAGE_SIZE);
+        transactionBytes = transactionWriter.writeValueAsBytes(transaction);
+        dtoBytes = mapper.writeValueAsBytes(BenchmarkData.dto(1));
+        System.out.printf("%n[%s] transaction=%dB dto=%dB page(%d)=%dB%n", format, transactionBytes.length,
+                dtoBytes.length, PAGE_SIZE, pageWriter.writeValueAsBytes(page).length);
+    }
+
+    @Benchmark
+    public byte[] writeTransaction() throws IOException {
+        return transactionWriter.writeValueAsBytes(transaction);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Transaction readTransaction() throws IOException {
+        return transactionReader.readValue(transactionBytes);
+    }
+
+    @Benchmark
+    public TransactionDto readTransactionDto() throws IOException {
+        return dtoReader.readValue(dtoBytes);
+    }
+}
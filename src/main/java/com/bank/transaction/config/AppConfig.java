@@ -1,14 +1,100 @@
 package com.bank.transaction.config;
 
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.model.TransactionIds;
+import com.bank.transaction.service.id.IdGenerator;
+import com.bank.transaction.service.id.SnowflakeIdGenerator;
+import com.bank.transaction.service.id.UuidIdGenerator;
+import com.bank.transaction.storage.TransactionCursor;
+import com.bank.transaction.storage.TransactionStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.time.Clock;
+import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties({ShardProperties.class, ImportProperties.class, VirtualThreadProperties.class,
+        BlacklistProperties.class, ValidationProperties.class, IdProperties.class})
 public class AppConfig {
+    private static final Logger log = LoggerFactory.getLogger(AppConfig.class);
+    private static final int ID_SEED_CHUNK_SIZE = 4096;
+
     @Bean
+    @Primary
     public Clock clock() {
         return Clock.systemDefaultZone();
     }
+
+    /**
+     * 按节拍刷新的缓存时钟，供校验等只需粗粒度时间的热路径按名称注入
+     */
+    @Bean(name = TickingClock.BEAN_NAME, destroyMethod = "close")
+    public TickingClock tickingClock(Clock clock, ValidationProperties properties) {
+        return new TickingClock(clock, properties.clockTick());
+    }
+
+    @Bean
+    public IdGenerator idGenerator(IdProperties properties, Clock clock, TransactionStorage storage) {
+        if (properties.type() == IdProperties.Type.UUID) {
+            return new UuidIdGenerator();
+        }
+        int nodeId;
+        if (properties.nodeId() >= 0) {
+            nodeId = properties.nodeId();
+            log.info("Snowflake node id {} (transaction.id.node-id)", nodeId);
+        } else {
+            nodeId = hostNodeId();
+            log.warn("Snowflake node id {} derived from host name; set transaction.id.node-id when running "
+                    + "multiple instances", nodeId);
+        }
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(nodeId, clock);
+        long maxId = maxPersistedId(storage);
+        if (maxId >= 0) {
+            generator.advancePast(maxId);
+            log.info("Snowflake ids continue after persisted id {}", TransactionIds.formatCompact(maxId));
+        }
+        return generator;
+    }
+
+    /**
+     * 已加载记录中最大的紧凑ID，没有时返回-1。
+     * ID按生成顺序递增，但更新保留原创建时间且时钟可能回拨，时间序的末尾不一定是最大ID，因此遍历全部记录
+     */
+    private static long maxPersistedId(TransactionStorage storage) {
+        long max = -1;
+        TransactionCursor cursor = null;
+        List<Transaction> chunk;
+        do {
+            chunk = storage.findAfter(cursor, ID_SEED_CHUNK_SIZE);
+            for (Transaction transaction : chunk) {
+                max = Math.max(max, TransactionIds.parseCompact(transaction.id()));
+            }
+            if (!chunk.isEmpty()) {
+                cursor = TransactionCursor.of(chunk.get(chunk.size() - 1));
+            }
+        } while (chunk.size() == ID_SEED_CHUNK_SIZE);
+        return max;
+    }
+
+    /**
+     * 未配置节点ID时按主机名哈希取值，不同主机仍可能碰撞，多实例部署应显式配置
+     */
+    private static int hostNodeId() {
+        String host = System.getenv("HOSTNAME");
+        if (host == null || host.isEmpty()) {
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                return 0;
+            }
+        }
+        return (host.hashCode() & 0x7fffffff) % (SnowflakeIdGenerator.MAX_NODE_ID + 1);
+    }
 }
@@ -0,0 +1,15 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 批量创建配置（transaction.batch.*）
+ *
+ * @param maxSize 单次批量请求允许的最大记录数
+ */
+@ConfigurationProperties(prefix = "transaction.batch")
+public record BatchProperties(
+        @DefaultValue("5000") int maxSize
+) {
+}
@@ -0,0 +1,28 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 账户黑名单配置（transaction.blacklist.*）
+ *
+ * @param file            黑名单文件，每行 "账户ID" 或 "账户ID,到期时间(ISO-8601)"，#开头为注释；为空时不加载文件
+ * @param refreshInterval 检查文件修改时间的间隔，文件变化后重新加载并整体替换
+ * @param accounts        永久生效的固定条目，每次加载都会合并进黑名单
+ * @param adminEnabled    是否开放 /api/admin/blacklist 管理接口；接口没有鉴权，默认关闭，只应在受保护的内网环境开启
+ */
+@ConfigurationProperties(prefix = "transaction.blacklist")
+public record BlacklistProperties(
+        Path file,
+        @DefaultValue("30s") Duration refreshInterval,
+        @DefaultValue("BLACKLISTED_ACCOUNT") List<String> accounts,
+        @DefaultValue("false") boolean adminEnabled
+) {
+    public static BlacklistProperties defaults() {
+        return new BlacklistProperties(null, Duration.ofSeconds(30), List.of("BLACKLISTED_ACCOUNT"), false);
+    }
+}
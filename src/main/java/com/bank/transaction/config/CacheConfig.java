@@ -1,6 +1,8 @@
 package com.bank.transaction.config;
 
+import com.bank.transaction.dto.PageResponse;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -11,15 +13,36 @@ import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({IdempotencyProperties.class, CacheSpecProperties.class, WarmupProperties.class})
 public class CacheConfig {
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(CacheSpecProperties properties) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .initialCapacity(100)
                 .maximumSize(1000)
                 .expireAfterWrite(1, TimeUnit.MINUTES)
                 .recordStats());
+        // 按名称注册独立规格的缓存，避免分页结果与单条记录互相挤占
+        properties.specs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, builderOf(spec).build()));
         return cacheManager;
     }
+
+    static Caffeine<Object, Object> builderOf(CacheSpecProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.maximumWeight() != null) {
+            builder.maximumWeight(spec.maximumWeight())
+                    .weigher((key, value) -> value instanceof PageResponse<?> page ? page.content().size() + 1 : 1);
+        } else if (spec.maximumSize() != null) {
+            builder.maximumSize(spec.maximumSize());
+        }
+        if (spec.expireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.expireAfterWrite());
+        }
+        if (spec.expireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.expireAfterAccess());
+        }
+        return builder;
+    }
 }
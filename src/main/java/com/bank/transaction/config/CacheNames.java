@@ -0,0 +1,14 @@
+package com.bank.transaction.config;
+
+/**
+ * 缓存名称，规格见 application.yml 中的 transaction.cache.specs
+ */
+public final class CacheNames {
+    // 单条交易记录，按ID缓存
+    public static final String TRANSACTIONS = "transactions";
+    // 分页查询结果，键中包含存储版本号
+    public static final String TRANSACTION_PAGES = "transaction-pages";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,34 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 各命名缓存的规格（transaction.cache.specs.*），未配置的缓存使用 {@link CacheConfig} 中的默认规格
+ *
+ * @param specs 缓存名称 -> 规格
+ */
+@ConfigurationProperties(prefix = "transaction.cache")
+public record CacheSpecProperties(
+        Map<String, Spec> specs
+) {
+    public CacheSpecProperties {
+        specs = specs == null ? Map.of() : specs;
+    }
+
+    /**
+     * @param maximumSize       最大条目数
+     * @param maximumWeight     最大总权重，分页结果按记录条数计权；与 maximumSize 二选一
+     * @param expireAfterWrite  写入后过期时间
+     * @param expireAfterAccess 最后一次访问后过期时间
+     */
+    public record Spec(
+            Long maximumSize,
+            Long maximumWeight,
+            Duration expireAfterWrite,
+            Duration expireAfterAccess
+    ) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.transaction.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+/**
+ * CBOR（RFC 8949）二进制编码
+ * <p>
+ * JSON仍是默认格式，请求头 Accept / Content-Type 为 application/cbor 时改用CBOR，
+ * 流式导入导出使用CBOR序列（application/cbor-seq，RFC 8742）。
+ * CBOR编解码器由全局 ObjectMapper 派生，模块（包括手写序列化器）和特性配置与JSON完全一致，
+ * 字段结构见 doc/schema/transaction-v1.cddl。
+ * <p>
+ * 只用于默认的Servlet模式。WebFlux的自定义编解码器排在默认编解码器之前，注册后 Accept 为 *&#47;* 的请求
+ * （包括actuator端点）都会选中CBOR，因此响应式模式仍只提供JSON。
+ */
+@Configuration
+public class CborConfig {
+    public static final MediaType CBOR_SEQ = MediaType.parseMediaType("application/cbor-seq");
+
+    /**
+     * 能无损表示为单/半精度的金额按较短的浮点格式写出，解码端读到的数值不变
+     */
+    public static ObjectMapper cborMapper(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.WRITE_MINIMAL_DOUBLES)
+                .build());
+    }
+
+    /**
+     * 替换Spring MVC按默认方式创建的CBOR转换器，使其使用与JSON相同的配置
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(objectMapper));
+    }
+}
@@ -0,0 +1,20 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 重复交易检测配置（transaction.dedup.*）
+ *
+ * @param window 去重窗口，相同内容的交易在窗口内视为重复；为0表示永不过期
+ */
+@ConfigurationProperties(prefix = "transaction.dedup")
+public record DedupProperties(
+        @DefaultValue("24h") Duration window
+) {
+    public static DedupProperties defaults() {
+        return new DedupProperties(Duration.ofHours(24));
+    }
+}
@@ -0,0 +1,20 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 交易ID配置（transaction.id.*）
+ *
+ * @param type   snowflake：按时间递增的13位紧凑ID；uuid：随机UUID
+ * @param nodeId 节点ID（0-1023），多实例部署时须各不相同；为负数时由主机名哈希得出
+ */
+@ConfigurationProperties(prefix = "transaction.id")
+public record IdProperties(
+        @DefaultValue("snowflake") Type type,
+        @DefaultValue("-1") int nodeId
+) {
+    public enum Type {
+        SNOWFLAKE, UUID
+    }
+}
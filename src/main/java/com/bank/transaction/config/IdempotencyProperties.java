@@ -0,0 +1,19 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 幂等键回放缓存配置（transaction.idempotency.*）
+ *
+ * @param maxEntries 最多保留的幂等键数量
+ * @param ttl        幂等键保留时长，超时后相同的键会被当作新请求
+ */
+@ConfigurationProperties(prefix = "transaction.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("100000") long maxEntries,
+        @DefaultValue("24h") Duration ttl
+) {
+}
@@ -0,0 +1,17 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 批量导入配置（transaction.import.*）
+ *
+ * @param chunkSize 每次整块校验、去重、写入的记录数，不超过 transaction.batch.max-size
+ * @param maxErrors 导入报告中最多保留的逐行错误数
+ */
+@ConfigurationProperties(prefix = "transaction.import")
+public record ImportProperties(
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("1000") int maxErrors
+) {
+}
@@ -0,0 +1,21 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 堆外列式存储配置（transaction.storage.offheap.*），transaction.storage.type=offheap 时生效
+ *
+ * @param chunkRows   每个堆外内存块容纳的行数（2的幂），按块增长；第一块从1024行起按倍数扩容到该大小
+ * @param amountScale 金额最小单位的小数位数，金额按该精度四舍五入后以long保存
+ * @param timeBucket  时间范围索引的桶宽度，越窄范围边界处需要逐行过滤的记录越少，桶数量越多
+ */
+@ConfigurationProperties(prefix = "transaction.storage.offheap")
+public record OffHeapProperties(
+        @DefaultValue("1048576") int chunkRows,
+        @DefaultValue("2") int amountScale,
+        @DefaultValue("1m") Duration timeBucket
+) {
+}
@@ -0,0 +1,24 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 按账户分片的写入执行配置（transaction.shard.*）
+ *
+ * @param count         分片数量，为0时取CPU核数
+ * @param queueCapacity 每个分片的待执行队列容量，队列满时拒绝写入
+ * @param taskTimeout   调用方等待任务开始执行的最长时间，超时未开始则取消并返回服务不可用；已开始的任务总是等到结果
+ */
+@ConfigurationProperties(prefix = "transaction.shard")
+public record ShardProperties(
+        @DefaultValue("0") int count,
+        @DefaultValue("1024") int queueCapacity,
+        @DefaultValue("30s") Duration taskTimeout
+) {
+    public int resolvedCount() {
+        return count > 0 ? count : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,26 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 内存存储快照配置（transaction.storage.snapshot.*），需配合WAL使用
+ *
+ * @param enabled    是否定期写入快照，启动时加载最新快照后只回放之后的日志
+ * @param directory  快照文件目录
+ * @param interval   两次快照之间的间隔，期间没有写入时跳过
+ * @param retain     保留的快照数量，最新快照损坏时回退到更早的快照
+ * @param onShutdown 正常停机时是否再写一次快照
+ */
+@ConfigurationProperties(prefix = "transaction.storage.snapshot")
+public record SnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/snapshot") Path directory,
+        @DefaultValue("10m") Duration interval,
+        @DefaultValue("2") int retain,
+        @DefaultValue("true") boolean onShutdown
+) {
+}
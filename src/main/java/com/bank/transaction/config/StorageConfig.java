@@ -0,0 +1,35 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.storage.snapshot.FileSnapshotStore;
+import com.bank.transaction.storage.snapshot.SnapshotStore;
+import com.bank.transaction.storage.wal.MappedWriteAheadLog;
+import com.bank.transaction.storage.wal.TransactionLog;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({WalProperties.class, DedupProperties.class, BatchProperties.class,
+        OffHeapProperties.class, SnapshotProperties.class})
+public class StorageConfig {
+    @Bean
+    public TransactionLog transactionLog(WalProperties properties) {
+        if (!properties.enabled()) {
+            return TransactionLog.noop();
+        }
+        return new MappedWriteAheadLog(
+                properties.directory(),
+                (int) properties.segmentSize().toBytes(),
+                properties.groupCommitRecords(),
+                properties.groupCommitInterval()
+        );
+    }
+
+    @Bean
+    public SnapshotStore snapshotStore(SnapshotProperties properties) {
+        if (!properties.enabled()) {
+            return SnapshotStore.none();
+        }
+        return new FileSnapshotStore(properties.directory(), properties.retain());
+    }
+}
@@ -0,0 +1,84 @@
+package com.bank.transaction.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按固定节拍刷新的缓存时钟
+ * <p>
+ * 后台线程每个节拍读取一次底层时钟，{@link #millis()} 只是一次volatile读，不访问系统时钟；
+ * 读到的时间最多落后一个节拍，只适合时间窗口这类粗粒度判断，交易时间戳等仍使用精确时钟。
+ */
+public final class TickingClock extends Clock implements AutoCloseable {
+    public static final String BEAN_NAME = "tickingClock";
+
+    private final Clock source;
+    private final ScheduledExecutorService ticker;
+    private volatile long millis;
+
+    public TickingClock(Clock source, Duration tick) {
+        this.source = source;
+        this.millis = source.millis();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "clock-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, tick.toMillis());
+        ticker.scheduleAtFixedRate(() -> millis = source.millis(), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return source.getZone();
+    }
+
+    /**
+     * 返回共享同一节拍的其他时区视图
+     */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        TickingClock ticking = this;
+        return new Clock() {
+            @Override
+            public long millis() {
+                return ticking.millis();
+            }
+
+            @Override
+            public Instant instant() {
+                return ticking.instant();
+            }
+
+            @Override
+            public ZoneId getZone() {
+                return zone;
+            }
+
+            @Override
+            public Clock withZone(ZoneId other) {
+                return ticking.withZone(other);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+}
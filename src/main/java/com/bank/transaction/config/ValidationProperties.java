@@ -0,0 +1,17 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 交易校验配置（transaction.validation.*）
+ *
+ * @param clockTick 时间窗口校验所用缓存时钟的刷新节拍，窗口边界处的判断最多滞后一个节拍
+ */
+@ConfigurationProperties(prefix = "transaction.validation")
+public record ValidationProperties(
+        @DefaultValue("1s") Duration clockTick
+) {
+}
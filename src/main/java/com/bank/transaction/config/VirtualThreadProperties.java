@@ -0,0 +1,17 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 虚拟线程模式配置（transaction.virtual-threads.*），随 spring.threads.virtual.enabled 生效
+ *
+ * @param pinningThreshold 虚拟线程被钉住（无法卸载）超过该时长时记录
+ */
+@ConfigurationProperties(prefix = "transaction.virtual-threads")
+public record VirtualThreadProperties(
+        @DefaultValue("20ms") Duration pinningThreshold
+) {
+}
@@ -0,0 +1,27 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 写前日志配置（transaction.storage.wal.*）
+ *
+ * @param enabled             是否开启WAL持久化
+ * @param directory           段文件目录
+ * @param segmentSize         单个段文件大小
+ * @param groupCommitRecords  累计多少条记录触发一次刷盘
+ * @param groupCommitInterval 首条未刷盘记录最长等待时间
+ */
+@ConfigurationProperties(prefix = "transaction.storage.wal")
+public record WalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/wal") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("64") int groupCommitRecords,
+        @DefaultValue("500us") Duration groupCommitInterval
+) {
+}
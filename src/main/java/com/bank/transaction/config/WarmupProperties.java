@@ -0,0 +1,26 @@
+package com.bank.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 缓存预热配置（transaction.cache.warmup.*）
+ *
+ * @param enabled      是否在停机时保存热点ID、启动时后台预热，默认关闭
+ * @param file         热点ID文件，k8s部署时应位于持久卷上
+ * @param maxEntries   保存的热点ID数量上限
+ * @param readyPercent 预热完成该百分比后 readiness 才报告就绪
+ * @param maxWait      预热超过该时长仍未达到比例时不再阻塞 readiness
+ */
+@ConfigurationProperties(prefix = "transaction.cache.warmup")
+public record WarmupProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/cache/hot-ids.txt") Path file,
+        @DefaultValue("1000") int maxEntries,
+        @DefaultValue("90") int readyPercent,
+        @DefaultValue("60s") Duration maxWait
+) {
+}
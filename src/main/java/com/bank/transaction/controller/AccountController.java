@@ -0,0 +1,57 @@
+package com.bank.transaction.controller;
+
+import com.bank.transaction.dto.AccountSummary;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.service.TransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 账户维度查询控制器
+ * 路径前缀：/api/accounts
+ */
+@RestController
+@RequestMapping("/api/accounts")
+public class AccountController {
+
+    private final TransactionService transactionService;
+
+    @Autowired
+    public AccountController(TransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * 分页查询账户交易流水（按创建时间升序）
+     *
+     * @param accountId 账户ID
+     * @param page      页码（从0开始）
+     * @param size      每页记录数（1-100）
+     * @return HTTP 200响应体包含该账户的分页数据
+     * @throws BusinessException 分页参数越界时返回400
+     */
+    @GetMapping("/{accountId}/transactions")
+    public ResponseEntity<PageResponse<Transaction>> listAccountTransactions(
+            @PathVariable String accountId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageResponse<Transaction> response = transactionService.listAccountTransactions(accountId, page, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 查询账户汇总（余额、存入/取出/转出总额、交易笔数、最近活动时间）
+     * 读取增量维护的汇总视图，耗时与账户交易数量无关
+     *
+     * @param accountId 账户ID
+     * @return HTTP 200响应体包含账户汇总
+     * @throws BusinessException 账户没有任何交易记录时返回404
+     */
+    @GetMapping("/{accountId}/summary")
+    public ResponseEntity<AccountSummary> getAccountSummary(@PathVariable String accountId) {
+        AccountSummary summary = transactionService.getAccountSummary(accountId);
+        return ResponseEntity.ok(summary);
+    }
+}
@@ -0,0 +1,62 @@
+package com.bank.transaction.controller;
+
+import com.bank.transaction.dto.BlacklistInfo;
+import com.bank.transaction.model.AccountStatus;
+import com.bank.transaction.validation.blacklist.BlacklistRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 黑名单管理控制器
+ * 路径前缀：/api/admin/blacklist
+ * <p>
+ * 接口本身不做鉴权，只有 transaction.blacklist.admin-enabled=true 时才注册，默认不对外提供
+ */
+@RestController
+@ConditionalOnProperty(name = "transaction.blacklist.admin-enabled", havingValue = "true")
+@RequestMapping("/api/admin/blacklist")
+public class BlacklistController {
+
+    private final BlacklistRegistry registry;
+
+    @Autowired
+    public BlacklistController(BlacklistRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 查询当前生效的黑名单概况
+     *
+     * @return HTTP 200响应体包含条目数、来源和生效时间
+     */
+    @GetMapping
+    public ResponseEntity<BlacklistInfo> getBlacklist() {
+        return ResponseEntity.ok(registry.info());
+    }
+
+    /**
+     * 以请求中的条目整体替换黑名单（固定配置的条目始终保留），立即生效
+     *
+     * @param entries 黑名单条目，blacklistUntil为空表示永久生效
+     * @return HTTP 200响应体包含替换后的概况
+     */
+    @PutMapping
+    public ResponseEntity<BlacklistInfo> replaceBlacklist(@RequestBody List<AccountStatus> entries) {
+        return ResponseEntity.ok(registry.replace(entries));
+    }
+
+    /**
+     * 立即从配置的黑名单文件重新加载
+     *
+     * @return HTTP 200响应体包含加载后的概况
+     * @throws BusinessException 未配置文件或文件无法加载时返回400，当前黑名单保持不变
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<BlacklistInfo> reloadBlacklist() {
+        return ResponseEntity.ok(registry.reload());
+    }
+}
@@ -0,0 +1,162 @@
+package com.bank.transaction.controller;
+
+import com.bank.transaction.dto.BatchResponse;
+import com.bank.transaction.dto.CursorPageResponse;
+import com.bank.transaction.dto.ImportReport;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.service.ReactiveTransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 交易记录控制器（响应式版本，reactive profile）
+ * 与 {@link TransactionController} 提供相同的接口，运行在 WebFlux/Netty 事件循环上
+ * 路径前缀：/api/transactions
+ */
+@RestController
+@RequestMapping("/api/transactions")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTransactionController {
+    private final ReactiveTransactionService transactionService;
+
+    @Autowired
+    public ReactiveTransactionController(ReactiveTransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * 创建交易记录
+     *
+     * @param dto            交易数据传输对象（包含账户ID、金额、类型等）
+     * @param idempotencyKey 可选的幂等键，相同键的重试直接返回首次创建的结果
+     * @return HTTP 201响应体包含新创建的交易记录
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Transaction>> createTransaction(
+            @RequestBody TransactionDto dto,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return transactionService.createTransaction(dto, idempotencyKey)
+                .map(created -> ResponseEntity.status(201).body(created));
+    }
+
+    /**
+     * 批量创建交易记录，单条失败不影响其他记录
+     *
+     * @param dtos 交易数据列表（数量不超过 transaction.batch.max-size）
+     * @return HTTP 200响应体包含每条记录的创建结果或错误码
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchResponse>> createTransactions(@RequestBody List<TransactionDto> dtos) {
+        return transactionService.createTransactions(dtos).map(ResponseEntity::ok);
+    }
+
+    /**
+     * 批量导入交易记录（NDJSON，每行一个交易数据对象），请求体按导入进度逐步读取
+     *
+     * @param lines 按行解码的NDJSON请求体
+     * @param cache 是否把导入的记录写入缓存，默认false
+     * @return HTTP 200响应体包含导入总数、成功数及逐行错误（行号从1开始）
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<ImportReport>> importTransactions(
+            @RequestBody Flux<String> lines,
+            @RequestParam(defaultValue = "false") boolean cache) {
+        return transactionService.importNdjson(lines, cache).map(ResponseEntity::ok);
+    }
+
+    /**
+     * 查询单个交易记录
+     *
+     * @param id 交易记录唯一标识符
+     * @return HTTP 200响应体包含交易记录详情，不存在时返回404
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Transaction>> getTransaction(@PathVariable String id) {
+        return transactionService.getTransaction(id).map(ResponseEntity::ok);
+    }
+
+    /**
+     * 分页查询交易记录，指定时间范围时按创建时间升序返回范围内的记录
+     *
+     * @param page 页码（从0开始）
+     * @param size 每页记录数（最大100）
+     * @param from 可选，起始时间（含），ISO-8601格式
+     * @param to   可选，结束时间（不含），ISO-8601格式
+     */
+    @GetMapping
+    public Mono<ResponseEntity<PageResponse<Transaction>>> listTransactions(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        Mono<PageResponse<Transaction>> response = from == null && to == null
+                ? transactionService.listTransactions(page, size)
+                : transactionService.listTransactionsBetween(from, to, page, size);
+        return response.map(ResponseEntity::ok);
+    }
+
+    /**
+     * 游标分页查询交易记录（按创建时间升序）
+     *
+     * @param after 上一页响应中的nextCursor，首页传空字符串
+     * @param size  每页记录数（1-100）
+     */
+    @GetMapping(params = "after")
+    public Mono<ResponseEntity<CursorPageResponse<Transaction>>> listTransactionsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size) {
+        return transactionService.listTransactionsAfter(after, size).map(ResponseEntity::ok);
+    }
+
+    /**
+     * 流式导出交易记录（NDJSON，每行一条）
+     * 按连接的可写状态向下游请求数据，客户端读取变慢时存储读取随之暂停
+     *
+     * @param accountId 可选，只导出该账户的记录
+     * @param from      可选，起始时间（含），ISO-8601格式
+     * @param to        可选，结束时间（不含），ISO-8601格式
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Transaction> exportTransactions(
+            @RequestParam(required = false) String accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return transactionService.streamTransactions(accountId, from, to);
+    }
+
+    /**
+     * 更新交易记录
+     *
+     * @param id  待更新交易记录ID
+     * @param dto 更新后的交易数据
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Transaction>> updateTransaction(
+            @PathVariable String id,
+            @RequestBody TransactionDto dto) {
+        return transactionService.updateTransaction(id, dto).map(ResponseEntity::ok);
+    }
+
+    /**
+     * 删除交易记录
+     *
+     * @param id 待删除记录ID
+     * @return HTTP 204无内容响应
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTransaction(@PathVariable String id) {
+        return transactionService.deleteTransaction(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
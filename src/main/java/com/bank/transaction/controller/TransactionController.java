@@ -1,41 +1,131 @@
 package com.bank.transaction.controller;
 
+import com.bank.transaction.config.CborConfig;
+import com.bank.transaction.dto.BatchResponse;
+import com.bank.transaction.dto.CursorPageResponse;
+import com.bank.transaction.dto.ImportReport;
 import com.bank.transaction.dto.PageResponse;
 import com.bank.transaction.dto.TransactionDto;
 import com.bank.transaction.model.Transaction;
 import com.bank.transaction.service.TransactionService;
+import com.bank.transaction.service.importer.TransactionImporter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 交易记录控制器
  * 提供交易记录的增删改查RESTful接口
  * 路径前缀：/api/transactions
+ * 默认使用JSON，Accept / Content-Type 为 application/cbor 时请求和响应改用CBOR，
+ * 导入导出接口对应使用 application/cbor-seq
  */
 @RestController
 @RequestMapping("/api/transactions")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TransactionController {
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    // 每写出N条刷新一次，让分块响应持续向客户端推送
+    private static final int EXPORT_FLUSH_INTERVAL = 512;
 
     private final TransactionService transactionService;
+    private final TransactionImporter transactionImporter;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    // 导出时由分块刷新控制推送节奏，不在每条记录后刷新
+    private final ObjectWriter exportWriter;
+    private final ObjectWriter cborExportWriter;
 
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionImporter transactionImporter,
+                                 ObjectMapper objectMapper) {
         this.transactionService = transactionService;
+        this.transactionImporter = transactionImporter;
+        this.objectMapper = objectMapper;
+        this.cborMapper = CborConfig.cborMapper(objectMapper);
+        this.exportWriter = objectMapper.writerFor(Transaction.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.cborExportWriter = cborMapper.writerFor(Transaction.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
      * 创建交易记录
      *
-     * @param dto 交易数据传输对象（包含账户ID、金额、类型等）
+     * @param dto            交易数据传输对象（包含账户ID、金额、类型等）
+     * @param idempotencyKey 可选的幂等键，相同键的重试直接返回首次创建的结果
      * @return HTTP 201响应体包含新创建的交易记录
+     * @throws BusinessException 幂等键对应请求仍在处理时返回409，键被用于不同请求时返回422
      */
     @PostMapping
-    public ResponseEntity<Transaction> createTransaction(@RequestBody TransactionDto dto) {
-        Transaction created = transactionService.createTransaction(dto);
+    public ResponseEntity<Transaction> createTransaction(
+            @RequestBody TransactionDto dto,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        Transaction created = transactionService.createTransaction(dto, idempotencyKey);
         return ResponseEntity.status(201).body(created);
     }
 
+    /**
+     * 批量创建交易记录
+     * 整批校验、去重（批内及与已有数据）后一次性写入，单条失败不影响其他记录
+     *
+     * @param dtos 交易数据列表（数量不超过 transaction.batch.max-size）
+     * @return HTTP 200响应体包含每条记录的创建结果或错误码
+     * @throws BusinessException 列表为空或超过上限时返回400
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> createTransactions(@RequestBody List<TransactionDto> dtos) {
+        BatchResponse response = transactionService.createTransactions(dtos);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 批量导入交易记录（NDJSON，每行一个交易数据对象）
+     * 边读边解析，按块校验、去重后批量写入，适用于历史数据回填
+     *
+     * @param body  NDJSON请求体
+     * @param cache 是否把导入的记录写入缓存，默认false
+     * @return HTTP 200响应体包含导入总数、成功数及逐行错误（行号从1开始）
+     */
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportReport> importTransactions(
+            InputStream body,
+            @RequestParam(defaultValue = "false") boolean cache) throws IOException {
+        ImportReport report = transactionImporter.importNdjson(body, cache);
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * 批量导入交易记录（CBOR序列，依次排列的交易数据对象，无分隔符）
+     *
+     * @param body  CBOR序列请求体
+     * @param cache 是否把导入的记录写入缓存，默认false
+     * @return HTTP 200响应体包含导入总数、成功数及逐条错误（序号从1开始）
+     */
+    @PostMapping(value = "/import", consumes = "application/cbor-seq")
+    public ResponseEntity<ImportReport> importTransactionsCbor(
+            InputStream body,
+            @RequestParam(defaultValue = "false") boolean cache) throws IOException {
+        ImportReport report = transactionImporter.importCborSequence(body, cache);
+        return ResponseEntity.ok(report);
+    }
+
     /**
      * 查询单个交易记录
      *
@@ -50,20 +140,88 @@ public class TransactionController {
     }
 
     /**
-     * 分页查询交易记录
+     * 分页查询交易记录，指定时间范围时按创建时间升序返回范围内的记录
      *
      * @param page 页码（从0开始）
      * @param size 每页记录数（最大100）
+     * @param from 可选，起始时间（含），ISO-8601格式
+     * @param to   可选，结束时间（不含），ISO-8601格式
      * @return HTTP 200响应体包含分页数据（记录列表、总数等）
      */
     @GetMapping
     public ResponseEntity<PageResponse<Transaction>> listTransactions(
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        PageResponse<Transaction> response = from == null && to == null
+                ? transactionService.listTransactions(page, size)
+                : transactionService.listTransactionsBetween(from, to, page, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 游标分页查询交易记录（按创建时间升序），深分页开销与页码无关
+     *
+     * @param after 上一页响应中的nextCursor，首页传空字符串
+     * @param size  每页记录数（1-100）
+     * @return HTTP 200响应体包含本页记录及下一页游标（无更多数据时为null）
+     * @throws BusinessException 游标非法或size越界时返回400
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageResponse<Transaction>> listTransactionsAfter(
+            @RequestParam String after,
             @RequestParam(defaultValue = "20") int size) {
-        PageResponse<Transaction> response = transactionService.listTransactions(page, size);
+        CursorPageResponse<Transaction> response = transactionService.listTransactionsAfter(after, size);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 流式导出交易记录（NDJSON，每行一条），按存储顺序分块读取并边读边写，
+     * 客户端读取变慢时写出阻塞、读取随之暂停，内存占用与导出总量无关
+     *
+     * @param accountId 可选，只导出该账户的记录
+     * @param from      可选，起始时间（含），ISO-8601格式
+     * @param to        可选，结束时间（不含），ISO-8601格式
+     * @param accept    包含application/cbor-seq时改为输出CBOR序列
+     * @return HTTP 200分块响应，Content-Type为application/x-ndjson或application/cbor-seq
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(required = false) String accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) List<MediaType> accept) {
+        boolean cbor = accept != null && accept.stream().anyMatch(CborConfig.CBOR_SEQ::equalsTypeAndSubtype);
+        ObjectMapper mapper = cbor ? cborMapper : objectMapper;
+        ObjectWriter writer = cbor ? cborExportWriter : exportWriter;
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                if (!cbor) {
+                    // 行分隔由下面的换行符负责，去掉默认的根值空格分隔
+                    generator.setRootValueSeparator(null);
+                }
+                int[] written = new int[1];
+                transactionService.exportTransactions(accountId, from, to, transaction -> {
+                    try {
+                        writer.writeValue(generator, transaction);
+                        if (!cbor) {
+                            generator.writeRaw('\n');
+                        }
+                        if (++written[0] % EXPORT_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(cbor ? CborConfig.CBOR_SEQ : NDJSON).body(body);
+    }
+
     /**
      * 更新交易记录
      *
@@ -0,0 +1,29 @@
+package com.bank.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 账户汇总
+ *
+ * @param balance          余额：存入为正，取出和转出为负
+ * @param totalDeposits    存入总额
+ * @param totalWithdrawals 取出总额
+ * @param totalTransfers   转出总额
+ * @param transactionCount 交易笔数
+ * @param lastActivity     最近一次创建、更新或删除该账户交易的时间
+ */
+public record AccountSummary(
+        String accountId,
+        BigDecimal balance,
+        BigDecimal totalDeposits,
+        BigDecimal totalWithdrawals,
+        BigDecimal totalTransfers,
+        long transactionCount,
+        LocalDateTime lastActivity
+) {
+    public static AccountSummary empty(String accountId) {
+        return new AccountSummary(accountId, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                0, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.transaction.dto;
+
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.model.Transaction;
+
+/**
+ * 批量创建中单条记录的处理结果
+ *
+ * @param index       在请求列表中的下标
+ * @param status      CREATED 或 FAILED
+ * @param transaction 创建成功时的交易记录
+ * @param code        失败时的错误码
+ * @param message     失败时的错误信息
+ */
+public record BatchItemResult(
+        int index,
+        Status status,
+        Transaction transaction,
+        String code,
+        String message
+) {
+    public enum Status {
+        CREATED, FAILED
+    }
+
+    public static BatchItemResult created(int index, Transaction transaction) {
+        return new BatchItemResult(index, Status.CREATED, transaction, null, null);
+    }
+
+    public static BatchItemResult failed(int index, ErrorCode errorCode) {
+        return new BatchItemResult(index, Status.FAILED, null, errorCode.getCode(), errorCode.getMessage());
+    }
+}
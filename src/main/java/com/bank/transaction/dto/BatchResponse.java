@@ -0,0 +1,11 @@
+package com.bank.transaction.dto;
+
+import java.util.List;
+
+public record BatchResponse(
+        int total,
+        int created,
+        int failed,
+        List<BatchItemResult> results
+) {
+}
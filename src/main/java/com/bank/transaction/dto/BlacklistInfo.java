@@ -0,0 +1,13 @@
+package com.bank.transaction.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 当前生效的黑名单概况
+ *
+ * @param size     条目数（含已到期但尚未随重新加载清理的条目）
+ * @param source   来源：config、file 或 api
+ * @param loadedAt 生效时间
+ */
+public record BlacklistInfo(int size, String source, LocalDateTime loadedAt) {
+}
@@ -0,0 +1,13 @@
+package com.bank.transaction.dto;
+
+import java.util.List;
+
+/**
+ * 游标分页响应，nextCursor为空表示已到末尾
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor
+) {
+}
@@ -0,0 +1,28 @@
+package com.bank.transaction.dto;
+
+import java.util.List;
+
+/**
+ * 批量导入结果
+ *
+ * @param total           读取到的记录数（不含空行）
+ * @param imported        成功导入的记录数
+ * @param failed          失败的记录数
+ * @param errors          逐行错误，最多保留 transaction.import.max-errors 条
+ * @param errorsTruncated 错误数超过上限、errors 不完整时为true
+ */
+public record ImportReport(
+        long total,
+        long imported,
+        long failed,
+        List<LineError> errors,
+        boolean errorsTruncated
+) {
+    /**
+     * @param line    在请求体中的行号（从1开始），CBOR序列为记录序号
+     * @param code    错误码
+     * @param message 错误信息
+     */
+    public record LineError(long line, String code, String message) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.bank.transaction.dto.json;
+
+import com.bank.transaction.dto.CursorPageResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * 游标分页响应的序列化器
+ */
+@SuppressWarnings("rawtypes")
+public final class CursorPageResponseSerializer extends StdSerializer<CursorPageResponse> {
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString NEXT_CURSOR = new SerializedString("nextCursor");
+
+    public CursorPageResponseSerializer() {
+        super(CursorPageResponse.class);
+    }
+
+    @Override
+    public void serialize(CursorPageResponse page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(page);
+        TransactionSerializer.writeContent(page.content(), gen, provider);
+        gen.writeFieldName(SIZE);
+        gen.writeNumber(page.size());
+        gen.writeFieldName(NEXT_CURSOR);
+        if (page.nextCursor() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(page.nextCursor());
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bank.transaction.dto.json;
+
+import com.bank.transaction.dto.PageResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * 分页响应的序列化器，页内交易记录直接交给 {@link TransactionSerializer}，不再逐个元素查找序列化器
+ */
+@SuppressWarnings("rawtypes")
+public final class PageResponseSerializer extends StdSerializer<PageResponse> {
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+
+    public PageResponseSerializer() {
+        super(PageResponse.class);
+    }
+
+    @Override
+    public void serialize(PageResponse page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(page);
+        TransactionSerializer.writeContent(page.content(), gen, provider);
+        gen.writeFieldName(PAGE);
+        gen.writeNumber(page.page());
+        gen.writeFieldName(SIZE);
+        gen.writeNumber(page.size());
+        gen.writeFieldName(TOTAL_ELEMENTS);
+        gen.writeNumber(page.totalElements());
+        gen.writeFieldName(TOTAL_PAGES);
+        gen.writeNumber(page.totalPages());
+        gen.writeEndObject();
+    }
+}
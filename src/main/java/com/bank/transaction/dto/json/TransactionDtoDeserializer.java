@@ -0,0 +1,75 @@
+package com.bank.transaction.dto.json;
+
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction.TransactionType;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * 交易数据的流式反序列化器
+ * <p>
+ * 逐个token读取字段直接构造record，不经过属性缓冲和构造器参数收集。
+ * 常见输入（字符串、数字、合法枚举名）走快速路径，其余情况（类型转换、未知字段、非法值）
+ * 交给Jackson的默认处理，报错与默认配置一致。
+ */
+public final class TransactionDtoDeserializer extends StdDeserializer<TransactionDto> {
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    public TransactionDtoDeserializer() {
+        super(TransactionDto.class);
+    }
+
+    @Override
+    public TransactionDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME) {
+            return (TransactionDto) ctxt.handleUnexpectedToken(TransactionDto.class, p);
+        }
+        String accountId = null;
+        double amount = 0;
+        TransactionType type = null;
+        String description = null;
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "accountId" -> accountId = readString(p, ctxt);
+                case "amount" -> amount = _parseDoublePrimitive(p, ctxt);
+                case "type" -> type = readType(p, ctxt);
+                case "description" -> description = readString(p, ctxt);
+                default -> handleUnknownProperty(p, ctxt, TransactionDto.class, name);
+            }
+        }
+        return new TransactionDto(accountId, amount, type, description);
+    }
+
+    private static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            return p.getText();
+        }
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        return ctxt.readValue(p, String.class);
+    }
+
+    private static TransactionType readType(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            String text = p.getText();
+            for (TransactionType type : TYPES) {
+                if (type.name().equals(text)) {
+                    return type;
+                }
+            }
+        } else if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        return ctxt.readValue(p, TransactionType.class);
+    }
+}
@@ -0,0 +1,24 @@
+package com.bank.transaction.dto.json;
+
+import com.bank.transaction.dto.CursorPageResponse;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * 交易相关类型的手写序列化器
+ * <p>
+ * 作为Bean声明后由Spring Boot注册到全局 ObjectMapper，Web MVC、WebFlux、NDJSON导出和导入都会使用。
+ */
+@Component
+public class TransactionJsonModule extends SimpleModule {
+    public TransactionJsonModule() {
+        super("TransactionJsonModule");
+        addSerializer(Transaction.class, TransactionSerializer.INSTANCE);
+        addSerializer(PageResponse.class, new PageResponseSerializer());
+        addSerializer(CursorPageResponse.class, new CursorPageResponseSerializer());
+        addDeserializer(TransactionDto.class, new TransactionDtoDeserializer());
+    }
+}
@@ -0,0 +1,144 @@
+package com.bank.transaction.dto.json;
+
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.model.Transaction.TransactionType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 交易记录的手写序列化器
+ * <p>
+ * 字段名和枚举值预先编码为 {@link SerializedString}（UTF-8字节只生成一次），创建时间按ISO格式逐字符写出，
+ * 不经过反射属性访问和 {@link DateTimeFormatter}。输出与默认配置（日期写为ISO字符串）下的反射序列化逐字节一致。
+ */
+public final class TransactionSerializer extends StdSerializer<Transaction> {
+    static final TransactionSerializer INSTANCE = new TransactionSerializer();
+
+    static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString ACCOUNT_ID = new SerializedString("accountId");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString[] TYPE_NAMES = new SerializedString[TransactionType.values().length];
+
+    static {
+        for (TransactionType type : TransactionType.values()) {
+            TYPE_NAMES[type.ordinal()] = new SerializedString(type.name());
+        }
+    }
+
+    private TransactionSerializer() {
+        super(Transaction.class);
+    }
+
+    @Override
+    public void serialize(Transaction transaction, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(transaction);
+        gen.writeFieldName(ID);
+        writeString(gen, transaction.id());
+        gen.writeFieldName(ACCOUNT_ID);
+        writeString(gen, transaction.accountId());
+        gen.writeFieldName(AMOUNT);
+        gen.writeNumber(transaction.amount());
+        gen.writeFieldName(TYPE);
+        if (transaction.type() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(TYPE_NAMES[transaction.type().ordinal()]);
+        }
+        gen.writeFieldName(TIMESTAMP);
+        writeTimestamp(gen, transaction.timestamp(), provider);
+        gen.writeFieldName(DESCRIPTION);
+        writeString(gen, transaction.description());
+        gen.writeEndObject();
+    }
+
+    /**
+     * 写出分页内容，交易记录直接调用本序列化器，其他类型交给 provider 查找
+     */
+    static void writeContent(List<?> content, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeFieldName(CONTENT);
+        if (content == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(content, content.size());
+        for (Object item : content) {
+            if (item instanceof Transaction transaction) {
+                INSTANCE.serialize(transaction, gen, provider);
+            } else {
+                provider.defaultSerializeValue(item, gen);
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeString(JsonGenerator gen, String value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    /**
+     * 与 {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} 的输出相同：秒总是写出，纳秒为0时省略小数部分，否则去掉末尾的0。
+     * 年份超出0-9999（需要符号位）时退回格式化器。
+     */
+    private static void writeTimestamp(JsonGenerator gen, LocalDateTime value, SerializerProvider provider)
+            throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value, gen);
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+        char[] buf = new char[29];
+        writeDigits(buf, 0, year, 4);
+        buf[4] = '-';
+        writeDigits(buf, 5, value.getMonthValue(), 2);
+        buf[7] = '-';
+        writeDigits(buf, 8, value.getDayOfMonth(), 2);
+        buf[10] = 'T';
+        writeDigits(buf, 11, value.getHour(), 2);
+        buf[13] = ':';
+        writeDigits(buf, 14, value.getMinute(), 2);
+        buf[16] = ':';
+        writeDigits(buf, 17, value.getSecond(), 2);
+        int length = 19;
+        int nano = value.getNano();
+        if (nano != 0) {
+            buf[19] = '.';
+            writeDigits(buf, 20, nano, 9);
+            length = 29;
+            while (buf[length - 1] == '0') {
+                length--;
+            }
+        }
+        gen.writeString(buf, 0, length);
+    }
+
+    private static void writeDigits(char[] buf, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.bank.transaction.exception;
 
+/**
+ * 业务异常，携带错误码
+ * <p>
+ * 不填充堆栈、不记录被抑制的异常：业务拒绝是可预期的控制流，错误码已足以定位原因，
+ * 省去堆栈采集后，大量拒绝（重复提交、黑名单、记录不存在）时的开销接近一次普通对象分配。
+ */
 public class BusinessException extends RuntimeException {
     private final ErrorCode errorCode;
 
     public BusinessException(ErrorCode errorCode) {
-        super(errorCode.getMessage());
+        super(errorCode.getMessage(), null, false, false);
         this.errorCode = errorCode;
     }
 
@@ -7,15 +7,22 @@ public enum ErrorCode {
     // 交易相关错误
     DUPLICATE_TRANSACTION("TRANSACTION_001", "Duplicate transaction detected"),
     TRANSACTION_NOT_FOUND("TRANSACTION_002", "Transaction not found"),
+    IDEMPOTENCY_KEY_REUSED("TRANSACTION_003", "Idempotency key was already used for a different request"),
+    IDEMPOTENT_REQUEST_IN_PROGRESS("TRANSACTION_004", "A request with this idempotency key is still in progress"),
+    ACCOUNT_NOT_FOUND("TRANSACTION_005", "Account not found"),
 
     // 验证相关错误
     ACCOUNT_BLACKLISTED("VALIDATION_001", "Account is blacklisted"),
     OUTSIDE_TRANSACTION_WINDOW("VALIDATION_002", "Transaction outside allowed time window (8:00-22:00)"),
     INVALID_TRANSACTION_DATA("VALIDATION_003", "Invalid transaction data"),
+    INVALID_PAGE_REQUEST("VALIDATION_004", "Invalid pagination cursor or page size"),
+    BATCH_TOO_LARGE("VALIDATION_005", "Batch is empty or exceeds the maximum size"),
+    INVALID_TIME_RANGE("VALIDATION_006", "Invalid time range: from must be before to"),
 
     // 系统错误
     INTERNAL_SERVER_ERROR("SYSTEM_001", "Internal server error"),
-    SERVICE_UNAVAILABLE("SYSTEM_002", "Service temporarily unavailable");
+    SERVICE_UNAVAILABLE("SYSTEM_002", "Service temporarily unavailable"),
+    BLACKLIST_SOURCE_UNAVAILABLE("SYSTEM_003", "Blacklist file is not configured or cannot be loaded");
 
     private final String code;
     private final String message;
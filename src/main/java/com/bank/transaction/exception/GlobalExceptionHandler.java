@@ -1,28 +1,58 @@
 package com.bank.transaction.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
-    @ExceptionHandler(BusinessException.class)
-    public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
-        ErrorResponse response = new ErrorResponse(
-                ex.getErrorCode().getCode(),
-                ex.getErrorCode().getMessage()
-        );
+    // 请求体字段校验失败的错误码，不属于 ErrorCode
+    public static final String REQUEST_VALIDATION_CODE = "VALIDATION_000";
 
-        if (ex.getErrorCode().equals(ErrorCode.TRANSACTION_NOT_FOUND)) {
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    // 每个错误码的响应（状态码、头、已序列化的JSON）启动时生成一次，处理异常时直接复用
+    private final Map<ErrorCode, ResponseEntity<byte[]>> businessResponses = new EnumMap<>(ErrorCode.class);
+
+    @Autowired
+    public GlobalExceptionHandler(ObjectMapper objectMapper) {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            try {
+                byte[] body = objectMapper.writeValueAsBytes(
+                        new ErrorResponse(errorCode.getCode(), errorCode.getMessage()));
+                businessResponses.put(errorCode, ResponseEntity.status(statusOf(errorCode))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .contentLength(body.length)
+                        .body(body));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
         }
+    }
 
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<byte[]> handleBusinessException(BusinessException ex) {
+        return businessResponses.get(ex.getErrorCode());
+    }
+
+    private static HttpStatus statusOf(ErrorCode errorCode) {
+        return switch (errorCode) {
+            case TRANSACTION_NOT_FOUND, ACCOUNT_NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case IDEMPOTENT_REQUEST_IN_PROGRESS -> HttpStatus.CONFLICT;
+            case IDEMPOTENCY_KEY_REUSED -> HttpStatus.UNPROCESSABLE_ENTITY;
+            case SERVICE_UNAVAILABLE -> HttpStatus.SERVICE_UNAVAILABLE;
+            default -> HttpStatus.BAD_REQUEST;
+        };
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -32,7 +62,7 @@ public class GlobalExceptionHandler {
                 .collect(Collectors.joining(", "));
 
         ErrorResponse response = new ErrorResponse(
-                "VALIDATION_000",
+                REQUEST_VALIDATION_CODE,
                 errorMessage
         );
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
@@ -0,0 +1,59 @@
+package com.bank.transaction.model;
+
+import java.util.Arrays;
+
+/**
+ * 紧凑交易ID的字符串形式与long之间的转换
+ * <p>
+ * 非负long固定编码为13位Crockford Base32（字符集 0-9A-Z 去掉 I、L、O、U，按ASCII升序排列），
+ * 因此字符串的字典序与数值顺序一致。只有规范形式（13位、大写、最高位字符不超过7）才能解析，
+ * 保证解析后再编码与原ID完全一致。
+ */
+public final class TransactionIds {
+    public static final int COMPACT_LENGTH = 13;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private TransactionIds() {
+    }
+
+    /**
+     * @param value 非负数
+     */
+    public static String formatCompact(long value) {
+        char[] chars = new char[COMPACT_LENGTH];
+        for (int i = COMPACT_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return 规范形式的紧凑ID对应的非负数，其他格式返回-1
+     */
+    public static long parseCompact(String id) {
+        if (id == null || id.length() != COMPACT_LENGTH) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < COMPACT_LENGTH; i++) {
+            char c = id.charAt(i);
+            int digit = c < 128 ? VALUES[c] : -1;
+            // 13位共65比特，首位超过7时超出非负long范围
+            if (digit < 0 || (i == 0 && digit > 7)) {
+                return -1;
+            }
+            value = (value << 5) | digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,58 @@
+package com.bank.transaction.monitoring;
+
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * transaction.errors 计数器，按 code 区分
+ * <p>
+ * 每个错误码的计数器启动时注册一次，计数时按枚举或错误码字符串直接取用，热点路径上不拼接标签。
+ * 计数来源：异常处理器返回给客户端的错误、批量创建和导入中逐条失败的记录。
+ */
+@Component
+public class ErrorMetrics {
+    static final String ERROR_COUNTER = "transaction.errors";
+
+    private final Map<ErrorCode, Counter> byErrorCode = new EnumMap<>(ErrorCode.class);
+    private final Map<String, Counter> byCode = new HashMap<>();
+
+    @Autowired
+    public ErrorMetrics(MeterRegistry registry) {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            Counter counter = register(registry, errorCode.getCode());
+            byErrorCode.put(errorCode, counter);
+            byCode.put(errorCode.getCode(), counter);
+        }
+        byCode.put(GlobalExceptionHandler.REQUEST_VALIDATION_CODE,
+                register(registry, GlobalExceptionHandler.REQUEST_VALIDATION_CODE));
+    }
+
+    public void increment(ErrorCode errorCode) {
+        byErrorCode.get(errorCode).increment();
+    }
+
+    /**
+     * @param code 错误码字符串，如批量结果中的 code；未知的错误码不计数
+     */
+    public void increment(String code) {
+        Counter counter = byCode.get(code);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static Counter register(MeterRegistry registry, String code) {
+        return Counter.builder(ERROR_COUNTER)
+                .description("Business errors by error code")
+                .tag("code", code)
+                .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bank.transaction.monitoring;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 虚拟线程钉住统计端点（GET /actuator/pinning），只在虚拟线程模式下存在
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class PinningEndpoint {
+    private final VirtualThreadPinningMonitor monitor;
+
+    @Autowired
+    public PinningEndpoint(VirtualThreadPinningMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public Map<String, Long> pinnedSites() {
+        return monitor.pinnedSites();
+    }
+}
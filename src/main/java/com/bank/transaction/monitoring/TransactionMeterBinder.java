@@ -0,0 +1,51 @@
+package com.bank.transaction.monitoring;
+
+import com.bank.transaction.service.shard.AccountShardExecutor;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * 补充 Spring Boot 自动绑定之外的指标
+ * <p>
+ * Caffeine 的命中/未命中、淘汰和加载耗时由 Spring Boot 按缓存名自动发布（cache.gets、cache.evictions、
+ * cache.load.duration 等），这里为每个缓存补充累计命中率，以及各账户分片的队列深度。
+ */
+@Component
+public class TransactionMeterBinder implements MeterBinder {
+    private final CacheManager cacheManager;
+    private final AccountShardExecutor shardExecutor;
+
+    @Autowired
+    public TransactionMeterBinder(CacheManager cacheManager, AccountShardExecutor shardExecutor) {
+        this.cacheManager = cacheManager;
+        this.shardExecutor = shardExecutor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache caffeineCache) {
+                Cache<Object, Object> cache = caffeineCache.getNativeCache();
+                // 尚无访问时Caffeine返回命中率1.0，这里报告NaN，避免误读为全部命中
+                Gauge.builder("transaction.cache.hit.ratio", cache,
+                                c -> c.stats().requestCount() == 0 ? Double.NaN : c.stats().hitRate())
+                        .description("Cumulative cache hit ratio")
+                        .tag("cache", name)
+                        .register(registry);
+            }
+        }
+        for (int shard = 0; shard < shardExecutor.shardCount(); shard++) {
+            int index = shard;
+            Gauge.builder("transaction.shard.queue.depth", shardExecutor, executor -> executor.queueDepth(index))
+                    .description("Pending writes queued on the account shard")
+                    .tag("shard", String.valueOf(shard))
+                    .register(registry);
+        }
+    }
+}
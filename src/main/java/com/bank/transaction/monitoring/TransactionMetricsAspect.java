@@ -0,0 +1,158 @@
+package com.bank.transaction.monitoring;
+
+import com.bank.transaction.dto.BatchItemResult;
+import com.bank.transaction.dto.BatchResponse;
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.GlobalExceptionHandler;
+import com.bank.transaction.storage.TransactionStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 热点路径指标
+ * <ul>
+ *     <li>transaction.storage：存储层每个方法的耗时，按 method 区分</li>
+ *     <li>transaction.dedup：exists/reserve 的重复检测结果，hit 表示内容重复</li>
+ *     <li>transaction.validation：每个校验规则的耗时，按 strategy、outcome（pass/reject）区分</li>
+ *     <li>transaction.errors：异常处理器返回给客户端的错误（包括服务层抛出的业务异常和请求体校验失败）
+ *     及批量创建中逐条失败的次数，按 code 区分，见 {@link ErrorMetrics}</li>
+ * </ul>
+ * 存储层的Meter按方法名在启动时注册，校验规则的Meter按实现类首次调用时注册，计时时只做一次Map查找。
+ * 计时器的直方图桶在 management.metrics.distribution.slo 中按指标名配置。
+ */
+@Aspect
+@Component
+public class TransactionMetricsAspect {
+    static final String STORAGE_TIMER = "transaction.storage";
+    static final String DEDUP_COUNTER = "transaction.dedup";
+    static final String VALIDATION_TIMER = "transaction.validation";
+
+    private final MeterRegistry registry;
+    private final ErrorMetrics errorMetrics;
+    // 方法名 -> 该方法的Meter；重载方法共用同一组
+    private final Map<String, StorageMeters> storageMeters = new ConcurrentHashMap<>();
+    // 校验规则实现类 -> {pass, reject} 计时器
+    private final Map<Class<?>, Timer[]> validationTimers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TransactionMetricsAspect(MeterRegistry registry, ErrorMetrics errorMetrics) {
+        this.registry = registry;
+        this.errorMetrics = errorMetrics;
+        for (Method method : TransactionStorage.class.getMethods()) {
+            storageMeters.computeIfAbsent(method.getName(), this::storageMeters);
+        }
+    }
+
+    @Around("execution(* com.bank.transaction.storage.TransactionStorage.*(..))")
+    public Object timeStorage(ProceedingJoinPoint joinPoint) throws Throwable {
+        StorageMeters meters = storageMeters.computeIfAbsent(joinPoint.getSignature().getName(), this::storageMeters);
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            if (meters.duplicateWhen != null && result instanceof Boolean found) {
+                (found == meters.duplicateWhen ? meters.hit : meters.miss).increment();
+            }
+            return result;
+        } finally {
+            meters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Around("execution(* com.bank.transaction.validation.ValidationStrategy.check(..))")
+    public Object timeValidation(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer[] timers = validationTimers.computeIfAbsent(joinPoint.getTarget().getClass(), this::validationTimers);
+        long start = System.nanoTime();
+        boolean pass = false;
+        try {
+            Object result = joinPoint.proceed();
+            pass = result == null;
+            return result;
+        } finally {
+            timers[pass ? 0 : 1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 请求级错误在异常处理器入口计数，覆盖服务层抛出的业务异常和控制器自身的错误（如请求体校验失败）
+     */
+    @Before("execution(* com.bank.transaction.exception.GlobalExceptionHandler.*(..)) && args(exception)")
+    public void countHandledError(Exception exception) {
+        if (exception instanceof BusinessException businessException) {
+            errorMetrics.increment(businessException.getErrorCode());
+        } else if (exception instanceof MethodArgumentNotValidException) {
+            errorMetrics.increment(GlobalExceptionHandler.REQUEST_VALIDATION_CODE);
+        }
+    }
+
+    @AfterReturning(pointcut = "execution(* com.bank.transaction.service.TransactionService.createTransactions(..))",
+            returning = "response")
+    public void countBatchErrors(BatchResponse response) {
+        if (response.failed() == 0) {
+            return;
+        }
+        for (BatchItemResult result : response.results()) {
+            if (result.status() == BatchItemResult.Status.FAILED) {
+                errorMetrics.increment(result.code());
+            }
+        }
+    }
+
+    private StorageMeters storageMeters(String method) {
+        Timer timer = Timer.builder(STORAGE_TIMER)
+                .description("TransactionStorage method latency")
+                .tag("method", method)
+                .register(registry);
+        // exists返回true、reserve返回false都表示内容重复
+        Boolean duplicateWhen = switch (method) {
+            case "exists" -> Boolean.TRUE;
+            case "reserve" -> Boolean.FALSE;
+            default -> null;
+        };
+        if (duplicateWhen == null) {
+            return new StorageMeters(timer, null, null, null);
+        }
+        return new StorageMeters(timer, duplicateWhen, dedupCounter(method, "hit"), dedupCounter(method, "miss"));
+    }
+
+    private Counter dedupCounter(String operation, String result) {
+        return Counter.builder(DEDUP_COUNTER)
+                .description("Duplicate detection results, hit means the content is a duplicate")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Timer[] validationTimers(Class<?> targetClass) {
+        String strategy = ClassUtils.getUserClass(targetClass).getSimpleName();
+        return new Timer[]{validationTimer(strategy, "pass"), validationTimer(strategy, "reject")};
+    }
+
+    private Timer validationTimer(String strategy, String outcome) {
+        return Timer.builder(VALIDATION_TIMER)
+                .description("ValidationStrategy latency")
+                .tag("strategy", strategy)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * @param duplicateWhen 返回值等于该值时表示内容重复，只对 exists/reserve 非空
+     */
+    private record StorageMeters(Timer timer, Boolean duplicateWhen, Counter hit, Counter miss) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.bank.transaction.monitoring;
+
+import com.bank.transaction.config.VirtualThreadProperties;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 虚拟线程钉住检测
+ * <p>
+ * 通过 JFR 事件流订阅 jdk.VirtualThreadPinned（虚拟线程在 synchronized 块或本地方法中阻塞，
+ * 无法从载体线程卸载），按栈中第一个本项目的帧归类计数，每个位置首次出现时输出栈信息。
+ * 统计结果见 GET /actuator/pinning。
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements DisposableBean {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String APPLICATION_PACKAGE = "com.bank.transaction.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final VirtualThreadProperties properties;
+    private final Map<String, LongAdder> pinnedSites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(VirtualThreadProperties properties) {
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withStackTrace().withThreshold(properties.pinningThreshold());
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {})", properties.pinningThreshold());
+    }
+
+    /**
+     * 各钉住位置的累计次数，按位置排序
+     */
+    public Map<String, Long> pinnedSites() {
+        return pinnedSites.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(),
+                        (a, b) -> a, TreeMap::new));
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = siteOf(frames);
+        LongAdder count = pinnedSites.computeIfAbsent(site, key -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            log.warn("Virtual thread pinned for {} ms at {}\n{}", event.getDuration().toMillis(), site,
+                    format(event.getStackTrace()));
+        }
+    }
+
+    /**
+     * 取栈中第一个本项目的帧作为钉住位置，没有时取栈顶帧
+     */
+    private static String siteOf(List<RecordedFrame> frames) {
+        RecordedFrame site = null;
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            if (site == null) {
+                site = frame;
+            }
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                site = frame;
+                break;
+            }
+        }
+        if (site == null) {
+            return "<unknown>";
+        }
+        return site.getMethod().getType().getName() + "." + site.getMethod().getName() + ":" + site.getLineNumber();
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
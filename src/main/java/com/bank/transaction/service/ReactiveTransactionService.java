@@ -0,0 +1,54 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.BatchResponse;
+import com.bank.transaction.dto.CursorPageResponse;
+import com.bank.transaction.dto.ImportReport;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 非阻塞的交易服务门面，供响应式接口使用
+ * <p>
+ * 与 {@link TransactionService} 共用校验、缓存和存储；返回的 Mono/Flux 不会在调用线程（事件循环）上阻塞。
+ */
+public interface ReactiveTransactionService {
+    /**
+     * @param idempotencyKey 客户端提供的幂等键，为null时等同于普通创建
+     */
+    Mono<Transaction> createTransaction(TransactionDto dto, String idempotencyKey);
+
+    Mono<BatchResponse> createTransactions(List<TransactionDto> dtos);
+
+    /**
+     * @param lines        NDJSON请求体按行解码后的流，按导入进度逐步请求
+     * @param cacheCreated 是否把导入的记录写入单条记录缓存
+     */
+    Mono<ImportReport> importNdjson(Flux<String> lines, boolean cacheCreated);
+
+    Mono<Transaction> getTransaction(String id);
+
+    Mono<Transaction> updateTransaction(String id, TransactionDto dto);
+
+    Mono<PageResponse<Transaction>> listTransactions(int page, int size);
+
+    Mono<PageResponse<Transaction>> listTransactionsBetween(LocalDateTime from, LocalDateTime to, int page, int size);
+
+    Mono<CursorPageResponse<Transaction>> listTransactionsAfter(String after, int size);
+
+    /**
+     * 按条件流式读取交易，只在下游请求时读取下一块，消费慢时读取随之暂停
+     *
+     * @param accountId 账户ID，为null时不限账户
+     * @param from      起始时间（含），为null时不限
+     * @param to        结束时间（不含），为null时不限
+     */
+    Flux<Transaction> streamTransactions(String accountId, LocalDateTime from, LocalDateTime to);
+
+    Mono<Void> deleteTransaction(String id);
+}
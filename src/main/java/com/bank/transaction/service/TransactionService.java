@@ -1,17 +1,86 @@
 package com.bank.transaction.service;
 
+import com.bank.transaction.dto.AccountSummary;
+import com.bank.transaction.dto.BatchResponse;
+import com.bank.transaction.dto.CursorPageResponse;
 import com.bank.transaction.dto.PageResponse;
 import com.bank.transaction.dto.TransactionDto;
 import com.bank.transaction.model.Transaction;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface TransactionService {
     Transaction createTransaction(TransactionDto dto);
 
+    /**
+     * 幂等创建：相同idempotencyKey的重试直接返回首次创建的结果
+     *
+     * @param idempotencyKey 客户端提供的幂等键，为null时等同于普通创建
+     */
+    Transaction createTransaction(TransactionDto dto, String idempotencyKey);
+
+    /**
+     * 批量创建，逐条返回结果，单条失败不影响其他记录
+     */
+    BatchResponse createTransactions(List<TransactionDto> dtos);
+
     Transaction getTransaction(String id);
 
     Transaction updateTransaction(String id, TransactionDto dto);
 
     PageResponse<Transaction> listTransactions(int page, int size);
 
+    /**
+     * 按创建时间范围分页查询，按（创建时间, ID）升序
+     *
+     * @param from 起始时间（含），为null时不限
+     * @param to   结束时间（不含），为null时不限
+     * @throws com.bank.transaction.exception.BusinessException from不早于to时抛出 INVALID_TIME_RANGE
+     */
+    PageResponse<Transaction> listTransactionsBetween(LocalDateTime from, LocalDateTime to, int page, int size);
+
+    CursorPageResponse<Transaction> listTransactionsAfter(String after, int size);
+
+    PageResponse<Transaction> listAccountTransactions(String accountId, int page, int size);
+
+    /**
+     * 按条件逐条遍历全部交易，内存占用与总记录数无关
+     *
+     * @param accountId 账户ID，为null时不限账户
+     * @param from      起始时间（含），为null时不限
+     * @param to        结束时间（不含），为null时不限
+     * @param consumer  逐条接收记录，阻塞时遍历随之暂停
+     */
+    void exportTransactions(String accountId, LocalDateTime from, LocalDateTime to, Consumer<Transaction> consumer);
+
+    /**
+     * 按条件读取游标之后的一块记录，供由调用方控制节奏的流式读取使用
+     *
+     * @param after 上一块响应中的nextCursor，首块传null
+     * @return 本块中符合条件的记录（可能为空）及下一块游标，游标为null表示已读完
+     */
+    CursorPageResponse<Transaction> exportChunk(String accountId, LocalDateTime from, LocalDateTime to, String after);
+
+    /**
+     * 账户汇总（余额、各类型总额、笔数、最近活动时间），O(1)读取增量维护的视图
+     *
+     * @throws com.bank.transaction.exception.BusinessException 账户没有任何交易记录时抛出 ACCOUNT_NOT_FOUND
+     */
+    AccountSummary getAccountSummary(String accountId);
+
     void deleteTransaction(String id);
+
+    /**
+     * 单条记录缓存中最热的交易ID，按访问频率从高到低排列，用于停机前保存热点集合
+     */
+    List<String> hotTransactionIds(int limit);
+
+    /**
+     * 从存储加载交易记录写入单条记录缓存（缓存预热）
+     *
+     * @return 记录存在并已写入缓存时返回true
+     */
+    boolean warmTransaction(String id);
 }
\ No newline at end of file
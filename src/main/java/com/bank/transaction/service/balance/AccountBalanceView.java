@@ -0,0 +1,135 @@
+package com.bank.transaction.service.balance;
+
+import com.bank.transaction.dto.AccountSummary;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.storage.TransactionCursor;
+import com.bank.transaction.storage.TransactionStorage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * 按账户增量维护的汇总视图
+ * <p>
+ * 每个账户的汇总是一个不可变的 {@link AccountSummary}，修改时以 {@link ConcurrentMap#compute} 原子替换该账户的条目：
+ * 读取为O(1)且各字段属于同一个一致的版本，不同账户之间互不竞争。账户的记录全部删除（计数降为0）时移除条目，
+ * 之后查询该账户与从未有过记录的账户相同。
+ * 服务层对同一ID的修改都在记录当前所属账户的分片上串行执行（跨账户更新同时占用新旧两个账户的分片），
+ * 因此同一条旧记录只会被扣除一次；compute保证即使有分片之外的写入（如启动重建期间）也不会丢失更新。
+ * 启动时从存储（已完成快照加载和日志回放）全量重建一次，之后随服务层的创建、更新、删除增量更新。
+ */
+@Component
+public class AccountBalanceView {
+    private static final int REBUILD_CHUNK_SIZE = 1024;
+
+    private final ConcurrentMap<String, AccountSummary> accounts = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public AccountBalanceView() {
+        this.clock = Clock.systemDefaultZone();
+    }
+
+    @Autowired
+    public AccountBalanceView(TransactionStorage storage, Clock clock) {
+        this.clock = clock;
+        TransactionCursor cursor = null;
+        List<Transaction> chunk;
+        do {
+            chunk = storage.findAfter(cursor, REBUILD_CHUNK_SIZE);
+            for (Transaction transaction : chunk) {
+                apply(transaction, 1, transaction.timestamp());
+            }
+            if (!chunk.isEmpty()) {
+                cursor = TransactionCursor.of(chunk.get(chunk.size() - 1));
+            }
+        } while (chunk.size() == REBUILD_CHUNK_SIZE);
+    }
+
+    public Optional<AccountSummary> summary(String accountId) {
+        return Optional.ofNullable(accounts.get(accountId));
+    }
+
+    public void onCreated(Transaction transaction) {
+        apply(transaction, 1, transaction.timestamp());
+    }
+
+    /**
+     * 更新可能改变账户，先从原账户扣除旧记录再计入新记录所属账户；
+     * 账户不变时在同一次替换中完成，唯一一条记录被更新时条目不会被暂时移除
+     */
+    public void onUpdated(Transaction previous, Transaction updated) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (previous.accountId() != null && previous.accountId().equals(updated.accountId())) {
+            update(previous.accountId(), summary -> add(add(summary, previous, -1, now), updated, 1, now));
+            return;
+        }
+        apply(previous, -1, now);
+        apply(updated, 1, now);
+    }
+
+    public void onDeleted(Transaction transaction) {
+        apply(transaction, -1, LocalDateTime.now(clock));
+    }
+
+    /**
+     * @param direction 1表示计入，-1表示扣除
+     */
+    private void apply(Transaction transaction, int direction, LocalDateTime activity) {
+        if (transaction.accountId() == null) {
+            return;
+        }
+        update(transaction.accountId(), summary -> add(summary, transaction, direction, activity));
+    }
+
+    /**
+     * 原子替换账户的汇总，计数降为0时移除条目
+     */
+    private void update(String accountId, UnaryOperator<AccountSummary> change) {
+        accounts.compute(accountId, (id, summary) -> {
+            AccountSummary updated = change.apply(summary == null ? AccountSummary.empty(id) : summary);
+            return updated.transactionCount() == 0 ? null : updated;
+        });
+    }
+
+    private static AccountSummary add(AccountSummary summary, Transaction transaction, int direction,
+                                      LocalDateTime activity) {
+        BigDecimal amount = BigDecimal.valueOf(transaction.amount());
+        if (direction < 0) {
+            amount = amount.negate();
+        }
+        BigDecimal balance = summary.balance();
+        BigDecimal deposits = summary.totalDeposits();
+        BigDecimal withdrawals = summary.totalWithdrawals();
+        BigDecimal transfers = summary.totalTransfers();
+        if (transaction.type() != null) {
+            switch (transaction.type()) {
+                case DEPOSIT -> {
+                    deposits = deposits.add(amount);
+                    balance = balance.add(amount);
+                }
+                case WITHDRAWAL -> {
+                    withdrawals = withdrawals.add(amount);
+                    balance = balance.subtract(amount);
+                }
+                case TRANSFER -> {
+                    transfers = transfers.add(amount);
+                    balance = balance.subtract(amount);
+                }
+            }
+        }
+        LocalDateTime lastActivity = summary.lastActivity();
+        if (activity != null && (lastActivity == null || activity.isAfter(lastActivity))) {
+            lastActivity = activity;
+        }
+        return new AccountSummary(summary.accountId(), balance, deposits, withdrawals, transfers,
+                summary.transactionCount() + direction, lastActivity);
+    }
+}
@@ -0,0 +1,133 @@
+package com.bank.transaction.service.cache;
+
+import com.bank.transaction.config.WarmupProperties;
+import com.bank.transaction.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 热点缓存的保存与预热
+ * <p>
+ * 正常停机时把单条记录缓存中最热的ID（Caffeine 频率草图估计）写入文件；
+ * 启动完成后在后台线程中按文件顺序从存储加载这些记录写回缓存。
+ * 预热达到 readyPercent 或超过 maxWait 之前，{@link #isWarm()} 返回false，
+ * 由 {@link CacheWarmupHealthIndicator} 反映到 readiness 探针。
+ */
+@Component
+public class CacheWarmer {
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final TransactionService transactionService;
+    private final WarmupProperties properties;
+    private final AtomicInteger loaded = new AtomicInteger();
+    private volatile int total;
+    private volatile long startedAt;
+    private volatile boolean finished;
+
+    @Autowired
+    public CacheWarmer(TransactionService transactionService, WarmupProperties properties) {
+        this.transactionService = transactionService;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        startedAt = System.nanoTime();
+        List<String> ids = properties.enabled() ? readHotIds() : List.of();
+        total = ids.size();
+        if (ids.isEmpty()) {
+            finished = true;
+            return;
+        }
+        Thread warmup = new Thread(() -> warmUp(ids), "cache-warmup");
+        warmup.setDaemon(true);
+        warmup.start();
+    }
+
+    /**
+     * 容器关闭开始时（Bean 销毁之前）保存热点ID
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void saveHotIds() {
+        if (!properties.enabled()) {
+            return;
+        }
+        List<String> ids = transactionService.hotTransactionIds(properties.maxEntries());
+        Path file = properties.file();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            // 先写临时文件再原子替换，避免停机中断留下不完整的文件
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            Files.write(temp, ids, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} hot transaction ids to {}", ids.size(), file);
+        } catch (IOException e) {
+            log.warn("Failed to save hot transaction ids to {}", file, e);
+        }
+    }
+
+    public boolean isWarm() {
+        if (finished) {
+            return true;
+        }
+        if ((long) loaded.get() * 100 >= (long) total * properties.readyPercent()) {
+            return true;
+        }
+        return System.nanoTime() - startedAt >= properties.maxWait().toNanos();
+    }
+
+    public int loaded() {
+        return loaded.get();
+    }
+
+    public int total() {
+        return total;
+    }
+
+    private void warmUp(List<String> ids) {
+        int found = 0;
+        for (String id : ids) {
+            try {
+                if (transactionService.warmTransaction(id)) {
+                    found++;
+                }
+            } catch (RuntimeException e) {
+                log.debug("Failed to warm transaction {}", id, e);
+            }
+            loaded.incrementAndGet();
+        }
+        finished = true;
+        log.info("Cache warmup finished: {} of {} hot transactions loaded in {} ms",
+                found, ids.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private List<String> readHotIds() {
+        Path file = properties.file();
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .limit(properties.maxEntries())
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to read hot transaction ids from {}", file, e);
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.bank.transaction.service.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 缓存预热状态（health 组件名 cacheWarmup），预热未达标前为 OUT_OF_SERVICE，
+ * 加入 readiness 组后可阻止新实例在缓存冷启动期间接收流量
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+    private final CacheWarmer cacheWarmer;
+
+    @Autowired
+    public CacheWarmupHealthIndicator(CacheWarmer cacheWarmer) {
+        this.cacheWarmer = cacheWarmer;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmer.isWarm() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("loaded", cacheWarmer.loaded())
+                .withDetail("total", cacheWarmer.total())
+                .build();
+    }
+}
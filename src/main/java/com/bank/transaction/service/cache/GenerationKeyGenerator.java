@@ -0,0 +1,36 @@
+package com.bank.transaction.service.cache;
+
+import com.bank.transaction.storage.TransactionStorage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 以存储版本号加方法参数作为缓存键
+ * <p>
+ * 存储每次写入后版本号递增，此后的查询自然落到新键上，旧版本的结果不再被命中，
+ * 由缓存的容量和过期策略回收，无需在写入时清空整个缓存。
+ */
+@Component(GenerationKeyGenerator.NAME)
+public class GenerationKeyGenerator implements KeyGenerator {
+    public static final String NAME = "generationKeyGenerator";
+
+    private final TransactionStorage storage;
+
+    @Autowired
+    public GenerationKeyGenerator(TransactionStorage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Object[] elements = new Object[params.length + 2];
+        elements[0] = storage.generation();
+        elements[1] = method.getName();
+        System.arraycopy(params, 0, elements, 2, params.length);
+        return new SimpleKey(elements);
+    }
+}
@@ -0,0 +1,8 @@
+package com.bank.transaction.service.id;
+
+/**
+ * 交易ID生成器，实现由 transaction.id.type 选择
+ */
+public interface IdGenerator {
+    String nextId();
+}
@@ -0,0 +1,65 @@
+package com.bank.transaction.service.id;
+
+import com.bank.transaction.model.TransactionIds;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按时间递增的64位ID（Snowflake布局），对外为13位Crockford Base32字符串，字典序即生成顺序
+ * <pre>
+ * | 0 | 41位 自EPOCH起的毫秒 | 10位 节点ID | 12位 毫秒内序号 |
+ * </pre>
+ * 毫秒与序号合成一个状态值，以CAS无锁推进：时钟前进时序号归零；同一毫秒或时钟回拨时沿用上次的毫秒递增序号，
+ * 序号用尽则借用下一毫秒。因此ID在本节点内严格递增、不会重复，回拨期间逻辑时间暂时领先于系统时钟，
+ * 待系统时钟追上后恢复一致。
+ * <p>
+ * 状态只存在于内存，重启后须用 {@link #advancePast(long)} 按已持久化的最大ID续接，否则跨重启的时钟回拨会重发旧ID。
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+    // 2024-01-01T00:00:00Z，41位毫秒可用约69年
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private final long nodeBits;
+    private final Clock clock;
+    // (毫秒 << SEQUENCE_BITS) | 序号
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node id must be within [0, " + MAX_NODE_ID + "]: " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        return TransactionIds.formatCompact(nextLong());
+    }
+
+    /**
+     * 保证此后生成的ID都大于 issued：逻辑时间至少推进到 issued 所在毫秒的最后一个序号。
+     * 按毫秒而不是按ID比较，因此 issued 来自其他节点时也不会让本节点重发同一毫秒内的序号
+     */
+    public void advancePast(long issued) {
+        long floor = (issued >>> (NODE_BITS + SEQUENCE_BITS)) << SEQUENCE_BITS | ((1L << SEQUENCE_BITS) - 1);
+        state.accumulateAndGet(floor, Math::max);
+    }
+
+    public long nextLong() {
+        long now = clock.millis() - EPOCH_MILLIS;
+        long next;
+        long previous;
+        do {
+            previous = state.get();
+            next = now > previous >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : previous + 1;
+        } while (!state.compareAndSet(previous, next));
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return millis << (NODE_BITS + SEQUENCE_BITS) | nodeBits | sequence;
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.transaction.service.id;
+
+import java.util.UUID;
+
+/**
+ * 随机UUID（版本4），兼容改造前的ID格式（transaction.id.type=uuid）
+ */
+public class UuidIdGenerator implements IdGenerator {
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
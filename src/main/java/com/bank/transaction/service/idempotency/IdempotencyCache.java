@@ -0,0 +1,76 @@
+package com.bank.transaction.service.idempotency;
+
+import com.bank.transaction.config.IdempotencyProperties;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Idempotency-Key 预留与响应回放缓存
+ * <p>
+ * 通过 putIfAbsent 无锁地预留幂等键：首个请求拿到预留并执行创建，完成后写入结果；
+ * 后续携带相同键的请求直接读取结果回放。缓存容量和保留时长有上限。
+ */
+@Component
+public class IdempotencyCache {
+    private final ConcurrentMap<String, Entry> entries;
+
+    @Autowired
+    public IdempotencyCache(IdempotencyProperties properties) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .expireAfterWrite(properties.ttl())
+                .<String, Entry>build()
+                .asMap();
+    }
+
+    /**
+     * 尝试预留幂等键
+     *
+     * @return 预留成功返回null；键已存在时返回已有记录
+     */
+    public Entry reserve(String key, TransactionDto request) {
+        return entries.putIfAbsent(key, new Entry(request));
+    }
+
+    /**
+     * 提交结果，后续重试将回放该结果
+     */
+    public void complete(String key, Transaction result) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.result = result;
+        }
+    }
+
+    /**
+     * 放弃预留（请求失败时调用），允许客户端使用相同的键重试
+     */
+    public void release(String key) {
+        entries.computeIfPresent(key, (k, entry) -> entry.result == null ? null : entry);
+    }
+
+    public static final class Entry {
+        private final TransactionDto request;
+        private volatile Transaction result;
+
+        private Entry(TransactionDto request) {
+            this.request = request;
+        }
+
+        public TransactionDto request() {
+            return request;
+        }
+
+        /**
+         * @return 已完成请求的结果，仍在处理中时返回null
+         */
+        public Transaction result() {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.bank.transaction.service.impl;
+
+import com.bank.transaction.dto.BatchResponse;
+import com.bank.transaction.dto.CursorPageResponse;
+import com.bank.transaction.dto.ImportReport;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.service.ReactiveTransactionService;
+import com.bank.transaction.service.TransactionService;
+import com.bank.transaction.service.importer.TransactionImporter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 基于 {@link TransactionService} 的非阻塞门面
+ * <p>
+ * 同步服务的调用都不在事件循环线程上执行：
+ * <ul>
+ *     <li>读操作可能遍历大量记录（页码分页、导出块）或等待堆外存储的读写锁，切换到有界的读取调度器
+ *     （boundedElastic，线程数与排队任务数都有上限）</li>
+ *     <li>写操作需要等待账户分片执行和WAL刷盘，切换到写入调度器。写入调度器为每个任务分配一个虚拟线程，
+ *     等待期间不占用平台线程，并发量由分片队列容量限制（队列满时返回503）</li>
+ * </ul>
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTransactionServiceImpl implements ReactiveTransactionService, DisposableBean {
+    // 导入时向行流预取的行数
+    private static final int IMPORT_PREFETCH = 256;
+
+    private final TransactionService transactionService;
+    private final TransactionImporter transactionImporter;
+    private final Scheduler readScheduler;
+    private final Scheduler writeScheduler;
+
+    @Autowired
+    public ReactiveTransactionServiceImpl(TransactionService transactionService,
+                                          TransactionImporter transactionImporter) {
+        this(transactionService, transactionImporter, Schedulers.boundedElastic(),
+                Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "transaction-writer"));
+    }
+
+    public ReactiveTransactionServiceImpl(TransactionService transactionService,
+                                          TransactionImporter transactionImporter,
+                                          Scheduler readScheduler,
+                                          Scheduler writeScheduler) {
+        this.transactionService = transactionService;
+        this.transactionImporter = transactionImporter;
+        this.readScheduler = readScheduler;
+        this.writeScheduler = writeScheduler;
+    }
+
+    @Override
+    public Mono<Transaction> createTransaction(TransactionDto dto, String idempotencyKey) {
+        return write(() -> transactionService.createTransaction(dto, idempotencyKey));
+    }
+
+    @Override
+    public Mono<BatchResponse> createTransactions(List<TransactionDto> dtos) {
+        return write(() -> transactionService.createTransactions(dtos));
+    }
+
+    /**
+     * 导入在写入调度器上逐行拉取请求体，每处理完一批再请求后续数据，请求体不会整体缓存在内存中
+     */
+    @Override
+    public Mono<ImportReport> importNdjson(Flux<String> lines, boolean cacheCreated) {
+        return write(() -> transactionImporter.importLines(
+                lines.toIterable(IMPORT_PREFETCH).iterator(), cacheCreated));
+    }
+
+    @Override
+    public Mono<Transaction> getTransaction(String id) {
+        return read(() -> transactionService.getTransaction(id));
+    }
+
+    @Override
+    public Mono<Transaction> updateTransaction(String id, TransactionDto dto) {
+        return write(() -> transactionService.updateTransaction(id, dto));
+    }
+
+    @Override
+    public Mono<PageResponse<Transaction>> listTransactions(int page, int size) {
+        return read(() -> transactionService.listTransactions(page, size));
+    }
+
+    @Override
+    public Mono<PageResponse<Transaction>> listTransactionsBetween(LocalDateTime from, LocalDateTime to,
+                                                                  int page, int size) {
+        return read(() -> transactionService.listTransactionsBetween(from, to, page, size));
+    }
+
+    @Override
+    public Mono<CursorPageResponse<Transaction>> listTransactionsAfter(String after, int size) {
+        return read(() -> transactionService.listTransactionsAfter(after, size));
+    }
+
+    /**
+     * 逐块展开游标：下游消费完当前块后才读取下一块，内存中最多保留一到两块记录
+     */
+    @Override
+    public Flux<Transaction> streamTransactions(String accountId, LocalDateTime from, LocalDateTime to) {
+        return readChunk(accountId, from, to, null)
+                .expand(chunk -> chunk.nextCursor() == null
+                        ? Mono.empty()
+                        : readChunk(accountId, from, to, chunk.nextCursor()))
+                .concatMapIterable(CursorPageResponse::content, 1);
+    }
+
+    @Override
+    public Mono<Void> deleteTransaction(String id) {
+        return write(() -> {
+            transactionService.deleteTransaction(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        writeScheduler.dispose();
+    }
+
+    private Mono<CursorPageResponse<Transaction>> readChunk(String accountId, LocalDateTime from,
+                                                            LocalDateTime to, String after) {
+        return read(() -> transactionService.exportChunk(accountId, from, to, after));
+    }
+
+    /**
+     * hide() 去掉 Callable 标记：否则 subscribeOn 在订阅时就读取，流式导出会提前读出下游尚未请求的块
+     */
+    private <T> Mono<T> read(Supplier<T> task) {
+        return Mono.fromSupplier(task).hide().subscribeOn(readScheduler);
+    }
+
+    private <T> Mono<T> write(Callable<T> task) {
+        return Mono.fromCallable(task).subscribeOn(writeScheduler);
+    }
+}
@@ -1,70 +1,289 @@
 package com.bank.transaction.service.impl;
 
+import com.bank.transaction.config.BatchProperties;
+import com.bank.transaction.config.CacheNames;
+import com.bank.transaction.dto.AccountSummary;
+import com.bank.transaction.dto.BatchItemResult;
+import com.bank.transaction.dto.BatchResponse;
+import com.bank.transaction.dto.CursorPageResponse;
 import com.bank.transaction.dto.PageResponse;
 import com.bank.transaction.dto.TransactionDto;
 import com.bank.transaction.exception.BusinessException;
 import com.bank.transaction.exception.ErrorCode;
 import com.bank.transaction.model.Transaction;
 import com.bank.transaction.service.TransactionService;
+import com.bank.transaction.service.balance.AccountBalanceView;
+import com.bank.transaction.service.cache.GenerationKeyGenerator;
+import com.bank.transaction.service.id.IdGenerator;
+import com.bank.transaction.service.idempotency.IdempotencyCache;
+import com.bank.transaction.service.shard.AccountShardExecutor;
+import com.bank.transaction.storage.PendingWrite;
+import com.bank.transaction.storage.TransactionCursor;
 import com.bank.transaction.storage.TransactionStorage;
 import com.bank.transaction.validation.validator.TransactionValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
 
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Objects;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 @Service
 public class TransactionServiceImpl implements TransactionService {
+    private static final Logger log = LoggerFactory.getLogger(TransactionServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_CHUNK_SIZE = 512;
+
     private final TransactionStorage storage;
     private final TransactionValidator validator;
-    // 暂时无用，为后续魂村预热、调试等场景预留
+    private final IdempotencyCache idempotencyCache;
+    private final BatchProperties batchProperties;
+    private final AccountShardExecutor shardExecutor;
+    private final AccountBalanceView balanceView;
+    private final IdGenerator idGenerator;
+    // 用于缓存预热：读取热点ID、加载记录写回缓存
     private final CacheManager cacheManager;
 
     @Autowired
     public TransactionServiceImpl(TransactionStorage storage,
                                   TransactionValidator validator,
+                                  IdempotencyCache idempotencyCache,
+                                  BatchProperties batchProperties,
+                                  AccountShardExecutor shardExecutor,
+                                  AccountBalanceView balanceView,
+                                  IdGenerator idGenerator,
                                   CacheManager cacheManager) {
         this.storage = storage;
         this.validator = validator;
+        this.idempotencyCache = idempotencyCache;
+        this.batchProperties = batchProperties;
+        this.shardExecutor = shardExecutor;
+        this.balanceView = balanceView;
+        this.idGenerator = idGenerator;
         this.cacheManager = cacheManager;
     }
 
     @Override
-    @CachePut(value = "transactions", key = "#result.id")
+    @CachePut(value = CacheNames.TRANSACTIONS, key = "#result.id")
     public Transaction createTransaction(TransactionDto dto) {
+        return doCreateTransaction(dto);
+    }
+
+    @Override
+    @CachePut(value = CacheNames.TRANSACTIONS, key = "#result.id")
+    public Transaction createTransaction(TransactionDto dto, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return doCreateTransaction(dto);
+        }
+
+        // 1. 预留幂等键，已完成的请求直接回放结果，不再校验和写存储
+        IdempotencyCache.Entry existing = idempotencyCache.reserve(idempotencyKey, dto);
+        if (existing != null) {
+            if (!existing.request().equals(dto)) {
+                throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+            }
+            if (existing.result() == null) {
+                throw new BusinessException(ErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS);
+            }
+            return existing.result();
+        }
+
+        // 2. 执行创建并提交结果；失败时释放预留，允许客户端重试
+        try {
+            Transaction created = doCreateTransaction(dto);
+            idempotencyCache.complete(idempotencyKey, created);
+            return created;
+        } catch (RuntimeException e) {
+            idempotencyCache.release(idempotencyKey);
+            throw e;
+        }
+    }
+
+    private Transaction doCreateTransaction(TransactionDto dto) {
         validator.validate(dto);
 
-        if (storage.exists(dto)) {
-            throw new BusinessException(ErrorCode.DUPLICATE_TRANSACTION);
+        // 在账户所属分片上串行执行：原子占用内容指纹，避免并发重试同时通过 exists 检查
+        PendingWrite<Transaction> write = shardExecutor.execute(dto.accountId(), () -> {
+            if (!storage.reserve(dto)) {
+                throw new BusinessException(ErrorCode.DUPLICATE_TRANSACTION);
+            }
+
+            PendingWrite<Transaction> pending;
+            try {
+                pending = storage.saveDeferred(newTransaction(dto));
+            } catch (RuntimeException e) {
+                storage.release(dto);
+                throw e;
+            }
+            balanceView.onCreated(pending.value());
+            return pending;
+        });
+        // 在调用线程上等待落盘，分片线程可以继续处理下一条写入
+        storage.awaitDurable(write.sequence());
+        return write.value();
+    }
+
+    /**
+     * 批量创建的结果不写入单条记录缓存，按需由 getTransaction 加载
+     * <p>
+     * 与单条创建一样在账户所属分片上占用指纹和写入：按分片分组，每个分片只提交一次任务，
+     * 全部提交后再逐个等待，各分片并行执行；整批在调用线程上只等待一次落盘。
+     * 某个分片拒绝任务或写入失败时只有该分片的记录失败，其余分片已写入的记录照常返回并等待落盘。
+     */
+    @Override
+    public BatchResponse createTransactions(List<TransactionDto> dtos) {
+        if (dtos == null || dtos.isEmpty() || dtos.size() > batchProperties.maxSize()) {
+            throw new BusinessException(ErrorCode.BATCH_TOO_LARGE);
+        }
+
+        // 1. 整批校验
+        ErrorCode[] errors = validator.validateAll(dtos);
+
+        // 2. 按分片分组，保持批内原始顺序
+        List<List<Integer>> groups = new ArrayList<>(shardExecutor.shardCount());
+        for (int s = 0; s < shardExecutor.shardCount(); s++) {
+            groups.add(new ArrayList<>());
+        }
+        for (int i = 0; i < dtos.size(); i++) {
+            if (errors[i] == null) {
+                groups.get(shardExecutor.shardOf(dtos.get(i).accountId())).add(i);
+            }
+        }
+
+        // 3. 向各分片提交任务：占用指纹并写入存储，不等待落盘
+        List<Future<PendingWrite<Transaction[]>>> writes = new ArrayList<>(groups.size());
+        for (List<Integer> group : groups) {
+            Future<PendingWrite<Transaction[]>> write = null;
+            if (!group.isEmpty()) {
+                try {
+                    write = shardExecutor.submit(dtos.get(group.get(0)).accountId(), () -> saveGroup(dtos, group));
+                } catch (BusinessException e) {
+                    fail(errors, group, e.getErrorCode());
+                }
+            }
+            writes.add(write);
         }
 
-        Transaction transaction = new Transaction(
-                UUID.randomUUID().toString(),
+        // 4. 收集各分片结果，最后在调用线程上等待已写入的部分落盘
+        Transaction[] created = new Transaction[dtos.size()];
+        long sequence = 0;
+        try {
+            for (int s = 0; s < groups.size(); s++) {
+                if (writes.get(s) == null) {
+                    continue;
+                }
+                List<Integer> group = groups.get(s);
+                try {
+                    PendingWrite<Transaction[]> write = shardExecutor.await(writes.get(s));
+                    sequence = Math.max(sequence, write.sequence());
+                    for (int g = 0; g < group.size(); g++) {
+                        int i = group.get(g);
+                        created[i] = write.value()[g];
+                        if (created[i] == null) {
+                            errors[i] = ErrorCode.DUPLICATE_TRANSACTION;
+                        }
+                    }
+                } catch (BusinessException e) {
+                    fail(errors, group, e.getErrorCode());
+                } catch (RuntimeException e) {
+                    log.error("Batch write failed on shard {}", s, e);
+                    fail(errors, group, ErrorCode.INTERNAL_SERVER_ERROR);
+                }
+            }
+        } finally {
+            storage.awaitDurable(sequence);
+        }
+
+        // 5. 按原始顺序组装逐条结果
+        int createdCount = 0;
+        List<BatchItemResult> results = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            if (created[i] != null) {
+                createdCount++;
+                results.add(BatchItemResult.created(i, created[i]));
+            } else {
+                results.add(BatchItemResult.failed(i, errors[i]));
+            }
+        }
+        return new BatchResponse(dtos.size(), createdCount, dtos.size() - createdCount, results);
+    }
+
+    private static void fail(ErrorCode[] errors, List<Integer> group, ErrorCode errorCode) {
+        for (int i : group) {
+            errors[i] = errorCode;
+        }
+    }
+
+    /**
+     * 在分片线程上执行：占用指纹（同时完成批内去重和与已有数据的去重）并批量写入
+     *
+     * @return 与 group 一一对应的新记录，内容重复的位置为null
+     */
+    private PendingWrite<Transaction[]> saveGroup(List<TransactionDto> dtos, List<Integer> group) {
+        Transaction[] created = new Transaction[group.size()];
+        List<Transaction> pending = new ArrayList<>(group.size());
+        for (int g = 0; g < group.size(); g++) {
+            TransactionDto dto = dtos.get(group.get(g));
+            if (storage.reserve(dto)) {
+                created[g] = newTransaction(dto);
+                pending.add(created[g]);
+            }
+        }
+
+        PendingWrite<List<Transaction>> write;
+        try {
+            write = storage.saveAllDeferred(pending);
+        } catch (RuntimeException e) {
+            for (int g = 0; g < group.size(); g++) {
+                if (created[g] != null) {
+                    storage.release(dtos.get(group.get(g)));
+                }
+            }
+            throw e;
+        }
+        // 存储可能返回新的记录实例，按写入顺序替换回去
+        int p = 0;
+        for (int g = 0; g < group.size(); g++) {
+            if (created[g] != null) {
+                created[g] = write.value().get(p++);
+                balanceView.onCreated(created[g]);
+            }
+        }
+        return new PendingWrite<>(created, write.sequence());
+    }
+
+    private Transaction newTransaction(TransactionDto dto) {
+        return new Transaction(
+                idGenerator.nextId(),
                 dto.accountId(),
                 dto.amount(),
                 dto.type(),
                 LocalDateTime.now(),
                 dto.description()
         );
-
-        return storage.save(transaction);
     }
 
     @Override
-    @Cacheable(value = "transactions", key = "#id")
+    @Cacheable(value = CacheNames.TRANSACTIONS, key = "#id")
     public Transaction getTransaction(String id) {
         return storage.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.TRANSACTION_NOT_FOUND));
     }
 
     @Override
-    @Cacheable(value = "transactions", key = "'page_' + #page + '_size_' + #size")
+    @Cacheable(value = CacheNames.TRANSACTION_PAGES, keyGenerator = GenerationKeyGenerator.NAME)
     public PageResponse<Transaction> listTransactions(int page, int size) {
         List<Transaction> transactions = storage.findAll(page, size);
         long total = storage.count();
@@ -74,38 +293,246 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    @CacheEvict(value = "transactions", key = "#id")
+    @Cacheable(value = CacheNames.TRANSACTION_PAGES, keyGenerator = GenerationKeyGenerator.NAME)
+    public PageResponse<Transaction> listTransactionsBetween(LocalDateTime from, LocalDateTime to, int page, int size) {
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.INVALID_PAGE_REQUEST);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BusinessException(ErrorCode.INVALID_TIME_RANGE);
+        }
+        List<Transaction> transactions = storage.findByTimeRange(from, to, page, size);
+        long total = storage.countByTimeRange(from, to);
+        int totalPages = (int) Math.ceil((double) total / size);
+
+        return new PageResponse<>(transactions, page, size, total, totalPages);
+    }
+
+    @Override
+    public PageResponse<Transaction> listAccountTransactions(String accountId, int page, int size) {
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.INVALID_PAGE_REQUEST);
+        }
+        List<Transaction> transactions = storage.findByAccount(accountId, page, size);
+        long total = storage.countByAccount(accountId);
+        int totalPages = (int) Math.ceil((double) total / size);
+
+        return new PageResponse<>(transactions, page, size, total, totalPages);
+    }
+
+    @Override
+    public CursorPageResponse<Transaction> listTransactionsAfter(String after, int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.INVALID_PAGE_REQUEST);
+        }
+        TransactionCursor cursor = decodeCursor(after);
+
+        // 多取一条用于判断是否还有下一页
+        List<Transaction> transactions = storage.findAfter(cursor, size + 1);
+        if (transactions.size() <= size) {
+            return new CursorPageResponse<>(transactions, size, null);
+        }
+        List<Transaction> content = transactions.subList(0, size);
+        String nextCursor = TransactionCursor.of(content.get(size - 1)).encode();
+        return new CursorPageResponse<>(content, size, nextCursor);
+    }
+
+    /**
+     * 以游标分块读取存储，每块只在内存中保留 EXPORT_CHUNK_SIZE 条记录。
+     * 指定了结束时间时（无论是否限定账户）按时间范围定位，读到结束时间即停止；
+     * 未指定结束时间的账户导出按账户索引读取，遍历顺序不保证严格按时间（如堆外存储按写入顺序），逐条过滤
+     */
+    @Override
+    public void exportTransactions(String accountId, LocalDateTime from, LocalDateTime to,
+                                   Consumer<Transaction> consumer) {
+        TransactionCursor cursor = startCursor(from);
+        List<Transaction> chunk;
+        do {
+            chunk = readChunk(accountId, to, cursor);
+            for (Transaction transaction : chunk) {
+                if (inRange(transaction.timestamp(), from, to)) {
+                    consumer.accept(transaction);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                cursor = TransactionCursor.of(chunk.get(chunk.size() - 1));
+            }
+        } while (chunk.size() == EXPORT_CHUNK_SIZE);
+    }
+
+    @Override
+    public CursorPageResponse<Transaction> exportChunk(String accountId, LocalDateTime from, LocalDateTime to,
+                                                       String after) {
+        TransactionCursor cursor = after == null || after.isEmpty() ? startCursor(from) : decodeCursor(after);
+        List<Transaction> chunk = readChunk(accountId, to, cursor);
+        List<Transaction> content = chunk.stream()
+                .filter(transaction -> inRange(transaction.timestamp(), from, to))
+                .toList();
+        String nextCursor = chunk.size() == EXPORT_CHUNK_SIZE
+                ? TransactionCursor.of(chunk.get(chunk.size() - 1)).encode()
+                : null;
+        return new CursorPageResponse<>(content, EXPORT_CHUNK_SIZE, nextCursor);
+    }
+
+    /**
+     * 起始时间直接作为游标定位，跳过更早的记录
+     */
+    private static TransactionCursor startCursor(LocalDateTime from) {
+        return from == null ? null : new TransactionCursor(from, "");
+    }
+
+    private List<Transaction> readChunk(String accountId, LocalDateTime to, TransactionCursor cursor) {
+        if (accountId != null) {
+            return to == null
+                    ? storage.findByAccountAfter(accountId, cursor, EXPORT_CHUNK_SIZE)
+                    : storage.findByAccountTimeRangeAfter(accountId, cursor, to, EXPORT_CHUNK_SIZE);
+        }
+        return to == null
+                ? storage.findAfter(cursor, EXPORT_CHUNK_SIZE)
+                : storage.findByTimeRangeAfter(cursor, to, EXPORT_CHUNK_SIZE);
+    }
+
+    private static boolean inRange(LocalDateTime timestamp, LocalDateTime from, LocalDateTime to) {
+        if (timestamp == null) {
+            return from == null && to == null;
+        }
+        return (from == null || !timestamp.isBefore(from)) && (to == null || timestamp.isBefore(to));
+    }
+
+    @Override
+    public AccountSummary getAccountSummary(String accountId) {
+        return balanceView.summary(accountId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ACCOUNT_NOT_FOUND));
+    }
+
+    /**
+     * 同一ID的所有修改都在记录当前所属账户的分片上执行；进入分片后所属账户已被并发更新改变时，按新账户重试
+     */
+    @Override
+    @CacheEvict(value = CacheNames.TRANSACTIONS, key = "#id")
     public void deleteTransaction(String id) {
-        storage.delete(id);
+        Long sequence;
+        do {
+            Transaction existing = storage.findById(id).orElse(null);
+            if (existing == null) {
+                return;
+            }
+            String owner = existing.accountId();
+            sequence = shardExecutor.execute(owner, () -> {
+                // 在分片内重新读取，并发删除同一记录时只有一次计入账户汇总
+                Transaction current = storage.findById(id).orElse(null);
+                if (current == null) {
+                    return 0L;
+                }
+                if (!Objects.equals(current.accountId(), owner)) {
+                    return null;
+                }
+                long deleted = storage.deleteDeferred(id);
+                balanceView.onDeleted(current);
+                return deleted;
+            });
+        } while (sequence == null);
+        storage.awaitDurable(sequence);
     }
 
     @Override
-    @CachePut(value = "transactions", key = "#id")
+    @CachePut(value = CacheNames.TRANSACTIONS, key = "#id")
     public Transaction updateTransaction(String id, TransactionDto dto) {
         // 1. 校验业务规则
         validator.validate(dto);
 
-        // 2. 获取现有交易记录
-        Transaction existing = storage.findById(id)
-                .orElseThrow(() -> new BusinessException(ErrorCode.TRANSACTION_NOT_FOUND));
+        // 2. 同时占用记录当前所属账户和新账户的分片：前者与同一ID的其他修改串行，
+        //    后者与新账户上可能重复的写入串行（指纹包含账户ID）；所属账户被并发改变时按新账户重试
+        PendingWrite<Transaction> write;
+        do {
+            write = updateOnShards(id, dto);
+        } while (write == null);
+        storage.awaitDurable(write.sequence());
+        return write.value();
+    }
+
+    private PendingWrite<Transaction> updateOnShards(String id, TransactionDto dto) {
+        String owner = storage.findById(id)
+                .orElseThrow(() -> new BusinessException(ErrorCode.TRANSACTION_NOT_FOUND))
+                .accountId();
+        return shardExecutor.execute(owner, dto.accountId(), () -> {
+            // 3. 在分片内重新获取现有交易记录，确认所属账户未变
+            Transaction existing = storage.findById(id)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.TRANSACTION_NOT_FOUND));
+            if (!Objects.equals(existing.accountId(), owner)) {
+                return null;
+            }
 
-        // 3. 检查重复交易（排除自身）
-        if (storage.exists(dto) && !isSameTransaction(existing, dto)) {
-            throw new BusinessException(ErrorCode.DUPLICATE_TRANSACTION);
+            // 4. 内容变化时原子占用新指纹（排除自身）
+            boolean changed = !isSameTransaction(existing, dto);
+            if (changed && !storage.reserve(dto)) {
+                throw new BusinessException(ErrorCode.DUPLICATE_TRANSACTION);
+            }
+
+            // 5. 构建更新后的交易记录（保留原始创建时间）
+            Transaction updated = new Transaction(
+                    existing.id(),
+                    dto.accountId(),
+                    dto.amount(),
+                    dto.type(),
+                    existing.timestamp(),  // 保留原始创建时间
+                    dto.description()
+            );
+
+            // 6. 写入存储，落盘在分片之外等待（返回值自动更新缓存）
+            PendingWrite<Transaction> pending;
+            try {
+                pending = storage.saveDeferred(updated);
+            } catch (RuntimeException e) {
+                if (changed) {
+                    storage.release(dto);
+                }
+                throw e;
+            }
+            balanceView.onUpdated(existing, pending.value());
+            return pending;
+        });
+    }
+
+    /**
+     * 按 Caffeine 淘汰策略的频率估计取最热的条目，只适用于 Caffeine 缓存
+     */
+    @Override
+    public List<String> hotTransactionIds(int limit) {
+        if (!(cacheManager.getCache(CacheNames.TRANSACTIONS) instanceof CaffeineCache cache)) {
+            return List.of();
         }
+        return cache.getNativeCache().policy().eviction()
+                .map(eviction -> eviction.hottest(limit).keySet().stream()
+                        .map(String::valueOf)
+                        .toList())
+                .orElse(List.of());
+    }
 
-        // 4. 构建更新后的交易记录（保留原始创建时间）
-        Transaction updated = new Transaction(
-                existing.id(),
-                dto.accountId(),
-                dto.amount(),
-                dto.type(),
-                existing.timestamp(),  // 保留原始创建时间
-                dto.description()
-        );
+    @Override
+    public boolean warmTransaction(String id) {
+        Cache cache = cacheManager.getCache(CacheNames.TRANSACTIONS);
+        if (cache == null) {
+            return false;
+        }
+        return storage.findById(id)
+                .map(transaction -> {
+                    // 预热期间可能已有请求写入更新的值，不覆盖
+                    cache.putIfAbsent(id, transaction);
+                    return true;
+                })
+                .orElse(false);
+    }
 
-        // 5. 持久化存储并返回（自动更新缓存）
-        return storage.save(updated);
+    private TransactionCursor decodeCursor(String after) {
+        if (after == null || after.isEmpty()) {
+            return null;
+        }
+        try {
+            return TransactionCursor.decode(after);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BusinessException(ErrorCode.INVALID_PAGE_REQUEST);
+        }
     }
 
     private boolean isSameTransaction(Transaction existing, TransactionDto dto) {
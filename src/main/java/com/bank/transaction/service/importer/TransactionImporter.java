@@ -0,0 +1,194 @@
+package com.bank.transaction.service.importer;
+
+import com.bank.transaction.config.BatchProperties;
+import com.bank.transaction.config.CacheNames;
+import com.bank.transaction.config.CborConfig;
+import com.bank.transaction.config.ImportProperties;
+import com.bank.transaction.dto.BatchItemResult;
+import com.bank.transaction.dto.BatchResponse;
+import com.bank.transaction.dto.ImportReport;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.monitoring.ErrorMetrics;
+import com.bank.transaction.service.TransactionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * NDJSON / CBOR序列 批量导入
+ * <p>
+ * 逐条解析请求体，每凑满一块交给 {@link TransactionService#createTransactions(List)}
+ * 整块校验、去重并一次性写入存储，内存占用只与块大小有关。
+ * 解析失败的行和业务校验失败的行都记录为逐行错误，不影响其他行；解析失败不经过服务层，在这里计入错误指标。
+ * CBOR序列没有分隔符，某条记录解码失败后无法定位下一条，记录该错误后停止读取。
+ */
+@Component
+public class TransactionImporter {
+    private static final Logger log = LoggerFactory.getLogger(TransactionImporter.class);
+
+    private final TransactionService transactionService;
+    private final ObjectReader reader;
+    private final ObjectReader cborReader;
+    private final CacheManager cacheManager;
+    private final ErrorMetrics errorMetrics;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    @Autowired
+    public TransactionImporter(TransactionService transactionService,
+                               ObjectMapper objectMapper,
+                               CacheManager cacheManager,
+                               ErrorMetrics errorMetrics,
+                               ImportProperties properties,
+                               BatchProperties batchProperties) {
+        this.transactionService = transactionService;
+        this.reader = objectMapper.readerFor(TransactionDto.class);
+        this.cborReader = CborConfig.cborMapper(objectMapper).readerFor(TransactionDto.class);
+        this.cacheManager = cacheManager;
+        this.errorMetrics = errorMetrics;
+        this.chunkSize = Math.min(properties.chunkSize(), batchProperties.maxSize());
+        this.maxErrors = properties.maxErrors();
+    }
+
+    /**
+     * @param ndjson       每行一个 TransactionDto 的JSON，空行忽略
+     * @param cacheCreated 是否把导入的记录写入单条记录缓存
+     * @throws IOException 读取请求体失败时抛出，此前已写入的块不会回滚
+     */
+    public ImportReport importNdjson(InputStream ndjson, boolean cacheCreated) throws IOException {
+        BufferedReader lineReader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        try {
+            return importLines(lineReader.lines().iterator(), cacheCreated);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 按行导入，供已完成分行的请求体（如响应式接口解码出的行流）使用
+     *
+     * @param lines        逐行读取，取下一行时可以阻塞
+     * @param cacheCreated 是否把导入的记录写入单条记录缓存
+     */
+    public ImportReport importLines(Iterator<String> lines, boolean cacheCreated) {
+        Progress progress = new Progress(cacheCreated ? cacheManager.getCache(CacheNames.TRANSACTIONS) : null);
+        long lineNumber = 0;
+        while (lines.hasNext()) {
+            String line = lines.next();
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                progress.add(lineNumber, reader.readValue(line));
+            } catch (JsonProcessingException e) {
+                progress.reject(lineNumber, e.getOriginalMessage());
+            }
+        }
+        return progress.finish();
+    }
+
+    /**
+     * @param sequence     CBOR序列（RFC 8742），依次排列的 TransactionDto 编码，报告中的行号为记录序号
+     * @param cacheCreated 是否把导入的记录写入单条记录缓存
+     * @throws IOException 读取请求体失败时抛出，此前已写入的块不会回滚
+     */
+    public ImportReport importCborSequence(InputStream sequence, boolean cacheCreated) throws IOException {
+        Progress progress = new Progress(cacheCreated ? cacheManager.getCache(CacheNames.TRANSACTIONS) : null);
+        try (MappingIterator<TransactionDto> values = cborReader.readValues(sequence)) {
+            for (long number = 1; ; number++) {
+                TransactionDto dto;
+                try {
+                    if (!values.hasNextValue()) {
+                        break;
+                    }
+                    dto = values.nextValue();
+                } catch (JsonProcessingException e) {
+                    progress.reject(number, e.getOriginalMessage());
+                    break;
+                }
+                progress.add(number, dto);
+            }
+        }
+        return progress.finish();
+    }
+
+    private final class Progress {
+        private final Cache cache;
+        private final List<TransactionDto> chunk = new ArrayList<>(chunkSize);
+        private final long[] lineNumbers = new long[chunkSize];
+        private final List<ImportReport.LineError> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        Progress(Cache cache) {
+            this.cache = cache;
+        }
+
+        void add(long line, TransactionDto dto) {
+            total++;
+            lineNumbers[chunk.size()] = line;
+            chunk.add(dto);
+            if (chunk.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            total++;
+            errorMetrics.increment(ErrorCode.INVALID_TRANSACTION_DATA);
+            fail(line, ErrorCode.INVALID_TRANSACTION_DATA.getCode(), message);
+        }
+
+        ImportReport finish() {
+            flush();
+            log.info("Imported {} of {} transactions ({} failed)", imported, total, failed);
+            return new ImportReport(total, imported, failed, errors, failed > errors.size());
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            BatchResponse response = transactionService.createTransactions(chunk);
+            for (BatchItemResult result : response.results()) {
+                if (result.status() == BatchItemResult.Status.CREATED) {
+                    imported++;
+                    if (cache != null) {
+                        cache.put(result.transaction().id(), result.transaction());
+                    }
+                } else {
+                    fail(lineNumbers[result.index()], result.code(), result.message());
+                }
+            }
+            chunk.clear();
+            log.debug("Import progress: {} read, {} imported, {} failed", total, imported, failed);
+        }
+
+        private void fail(long line, String code, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportReport.LineError(line, code, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.bank.transaction.service.shard;
+
+import com.bank.transaction.config.ShardProperties;
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 按账户分片的单写者执行器
+ * <p>
+ * 按 accountId 的哈希把写操作路由到 N 个分片，每个分片由一个专属线程顺序执行，
+ * 同一账户的读-判断-写因此天然串行，无需额外加锁；不同账户落在不同分片上并行执行。
+ * 每个分片的队列有界，队列满时直接拒绝，避免请求无限堆积；调用方最多等待 taskTimeout 让任务开始执行，
+ * 已开始的任务总是等到结果，调用方因此不会把已生效的写入当作失败。
+ */
+@Component
+public class AccountShardExecutor implements AutoCloseable {
+    private static final Duration DEFAULT_TASK_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Shard[] shards;
+    private final long taskTimeoutNanos;
+
+    @Autowired
+    public AccountShardExecutor(ShardProperties properties) {
+        this(properties.resolvedCount(), properties.queueCapacity(), properties.taskTimeout());
+    }
+
+    public AccountShardExecutor(int shardCount, int queueCapacity) {
+        this(shardCount, queueCapacity, DEFAULT_TASK_TIMEOUT);
+    }
+
+    public AccountShardExecutor(int shardCount, int queueCapacity, Duration taskTimeout) {
+        this.taskTimeoutNanos = taskTimeout.toNanos();
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+        }
+    }
+
+    /**
+     * 在账户所属分片上执行任务并等待结果
+     * <p>
+     * 任务抛出的运行时异常原样抛给调用方；在分片线程内再次提交到同一分片时直接执行。
+     * 等待超时或被中断时，任务尚未开始则取消并拒绝；已开始则继续等到它执行完并返回结果。
+     *
+     * @throws BusinessException 分片队列已满、执行器已关闭或任务超时未开始时抛出 SERVICE_UNAVAILABLE
+     */
+    public <T> T execute(String accountId, Supplier<T> task) {
+        return execute(shardOf(accountId), task);
+    }
+
+    /**
+     * 同时占用两个账户所属的分片执行任务，用于把记录从一个账户移到另一个账户
+     * <p>
+     * 总是先进入编号小的分片，再从该分片线程进入编号大的分片。等待关系只会从小编号指向大编号，
+     * 不会成环，因此不会死锁；两个账户落在同一分片时等同于 {@link #execute(String, Supplier)}。
+     */
+    public <T> T execute(String firstAccountId, String secondAccountId, Supplier<T> task) {
+        int first = shardOf(firstAccountId);
+        int second = shardOf(secondAccountId);
+        if (first == second) {
+            return execute(first, task);
+        }
+        return execute(Math.min(first, second), () -> execute(Math.max(first, second), task));
+    }
+
+    public void execute(String accountId, Runnable task) {
+        execute(accountId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * 把任务提交到账户所属分片但不等待结果，用于先向多个分片提交、再逐个 {@link #await(Future)}，
+     * 各分片因此并行执行；等待时限从提交时开始计算
+     *
+     * @throws BusinessException 分片队列已满或执行器已关闭时抛出 SERVICE_UNAVAILABLE
+     */
+    public <T> Future<T> submit(String accountId, Supplier<T> task) {
+        Shard shard = shards[shardOf(accountId)];
+        ShardTask<T> future = new ShardTask<>(task, System.nanoTime() + taskTimeoutNanos);
+        if (Thread.currentThread() == shard.thread) {
+            future.run();
+        } else if (!shard.submit(future)) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE);
+        }
+        return future;
+    }
+
+    /**
+     * 等待 {@link #submit(String, Supplier)} 提交的任务，超时与异常语义同 {@link #execute(String, Supplier)}
+     */
+    public <T> T await(Future<T> future) {
+        ShardTask<T> task = (ShardTask<T>) future;
+        return await(task, task.deadlineNanos - System.nanoTime());
+    }
+
+    private <T> T execute(int index, Supplier<T> task) {
+        Shard shard = shards[index];
+        if (Thread.currentThread() == shard.thread) {
+            return task.get();
+        }
+        ShardTask<T> future = new ShardTask<>(task, System.nanoTime() + taskTimeoutNanos);
+        if (!shard.submit(future)) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE);
+        }
+        return await(future, taskTimeoutNanos);
+    }
+
+    private static <T> T await(ShardTask<T> future, long timeoutNanos) {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return abandon(future);
+        } catch (TimeoutException e) {
+            return abandon(future);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * 放弃等待：任务尚未开始时取消并拒绝；已开始的任务会写入存储，必须等到它的结果
+     */
+    private static <T> T abandon(ShardTask<T> future) {
+        if (future.cancelIfNotStarted()) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE);
+        }
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw unwrap(e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    public int shardOf(String accountId) {
+        if (accountId == null) {
+            return 0;
+        }
+        int hash = accountId.hashCode();
+        // 打散低位，避免相似的账户ID集中到少数分片
+        hash ^= hash >>> 16;
+        return (hash & 0x7fffffff) % shards.length;
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * 分片当前排队中的任务数
+     */
+    public int queueDepth(int shard) {
+        return shards[shard].queue.size();
+    }
+
+    /**
+     * 分片累计执行完成的任务数
+     */
+    public long completed(int shard) {
+        return shards[shard].completed;
+    }
+
+    /**
+     * 停止接收新任务，执行完已排队的任务后退出分片线程
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 只能开始一次的任务：分片线程开始执行与调用方取消互斥，取消成功即保证任务不会执行
+     */
+    private static final class ShardTask<T> extends FutureTask<T> {
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final long deadlineNanos;
+
+        ShardTask(Supplier<T> task, long deadlineNanos) {
+            super(task::get);
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public void run() {
+            if (started.compareAndSet(false, true)) {
+                super.run();
+            }
+        }
+
+        boolean cancelIfNotStarted() {
+            return started.compareAndSet(false, true) && cancel(false);
+        }
+    }
+
+    private static final class Shard implements Runnable {
+        private final BlockingQueue<FutureTask<?>> queue;
+        private final Thread thread;
+        // 入队与停止互斥：停止之后不会再有任务入队，分片线程退出前的排空因此不会遗漏任务
+        private final ReentrantLock submitLock = new ReentrantLock();
+        private volatile boolean running = true;
+        // 只由分片线程写入
+        private volatile long completed;
+
+        Shard(int index, int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this, "shard-writer-" + index);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        boolean submit(FutureTask<?> task) {
+            submitLock.lock();
+            try {
+                return running && queue.offer(task);
+            } finally {
+                submitLock.unlock();
+            }
+        }
+
+        void stop() {
+            submitLock.lock();
+            try {
+                running = false;
+            } finally {
+                submitLock.unlock();
+            }
+            // 唤醒空闲的分片线程；队列非空时线程会自行检查状态
+            queue.offer(new FutureTask<>(() -> null));
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    queue.take().run();
+                    completed++;
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            FutureTask<?> task;
+            while ((task = queue.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+}
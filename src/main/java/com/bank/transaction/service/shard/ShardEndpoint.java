@@ -0,0 +1,35 @@
+package com.bank.transaction.service.shard;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分片队列状态端点（GET /actuator/shards）
+ */
+@Component
+@Endpoint(id = "shards")
+public class ShardEndpoint {
+    private final AccountShardExecutor executor;
+
+    @Autowired
+    public ShardEndpoint(AccountShardExecutor executor) {
+        this.executor = executor;
+    }
+
+    @ReadOperation
+    public List<ShardStatus> shards() {
+        List<ShardStatus> result = new ArrayList<>(executor.shardCount());
+        for (int i = 0; i < executor.shardCount(); i++) {
+            result.add(new ShardStatus(i, executor.queueDepth(i), executor.completed(i)));
+        }
+        return result;
+    }
+
+    public record ShardStatus(int shard, int queueDepth, long completed) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.bank.transaction.storage;
+
+/**
+ * 已生效于内存并追加到写前日志、但尚未确认落盘的写入
+ *
+ * @param value    写入结果
+ * @param sequence 日志序号，交给 {@link TransactionStorage#awaitDurable(long)} 等待落盘；0表示没有需要等待的记录
+ */
+public record PendingWrite<T>(T value, long sequence) {
+}
@@ -0,0 +1,68 @@
+package com.bank.transaction.storage;
+
+import com.bank.transaction.model.Transaction;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * 交易记录的有序位置（创建时间 + ID），既是有序索引的键，也是游标分页的游标
+ * 对外以URL安全的Base64字符串传递，客户端应视为不透明值
+ */
+public record TransactionCursor(LocalDateTime timestamp, String id) implements Comparable<TransactionCursor> {
+    private static final Comparator<TransactionCursor> ORDER = Comparator
+            .comparing(TransactionCursor::timestamp, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TransactionCursor::id);
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final long MIN_EPOCH_SECOND = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+    private static final long MAX_EPOCH_SECOND = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+    private static final int MAX_NANO = 999_999_999;
+
+    public static TransactionCursor of(Transaction transaction) {
+        return new TransactionCursor(transaction.timestamp(), transaction.id());
+    }
+
+    @Override
+    public int compareTo(TransactionCursor other) {
+        return ORDER.compare(this, other);
+    }
+
+    public String encode() {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(12 + idBytes.length);
+        if (timestamp == null) {
+            buffer.putLong(NULL_TIMESTAMP).putInt(0);
+        } else {
+            buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC)).putInt(timestamp.getNano());
+        }
+        buffer.put(idBytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * 解析游标字符串
+     *
+     * @throws IllegalArgumentException 游标格式非法，或时间超出 LocalDateTime 可表示的范围
+     */
+    public static TransactionCursor decode(String value) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(value));
+        if (buffer.remaining() < 12) {
+            throw new IllegalArgumentException("Cursor too short");
+        }
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        if (epochSecond != NULL_TIMESTAMP && (epochSecond < MIN_EPOCH_SECOND || epochSecond > MAX_EPOCH_SECOND
+                || nano < 0 || nano > MAX_NANO)) {
+            throw new IllegalArgumentException("Cursor timestamp out of range");
+        }
+        String id = StandardCharsets.UTF_8.decode(buffer).toString();
+        LocalDateTime timestamp = epochSecond == NULL_TIMESTAMP
+                ? null
+                : LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        return new TransactionCursor(timestamp, id);
+    }
+}
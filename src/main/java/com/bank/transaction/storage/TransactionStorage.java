@@ -3,19 +3,124 @@ package com.bank.transaction.storage;
 import com.bank.transaction.dto.TransactionDto;
 import com.bank.transaction.model.Transaction;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface TransactionStorage {
-    Transaction save(Transaction transaction);
+    default Transaction save(Transaction transaction) {
+        PendingWrite<Transaction> write = saveDeferred(transaction);
+        awaitDurable(write.sequence());
+        return write.value();
+    }
+
+    /**
+     * 保存但不等待落盘，修改返回时已对查询可见
+     * <p>
+     * 分片线程只写日志和内存，由调用线程在分片之外调用 {@link #awaitDurable(long)}，
+     * 同一分片上的连续写入因此能进入同一次组提交
+     */
+    PendingWrite<Transaction> saveDeferred(Transaction transaction);
+
+    /**
+     * 批量保存，整批只等待一次持久化
+     */
+    default List<Transaction> saveAll(List<Transaction> transactions) {
+        PendingWrite<List<Transaction>> write = saveAllDeferred(transactions);
+        awaitDurable(write.sequence());
+        return write.value();
+    }
+
+    /**
+     * 批量保存但不等待落盘，语义同 {@link #saveDeferred(Transaction)}
+     *
+     * @return 整批的最后一个日志序号，等待它即覆盖整批；空列表时为0
+     */
+    PendingWrite<List<Transaction>> saveAllDeferred(List<Transaction> transactions);
 
     Optional<Transaction> findById(String id);
 
     List<Transaction> findAll(int page, int size);
 
-    void delete(String id);
+    /**
+     * 游标分页：按（创建时间, ID）升序返回严格位于游标之后的记录
+     *
+     * @param after 上一页最后一条记录的位置，为null时从头开始
+     */
+    List<Transaction> findAfter(TransactionCursor after, int size);
+
+    /**
+     * 按账户分页查询，按（创建时间, ID）升序，开销只与该账户的记录数有关
+     */
+    List<Transaction> findByAccount(String accountId, int page, int size);
+
+    /**
+     * 按账户的游标分页，排序与游标语义同 {@link #findAfter(TransactionCursor, int)}
+     */
+    List<Transaction> findByAccountAfter(String accountId, TransactionCursor after, int size);
+
+    long countByAccount(String accountId);
+
+    /**
+     * 按创建时间范围分页查询，按（创建时间, ID）升序，开销只与范围内的记录数有关；创建时间为空的记录不会命中
+     *
+     * @param from 起始时间（含），为null时不限
+     * @param to   结束时间（不含），为null时不限
+     */
+    List<Transaction> findByTimeRange(LocalDateTime from, LocalDateTime to, int page, int size);
+
+    long countByTimeRange(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 时间范围的游标分页：按（创建时间, ID）升序返回严格位于游标之后、创建时间早于 to 的记录，
+     * 开销只与返回的记录数有关，用于带结束时间的导出；创建时间为空的记录不会命中
+     *
+     * @param after 上一块最后一条记录的位置或按起始时间构造的游标，为null时从最早的记录开始
+     * @param to    结束时间（不含），为null时不限
+     */
+    List<Transaction> findByTimeRangeAfter(TransactionCursor after, LocalDateTime to, int size);
+
+    /**
+     * 单个账户的时间范围游标分页，语义同 {@link #findByTimeRangeAfter(TransactionCursor, LocalDateTime, int)}，
+     * 读到结束时间即停止，用于带结束时间的账户导出
+     */
+    List<Transaction> findByAccountTimeRangeAfter(String accountId, TransactionCursor after, LocalDateTime to,
+                                                  int size);
+
+    default void delete(String id) {
+        awaitDurable(deleteDeferred(id));
+    }
+
+    /**
+     * 删除但不等待落盘，语义同 {@link #saveDeferred(Transaction)}
+     *
+     * @return 日志序号；记录不存在时返回0
+     */
+    long deleteDeferred(String id);
+
+    /**
+     * 阻塞直到指定序号及之前的写入已落盘
+     */
+    void awaitDurable(long sequence);
 
     long count();
 
+    /**
+     * 存储版本号，每次保存或删除生效后递增，用于判断查询结果是否过期
+     */
+    long generation();
+
     boolean exists(TransactionDto dto);
+
+    /**
+     * 原子地占用交易内容指纹（检查与写入合为一步），用于并发创建时的去重
+     *
+     * @return 占用成功返回true；相同内容已存在或已被占用时返回false
+     */
+    boolean reserve(TransactionDto dto);
+
+    /**
+     * 释放 {@link #reserve(TransactionDto)} 占用但最终未保存的指纹
+     */
+    void release(TransactionDto dto);
 }
\ No newline at end of file
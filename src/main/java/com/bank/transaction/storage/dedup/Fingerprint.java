@@ -0,0 +1,67 @@
+package com.bank.transaction.storage.dedup;
+
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+
+/**
+ * 交易内容的128位指纹，用于重复交易检测
+ * 直接遍历字段字符计算两路独立的64位哈希，不拼接字符串、不做编码
+ */
+public record Fingerprint(long hi, long lo) {
+    private static final long SEED_HI = 0xCBF29CE484222325L;
+    private static final long SEED_LO = 0x9E3779B97F4A7C15L;
+    private static final long PRIME_HI = 0x100000001B3L;
+    private static final long PRIME_LO = 0xFF51AFD7ED558CCDL;
+    private static final long NULL_MARKER = 0x5BD1E9955BD1E995L;
+
+    public static Fingerprint of(TransactionDto dto) {
+        return of(dto.accountId(), dto.amount(), dto.type(), dto.description());
+    }
+
+    public static Fingerprint of(Transaction transaction) {
+        return of(transaction.accountId(), transaction.amount(), transaction.type(), transaction.description());
+    }
+
+    public static Fingerprint of(String accountId, double amount, Transaction.TransactionType type, String description) {
+        return new Fingerprint(
+                lane(SEED_HI, PRIME_HI, accountId, amount, type, description),
+                lane(SEED_LO, PRIME_LO, accountId, amount, type, description)
+        );
+    }
+
+    private static long lane(long seed, long prime, String accountId, double amount,
+                             Transaction.TransactionType type, String description) {
+        long h = seed;
+        h = mixString(h, prime, accountId);
+        h = mixLong(h, prime, Double.doubleToLongBits(amount));
+        h = mixLong(h, prime, type == null ? -1 : type.ordinal());
+        h = mixString(h, prime, description);
+        return finish(h);
+    }
+
+    private static long mixString(long h, long prime, String value) {
+        if (value == null) {
+            return mixLong(h, prime, NULL_MARKER);
+        }
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            h = (h ^ value.charAt(i)) * prime;
+        }
+        // 混入长度，避免相邻字段边界歧义
+        return mixLong(h, prime, length);
+    }
+
+    private static long mixLong(long h, long prime, long value) {
+        h = (h ^ value) * prime;
+        return Long.rotateLeft(h, 31);
+    }
+
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
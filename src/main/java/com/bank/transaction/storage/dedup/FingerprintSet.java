@@ -0,0 +1,227 @@
+package com.bank.transaction.storage.dedup;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 带过期窗口的指纹集合
+ * <p>
+ * 分段的开放寻址（线性探测）哈希表，键和写入时间都存放在原始long数组中，
+ * 单次操作不产生对象分配。超过去重窗口的指纹视为不存在，并在扩容重建时被清理，
+ * 因此内存占用只取决于窗口内的写入量，而不是历史总量。
+ */
+public final class FingerprintSet {
+    private static final int SEGMENTS = 64;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long EMPTY = 0L;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long windowMillis;
+
+    /**
+     * @param window 去重窗口，为0或负数表示永不过期
+     */
+    public FingerprintSet(Duration window) {
+        this.windowMillis = window.isNegative() || window.isZero() ? Long.MAX_VALUE : window.toMillis();
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * 写入指纹
+     *
+     * @return 指纹原本不存在（或已过期）时返回true
+     */
+    public boolean add(Fingerprint fingerprint, long nowMillis) {
+        return segmentFor(fingerprint).add(fingerprint.hi(), fingerprint.lo(), nowMillis);
+    }
+
+    public boolean contains(Fingerprint fingerprint, long nowMillis) {
+        return segmentFor(fingerprint).contains(fingerprint.hi(), fingerprint.lo(), nowMillis);
+    }
+
+    public boolean remove(Fingerprint fingerprint) {
+        return segmentFor(fingerprint).remove(fingerprint.hi(), fingerprint.lo());
+    }
+
+    /**
+     * 当前占用的槽位数（含尚未清理的过期指纹）
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * 遍历未过期的指纹，每个分段先在锁内复制再在锁外回调，不阻塞并发写入
+     */
+    public void forEach(long nowMillis, Visitor visitor) {
+        for (Segment segment : segments) {
+            long[] his;
+            long[] los;
+            long[] stamps;
+            segment.lock();
+            try {
+                his = segment.his.clone();
+                los = segment.los.clone();
+                stamps = segment.stamps.clone();
+            } finally {
+                segment.unlock();
+            }
+            for (int i = 0; i < stamps.length; i++) {
+                if (stamps[i] != EMPTY && !isExpired(stamps[i], nowMillis)) {
+                    visitor.visit(his[i], los[i], stamps[i]);
+                }
+            }
+        }
+    }
+
+    public interface Visitor {
+        void visit(long hi, long lo, long stampMillis);
+    }
+
+    private Segment segmentFor(Fingerprint fingerprint) {
+        return segments[(int) (fingerprint.hi() >>> 58)];
+    }
+
+    private final class Segment extends ReentrantLock {
+        private long[] his = new long[INITIAL_CAPACITY];
+        private long[] los = new long[INITIAL_CAPACITY];
+        // 写入时间，EMPTY表示空槽
+        private long[] stamps = new long[INITIAL_CAPACITY];
+        private volatile int size;
+
+        boolean add(long hi, long lo, long now) {
+            lock();
+            try {
+                int slot = find(hi, lo);
+                if (slot >= 0) {
+                    if (isExpired(stamps[slot], now)) {
+                        stamps[slot] = stampOf(now);
+                        return true;
+                    }
+                    return false;
+                }
+                if ((size + 1) * 4 > stamps.length * 3) {
+                    rebuild(now);
+                }
+                insert(hi, lo, stampOf(now));
+                size++;
+                return true;
+            } finally {
+                unlock();
+            }
+        }
+
+        boolean contains(long hi, long lo, long now) {
+            lock();
+            try {
+                int slot = find(hi, lo);
+                return slot >= 0 && !isExpired(stamps[slot], now);
+            } finally {
+                unlock();
+            }
+        }
+
+        boolean remove(long hi, long lo) {
+            lock();
+            try {
+                int slot = find(hi, lo);
+                if (slot < 0) {
+                    return false;
+                }
+                deleteSlot(slot);
+                size--;
+                return true;
+            } finally {
+                unlock();
+            }
+        }
+
+        private int find(long hi, long lo) {
+            int mask = stamps.length - 1;
+            for (int i = indexOf(lo, mask); stamps[i] != EMPTY; i = (i + 1) & mask) {
+                if (his[i] == hi && los[i] == lo) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void insert(long hi, long lo, long stamp) {
+            int mask = stamps.length - 1;
+            int i = indexOf(lo, mask);
+            while (stamps[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            his[i] = hi;
+            los[i] = lo;
+            stamps[i] = stamp;
+        }
+
+        /**
+         * 线性探测的后移删除，无需墓碑标记
+         */
+        private void deleteSlot(int slot) {
+            int mask = stamps.length - 1;
+            int hole = slot;
+            for (int i = (slot + 1) & mask; stamps[i] != EMPTY; i = (i + 1) & mask) {
+                int home = indexOf(los[i], mask);
+                // home不在(hole, i]区间内时，该元素可以前移填补空位
+                boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+                if (movable) {
+                    his[hole] = his[i];
+                    los[hole] = los[i];
+                    stamps[hole] = stamps[i];
+                    hole = i;
+                }
+            }
+            stamps[hole] = EMPTY;
+        }
+
+        /**
+         * 清理过期指纹并按存活数量重新确定容量
+         */
+        private void rebuild(long now) {
+            long[] oldHis = his;
+            long[] oldLos = los;
+            long[] oldStamps = stamps;
+            int live = 0;
+            for (long stamp : oldStamps) {
+                if (stamp != EMPTY && !isExpired(stamp, now)) {
+                    live++;
+                }
+            }
+            int capacity = INITIAL_CAPACITY;
+            while ((live + 1) * 2 > capacity) {
+                capacity <<= 1;
+            }
+            his = new long[capacity];
+            los = new long[capacity];
+            stamps = new long[capacity];
+            for (int i = 0; i < oldStamps.length; i++) {
+                if (oldStamps[i] != EMPTY && !isExpired(oldStamps[i], now)) {
+                    insert(oldHis[i], oldLos[i], oldStamps[i]);
+                }
+            }
+            size = live;
+        }
+
+        private int indexOf(long lo, int mask) {
+            return (int) (lo ^ (lo >>> 32)) & mask;
+        }
+    }
+
+    private boolean isExpired(long stamp, long now) {
+        return windowMillis != Long.MAX_VALUE && now - stamp >= windowMillis;
+    }
+
+    private static long stampOf(long now) {
+        // 0保留为空槽标记
+        return now == EMPTY ? 1 : now;
+    }
+}
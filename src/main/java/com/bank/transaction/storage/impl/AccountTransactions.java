@@ -0,0 +1,62 @@
+package com.bank.transaction.storage.impl;
+
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.storage.TransactionCursor;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个账户的交易二级索引，按（创建时间, ID）排序
+ * 单独维护计数，避免 ConcurrentSkipListMap.size() 的线性开销
+ */
+final class AccountTransactions {
+    private final ConcurrentNavigableMap<TransactionCursor, Transaction> transactions = new ConcurrentSkipListMap<>();
+    private final AtomicLong count = new AtomicLong();
+
+    void put(TransactionCursor key, Transaction transaction) {
+        if (transactions.put(key, transaction) == null) {
+            count.incrementAndGet();
+        }
+    }
+
+    void remove(TransactionCursor key) {
+        if (transactions.remove(key) != null) {
+            count.decrementAndGet();
+        }
+    }
+
+    boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    List<Transaction> page(int page, int size) {
+        return transactions.values().stream()
+                .skip((long) page * size)
+                .limit(size)
+                .toList();
+    }
+
+    List<Transaction> after(TransactionCursor after, int size) {
+        ConcurrentNavigableMap<TransactionCursor, Transaction> tail =
+                after == null ? transactions : transactions.tailMap(after, false);
+        return tail.values().stream()
+                .limit(size)
+                .toList();
+    }
+
+    /**
+     * 严格位于 lower 之后、upper 之前的记录
+     */
+    List<Transaction> between(TransactionCursor lower, TransactionCursor upper, int size) {
+        return transactions.subMap(lower, false, upper, false).values().stream()
+                .limit(size)
+                .toList();
+    }
+}
@@ -1,28 +1,136 @@
 package com.bank.transaction.storage.impl;
 
+import com.bank.transaction.config.DedupProperties;
 import com.bank.transaction.dto.TransactionDto;
 import com.bank.transaction.model.Transaction;
+import com.bank.transaction.storage.PendingWrite;
+import com.bank.transaction.storage.TransactionCursor;
 import com.bank.transaction.storage.TransactionStorage;
+import com.bank.transaction.storage.dedup.Fingerprint;
+import com.bank.transaction.storage.dedup.FingerprintSet;
+import com.bank.transaction.storage.snapshot.SnapshotStore;
+import com.bank.transaction.storage.wal.TransactionLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.DigestUtils;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Repository
+@ConditionalOnProperty(name = "transaction.storage.type", havingValue = "memory", matchIfMissing = true)
 public class InMemoryTransactionStorage implements TransactionStorage {
+    private static final int LOCK_STRIPES = 64;
+    // 时间桶宽度（秒），与堆外存储的默认桶宽一致
+    private static final long TIME_BUCKET_SECONDS = 60;
+
     private final Map<String, Transaction> transactions = new ConcurrentHashMap<>();
-    private final Set<String> transactionHashes = ConcurrentHashMap.newKeySet();
+    // 按（创建时间, ID）排序的索引，提供稳定的遍历顺序和O(log n)的游标定位
+    private final ConcurrentNavigableMap<TransactionCursor, Transaction> orderedIndex = new ConcurrentSkipListMap<>();
+    // 时间桶号 -> 桶内记录数，范围计数和页码分页跳过整桶时不遍历桶内节点；创建时间为空的记录不计入
+    private final ConcurrentNavigableMap<Long, Long> bucketCounts = new ConcurrentSkipListMap<>();
+    // 账户ID -> 该账户的交易（按时间排序）
+    private final Map<String, AccountTransactions> accountIndex = new ConcurrentHashMap<>();
+    private final FingerprintSet fingerprints;
+    // 在修改生效之后递增，读到新版本号的查询一定能看到对应的修改
+    private final AtomicLong generation = new AtomicLong();
+    private final TransactionLog transactionLog;
+    private final SnapshotStore snapshotStore;
+    private final Clock clock;
+    // 按ID分段加锁，保证同一ID的日志顺序与内存修改顺序一致
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    public InMemoryTransactionStorage() {
+        this(TransactionLog.noop());
+    }
+
+    public InMemoryTransactionStorage(TransactionLog transactionLog) {
+        this(transactionLog, DedupProperties.defaults(), Clock.systemDefaultZone());
+    }
+
+    public InMemoryTransactionStorage(TransactionLog transactionLog, DedupProperties dedupProperties, Clock clock) {
+        this(transactionLog, SnapshotStore.none(), dedupProperties, clock);
+    }
+
+    /**
+     * 启动时先加载最新快照，再只回放快照纪元之后的日志
+     */
+    @Autowired
+    public InMemoryTransactionStorage(TransactionLog transactionLog,
+                                      SnapshotStore snapshotStore,
+                                      DedupProperties dedupProperties,
+                                      Clock clock) {
+        this.transactionLog = transactionLog;
+        this.snapshotStore = snapshotStore;
+        this.clock = clock;
+        this.fingerprints = new FingerprintSet(dedupProperties.window());
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        long epoch = snapshotStore.load(new SnapshotStore.Loader() {
+            @Override
+            public void onFingerprint(long hi, long lo, long stampMillis) {
+                fingerprints.add(new Fingerprint(hi, lo), stampMillis);
+            }
+
+            @Override
+            public void onTransaction(Transaction transaction) {
+                applySave(transaction, replayStamp(transaction));
+            }
+        });
+        transactionLog.replay(new TransactionLog.Replayer() {
+            @Override
+            public void onSave(Transaction transaction) {
+                applySave(transaction, replayStamp(transaction));
+            }
+
+            @Override
+            public void onDelete(String id) {
+                applyDelete(id);
+            }
+        }, epoch);
+    }
 
     @Override
-    public Transaction save(Transaction transaction) {
-        transactions.put(transaction.id(), transaction);
-        transactionHashes.add(generateHash(transaction));
-        return transaction;
+    public PendingWrite<Transaction> saveDeferred(Transaction transaction) {
+        ReentrantLock lock = lockFor(transaction.id());
+        lock.lock();
+        try {
+            long sequence = transactionLog.appendSave(transaction);
+            applySave(transaction, clock.millis());
+            return new PendingWrite<>(transaction, sequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public PendingWrite<List<Transaction>> saveAllDeferred(List<Transaction> transactions) {
+        long sequence = 0;
+        long now = clock.millis();
+        for (Transaction transaction : transactions) {
+            ReentrantLock lock = lockFor(transaction.id());
+            lock.lock();
+            try {
+                sequence = transactionLog.appendSave(transaction);
+                applySave(transaction, now);
+            } finally {
+                lock.unlock();
+            }
+        }
+        // 日志按序号顺序落盘，等待最后一条即可覆盖整批
+        return new PendingWrite<>(transactions, sequence);
     }
 
     @Override
@@ -32,43 +140,298 @@ public class InMemoryTransactionStorage implements TransactionStorage {
 
     @Override
     public List<Transaction> findAll(int page, int size) {
-        return transactions.values().stream()
+        return orderedIndex.values().stream()
                 .skip((long) page * size)
                 .limit(size)
-                .collect(Collectors.toList());
+                .toList();
     }
 
     @Override
-    public void delete(String id) {
-        Transaction transaction = transactions.remove(id);
-        if (transaction != null) {
-            transactionHashes.remove(generateHash(transaction));
+    public List<Transaction> findAfter(TransactionCursor after, int size) {
+        ConcurrentNavigableMap<TransactionCursor, Transaction> tail =
+                after == null ? orderedIndex : orderedIndex.tailMap(after, false);
+        return tail.values().stream()
+                .limit(size)
+                .toList();
+    }
+
+    @Override
+    public List<Transaction> findByAccount(String accountId, int page, int size) {
+        AccountTransactions account = accountIndex.get(accountId);
+        return account == null ? List.of() : account.page(page, size);
+    }
+
+    @Override
+    public List<Transaction> findByAccountAfter(String accountId, TransactionCursor after, int size) {
+        AccountTransactions account = accountIndex.get(accountId);
+        return account == null ? List.of() : account.after(after, size);
+    }
+
+    @Override
+    public long countByAccount(String accountId) {
+        AccountTransactions account = accountIndex.get(accountId);
+        return account == null ? 0 : account.count();
+    }
+
+    /**
+     * 按桶计数跳过前面的页：完全落在范围内的桶直接减去计数，只有边界桶和返回页所在的桶才遍历跳表节点
+     */
+    @Override
+    public List<Transaction> findByTimeRange(LocalDateTime from, LocalDateTime to, int page, int size) {
+        long skip = (long) page * size;
+        LocalDateTime start = from;
+        for (Map.Entry<Long, Long> bucket : overlappingBuckets(from, to).entrySet()) {
+            long count = countInBucket(bucket.getKey(), bucket.getValue(), from, to);
+            if (count > skip) {
+                break;
+            }
+            skip -= count;
+            start = bucketStart(bucket.getKey() + 1);
+        }
+        return timeRange(start, to).values().stream()
+                .skip(skip)
+                .limit(size)
+                .toList();
+    }
+
+    /**
+     * 完全落在范围内的桶直接累加计数，只遍历两端的边界桶
+     */
+    @Override
+    public long countByTimeRange(LocalDateTime from, LocalDateTime to) {
+        long count = 0;
+        for (Map.Entry<Long, Long> bucket : overlappingBuckets(from, to).entrySet()) {
+            count += countInBucket(bucket.getKey(), bucket.getValue(), from, to);
+        }
+        return count;
+    }
+
+    @Override
+    public List<Transaction> findByTimeRangeAfter(TransactionCursor after, LocalDateTime to, int size) {
+        ConcurrentNavigableMap<TransactionCursor, Transaction> range = timeRange(null, to);
+        if (after != null && after.timestamp() != null) {
+            range = range.tailMap(after, false);
+        }
+        return range.values().stream()
+                .limit(size)
+                .toList();
+    }
+
+    @Override
+    public List<Transaction> findByAccountTimeRangeAfter(String accountId, TransactionCursor after, LocalDateTime to,
+                                                         int size) {
+        AccountTransactions account = accountIndex.get(accountId);
+        if (account == null) {
+            return List.of();
+        }
+        // 与 timeRange 相同：下界不低于 LocalDateTime.MIN，排除创建时间为空的记录
+        TransactionCursor lower = after == null || after.timestamp() == null
+                ? new TransactionCursor(LocalDateTime.MIN, "")
+                : after;
+        if (to == null) {
+            return account.after(lower, size);
+        }
+        TransactionCursor upper = new TransactionCursor(to, "");
+        return lower.compareTo(upper) >= 0 ? List.of() : account.between(lower, upper, size);
+    }
+
+    @Override
+    public long deleteDeferred(String id) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            if (!transactions.containsKey(id)) {
+                return 0;
+            }
+            long sequence = transactionLog.appendDelete(id);
+            applyDelete(id);
+            return sequence;
+        } finally {
+            lock.unlock();
         }
     }
 
+    @Override
+    public void awaitDurable(long sequence) {
+        transactionLog.awaitDurable(sequence);
+    }
+
     @Override
     public long count() {
         return transactions.size();
     }
 
+    @Override
+    public long generation() {
+        return generation.get();
+    }
+
     @Override
     public boolean exists(TransactionDto dto) {
-        String hash = generateHash(dto);
-        return transactionHashes.contains(hash);
+        return fingerprints.contains(Fingerprint.of(dto), clock.millis());
+    }
+
+    @Override
+    public boolean reserve(TransactionDto dto) {
+        return fingerprints.add(Fingerprint.of(dto), clock.millis());
+    }
+
+    @Override
+    public void release(TransactionDto dto) {
+        fingerprints.remove(Fingerprint.of(dto));
+    }
+
+    /**
+     * 写入快照并删除已被快照覆盖的日志
+     * <p>
+     * 只在切换WAL纪元时短暂持有全部分段锁（此时没有进行中的写入），之后遍历与写文件期间写入照常进行。
+     * 因此快照可能已包含新纪元中的部分修改，加载后回放这些日志是幂等的，最终状态一致。
+     */
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            long epoch;
+            for (ReentrantLock lock : locks) {
+                lock.lock();
+            }
+            try {
+                epoch = transactionLog.checkpoint();
+            } finally {
+                for (int i = LOCK_STRIPES - 1; i >= 0; i--) {
+                    locks[i].unlock();
+                }
+            }
+            snapshotStore.write(epoch, clock.millis(), fingerprints, orderedIndex.values());
+            transactionLog.truncateBefore(snapshotStore.prune());
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void applySave(Transaction transaction, long stamp) {
+        Transaction previous = transactions.put(transaction.id(), transaction);
+        TransactionCursor key = TransactionCursor.of(transaction);
+        if (orderedIndex.put(key, transaction) == null) {
+            countBucket(key, 1);
+        }
+        Fingerprint fingerprint = Fingerprint.of(transaction);
+        indexAccount(transaction.accountId(), key, transaction);
+        if (previous != null) {
+            TransactionCursor previousKey = TransactionCursor.of(previous);
+            if (!key.equals(previousKey) && orderedIndex.remove(previousKey) != null) {
+                countBucket(previousKey, -1);
+            }
+            if (!key.equals(previousKey) || !Objects.equals(previous.accountId(), transaction.accountId())) {
+                unindexAccount(previous.accountId(), previousKey);
+            }
+            // 更新内容后旧指纹失效
+            Fingerprint previousFingerprint = Fingerprint.of(previous);
+            if (!previousFingerprint.equals(fingerprint)) {
+                fingerprints.remove(previousFingerprint);
+            }
+        }
+        fingerprints.add(fingerprint, stamp);
+        generation.incrementAndGet();
+    }
+
+    private void applyDelete(String id) {
+        Transaction transaction = transactions.remove(id);
+        if (transaction != null) {
+            TransactionCursor key = TransactionCursor.of(transaction);
+            if (orderedIndex.remove(key) != null) {
+                countBucket(key, -1);
+            }
+            unindexAccount(transaction.accountId(), key);
+            fingerprints.remove(Fingerprint.of(transaction));
+            generation.incrementAndGet();
+        }
     }
 
-    private String generateHash(Transaction transaction) {
-        return generateHash(new TransactionDto(
-                transaction.accountId(),
-                transaction.amount(),
-                transaction.type(),
-                transaction.description()
-        ));
+    private ConcurrentNavigableMap<TransactionCursor, Transaction> timeRange(LocalDateTime from, LocalDateTime to) {
+        // ID为空串的键排在同一时刻的所有记录之前；下界不限时从 LocalDateTime.MIN 开始，排除创建时间为空的记录
+        TransactionCursor lower = new TransactionCursor(from == null ? LocalDateTime.MIN : from, "");
+        if (to == null) {
+            return orderedIndex.tailMap(lower, true);
+        }
+        TransactionCursor upper = new TransactionCursor(to, "");
+        if (lower.compareTo(upper) >= 0) {
+            return new ConcurrentSkipListMap<>();
+        }
+        return orderedIndex.subMap(lower, true, upper, false);
+    }
+
+    // ---------- 时间桶计数 ----------
+
+    private void countBucket(TransactionCursor key, long delta) {
+        if (key.timestamp() != null) {
+            // 计数归零时返回null，移除空桶
+            bucketCounts.merge(bucketOf(key.timestamp()), delta, (count, d) -> count + d == 0 ? null : count + d);
+        }
+    }
+
+    private ConcurrentNavigableMap<Long, Long> overlappingBuckets(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            return new ConcurrentSkipListMap<>();
+        }
+        ConcurrentNavigableMap<Long, Long> buckets = from == null ? bucketCounts : bucketCounts.tailMap(bucketOf(from), true);
+        return to == null ? buckets : buckets.headMap(bucketOf(to), true);
+    }
+
+    /**
+     * 桶完全落在 [from, to) 内时直接返回计数，否则只遍历桶与范围的交集
+     */
+    private long countInBucket(long bucket, long count, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = bucketStart(bucket);
+        LocalDateTime end = bucketStart(bucket + 1);
+        boolean startsInside = from == null || !start.isBefore(from);
+        boolean endsInside = to == null || !end.isAfter(to);
+        if (startsInside && endsInside) {
+            return count;
+        }
+        return timeRange(startsInside ? start : from, endsInside ? end : to).size();
+    }
+
+    private static long bucketOf(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), TIME_BUCKET_SECONDS);
+    }
+
+    private static LocalDateTime bucketStart(long bucket) {
+        return LocalDateTime.ofEpochSecond(bucket * TIME_BUCKET_SECONDS, 0, ZoneOffset.UTC);
+    }
+
+    private void indexAccount(String accountId, TransactionCursor key, Transaction transaction) {
+        if (accountId == null) {
+            return;
+        }
+        accountIndex.compute(accountId, (id, account) -> {
+            AccountTransactions target = account == null ? new AccountTransactions() : account;
+            target.put(key, transaction);
+            return target;
+        });
+    }
+
+    private void unindexAccount(String accountId, TransactionCursor key) {
+        if (accountId == null) {
+            return;
+        }
+        // 在compute内判空并移除，避免与并发写入竞争时丢失索引
+        accountIndex.computeIfPresent(accountId, (id, account) -> {
+            account.remove(key);
+            return account.isEmpty() ? null : account;
+        });
+    }
+
+    /**
+     * 回放时以交易创建时间作为指纹写入时间，已超出去重窗口的记录回放后即视为过期
+     */
+    private long replayStamp(Transaction transaction) {
+        if (transaction.timestamp() == null) {
+            return clock.millis();
+        }
+        return transaction.timestamp().atZone(clock.getZone()).toInstant().toEpochMilli();
     }
 
-    private String generateHash(TransactionDto dto) {
-        return DigestUtils.md5DigestAsHex(
-                (dto.accountId() + dto.amount() + dto.type() + dto.description()).getBytes()
-        );
+    private ReentrantLock lockFor(String id) {
+        return locks[(id.hashCode() & 0x7fffffff) % LOCK_STRIPES];
     }
-}
\ No newline at end of file
+}
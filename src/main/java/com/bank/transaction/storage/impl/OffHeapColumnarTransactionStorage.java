@@ -0,0 +1,760 @@
+package com.bank.transaction.storage.impl;
+
+import com.bank.transaction.config.DedupProperties;
+import com.bank.transaction.config.OffHeapProperties;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.storage.PendingWrite;
+import com.bank.transaction.storage.TransactionCursor;
+import com.bank.transaction.storage.TransactionStorage;
+import com.bank.transaction.storage.dedup.Fingerprint;
+import com.bank.transaction.storage.dedup.FingerprintSet;
+import com.bank.transaction.storage.offheap.IntList;
+import com.bank.transaction.storage.offheap.OffHeapColumn;
+import com.bank.transaction.storage.offheap.StringDictionary;
+import com.bank.transaction.storage.offheap.TimeBucketIndex;
+import com.bank.transaction.storage.offheap.TransactionIdCodec;
+import com.bank.transaction.storage.wal.TransactionLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 堆外列式交易存储（transaction.storage.type=offheap）
+ * <p>
+ * 每个字段一列，存放在按块分配的堆外内存中：ID拆分为两个long，金额按最小单位存为long，
+ * 时间存为UTC毫秒，账户ID和描述做字典编码，交易类型存为byte。
+ * 堆上只保留字典、ID到行号的开放寻址索引、每个账户的行号列表和按时间分桶的行号索引，
+ * {@link Transaction} 对象仅在读取时构建。
+ * <p>
+ * 与 {@link InMemoryTransactionStorage} 的差异：
+ * <ul>
+ *     <li>金额按 amountScale 四舍五入，时间精度为毫秒</li>
+ *     <li>遍历顺序为写入顺序（近似创建时间顺序）</li>
+ *     <li>删除只标记行状态，行空间不回收</li>
+ *     <li>写操作由一把读写锁串行化，以换取更低的内存占用</li>
+ * </ul>
+ */
+@Repository
+@ConditionalOnProperty(name = "transaction.storage.type", havingValue = "offheap")
+public class OffHeapColumnarTransactionStorage implements TransactionStorage {
+    private static final byte FREE = 0;
+    private static final byte LIVE = 1;
+    private static final byte DELETED = 2;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final int ANY_ACCOUNT = -1;
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 列
+    private final OffHeapColumn idHis;
+    private final OffHeapColumn idLos;
+    private final OffHeapColumn amounts;
+    private final OffHeapColumn timestamps;
+    private final OffHeapColumn accounts;
+    private final OffHeapColumn descriptions;
+    private final OffHeapColumn types;
+    private final OffHeapColumn states;
+
+    // 堆上索引
+    private final TransactionIdCodec idCodec = new TransactionIdCodec();
+    private final StringDictionary accountDictionary = new StringDictionary();
+    private final StringDictionary descriptionDictionary = new StringDictionary();
+    private final List<IntList> accountRows = new ArrayList<>();
+    private final TimeBucketIndex timeIndex;
+    private int[] idIndex = new int[1024];
+    private final long[] writeKey = new long[2];
+
+    private final long amountFactor;
+    private final FingerprintSet fingerprints;
+    private final TransactionLog transactionLog;
+    private final Clock clock;
+    private int rows;
+    private int live;
+    // 只在写锁内递增，读取无需加锁
+    private volatile long generation;
+
+    @Autowired
+    public OffHeapColumnarTransactionStorage(TransactionLog transactionLog,
+                                             DedupProperties dedupProperties,
+                                             OffHeapProperties properties,
+                                             Clock clock) {
+        this.transactionLog = transactionLog;
+        this.clock = clock;
+        this.fingerprints = new FingerprintSet(dedupProperties.window());
+        this.amountFactor = (long) Math.pow(10, properties.amountScale());
+        this.timeIndex = new TimeBucketIndex(properties.timeBucket());
+        int chunkRows = properties.chunkRows();
+        this.idHis = new OffHeapColumn(Long.BYTES, chunkRows);
+        this.idLos = new OffHeapColumn(Long.BYTES, chunkRows);
+        this.amounts = new OffHeapColumn(Long.BYTES, chunkRows);
+        this.timestamps = new OffHeapColumn(Long.BYTES, chunkRows);
+        this.accounts = new OffHeapColumn(Integer.BYTES, chunkRows);
+        this.descriptions = new OffHeapColumn(Integer.BYTES, chunkRows);
+        this.types = new OffHeapColumn(Byte.BYTES, chunkRows);
+        this.states = new OffHeapColumn(Byte.BYTES, chunkRows);
+
+        transactionLog.replay(new TransactionLog.Replayer() {
+            @Override
+            public void onSave(Transaction transaction) {
+                applySave(transaction, replayStamp(transaction));
+            }
+
+            @Override
+            public void onDelete(String id) {
+                applyDelete(id);
+            }
+        });
+    }
+
+    /**
+     * @return 按存储精度还原后的记录（金额取整、时间截断到毫秒）
+     */
+    @Override
+    public PendingWrite<Transaction> saveDeferred(Transaction transaction) {
+        lock.writeLock().lock();
+        try {
+            long sequence = transactionLog.appendSave(transaction);
+            return new PendingWrite<>(read(applySave(transaction, clock.millis())), sequence);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public PendingWrite<List<Transaction>> saveAllDeferred(List<Transaction> transactions) {
+        long sequence = 0;
+        List<Transaction> stored = new ArrayList<>(transactions.size());
+        lock.writeLock().lock();
+        try {
+            long now = clock.millis();
+            for (Transaction transaction : transactions) {
+                sequence = transactionLog.appendSave(transaction);
+                stored.add(read(applySave(transaction, now)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new PendingWrite<>(stored, sequence);
+    }
+
+    @Override
+    public Optional<Transaction> findById(String id) {
+        lock.readLock().lock();
+        try {
+            int row = findLiveRow(id);
+            return row < 0 ? Optional.empty() : Optional.of(read(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Transaction> findAll(int page, int size) {
+        lock.readLock().lock();
+        try {
+            return scan(0, (long) page * size, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 游标所在行之后按写入顺序继续扫描；游标ID不存在时（如按时间构造的游标、其他节点的游标）
+     * 通过时间桶索引定位到游标时间，按（创建时间, ID）返回之后的记录，开销与游标之前的数据量无关
+     */
+    @Override
+    public List<Transaction> findAfter(TransactionCursor after, int size) {
+        lock.readLock().lock();
+        try {
+            if (after == null) {
+                return scan(0, 0, size);
+            }
+            int row = findRow(after.id());
+            if (row >= 0) {
+                return scan(row + 1, 0, size);
+            }
+            if (after.timestamp() == null) {
+                return scanAfter(new CursorBound(after), size);
+            }
+            return seekAfter(new CursorBound(after), Long.MAX_VALUE, ANY_ACCOUNT, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Transaction> findByAccount(String accountId, int page, int size) {
+        lock.readLock().lock();
+        try {
+            IntList rowsOfAccount = rowsOf(accountDictionary.lookup(accountId));
+            if (rowsOfAccount == null) {
+                return List.of();
+            }
+            List<Transaction> result = new ArrayList<>(size);
+            for (long i = (long) page * size; i < rowsOfAccount.size() && result.size() < size; i++) {
+                result.add(read(rowsOfAccount.get((int) i)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 账户行号列表按写入顺序保存，游标行之后的部分即为下一页；游标ID不存在时同 {@link #findAfter}，
+     * 按时间桶定位后只保留该账户的行
+     */
+    @Override
+    public List<Transaction> findByAccountAfter(String accountId, TransactionCursor after, int size) {
+        lock.readLock().lock();
+        try {
+            int accountCode = accountDictionary.lookup(accountId);
+            IntList rowsOfAccount = rowsOf(accountCode);
+            if (rowsOfAccount == null) {
+                return List.of();
+            }
+            int row = after == null ? -1 : findRow(after.id());
+            if (row < 0 && after != null && after.timestamp() != null) {
+                return seekAfter(new CursorBound(after), Long.MAX_VALUE, accountCode, size);
+            }
+            CursorBound bound = after != null && row < 0 ? new CursorBound(after) : null;
+            List<Transaction> result = new ArrayList<>(Math.min(size, rowsOfAccount.size()));
+            for (int i = rowsOfAccount.upperBound(row); i < rowsOfAccount.size() && result.size() < size; i++) {
+                int r = rowsOfAccount.get(i);
+                if (bound == null || isAfter(r, bound)) {
+                    result.add(read(r));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long countByAccount(String accountId) {
+        lock.readLock().lock();
+        try {
+            IntList rowsOfAccount = rowsOf(accountDictionary.lookup(accountId));
+            return rowsOfAccount == null ? 0 : rowsOfAccount.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 只访问与范围相交的时间桶：完全落在范围内的桶在跳过时只累加行数，
+     * 需要返回的桶和边界桶才读取行并按（创建时间, ID）排序
+     */
+    @Override
+    public List<Transaction> findByTimeRange(LocalDateTime from, LocalDateTime to, int page, int size) {
+        lock.readLock().lock();
+        try {
+            long fromMillis = lowerBoundMillis(from);
+            long toMillis = upperBoundMillis(to);
+            long skip = (long) page * size;
+            List<Transaction> result = new ArrayList<>(size);
+            for (Map.Entry<Long, IntList> bucket : timeIndex.overlapping(fromMillis, toMillis).entrySet()) {
+                IntList rowsInBucket = bucket.getValue();
+                if (skip >= rowsInBucket.size() && timeIndex.covers(bucket.getKey(), fromMillis, toMillis)) {
+                    skip -= rowsInBucket.size();
+                    continue;
+                }
+                List<Transaction> matched = readInRange(rowsInBucket, fromMillis, toMillis);
+                matched.sort(Comparator.comparing(TransactionCursor::of));
+                for (Transaction transaction : matched) {
+                    if (skip > 0) {
+                        skip--;
+                    } else if (result.size() < size) {
+                        result.add(transaction);
+                    } else {
+                        return result;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 从游标所在的时间桶开始按桶推进，桶内筛出游标之后的行按（创建时间, ID）排序，凑满一页即返回
+     */
+    @Override
+    public List<Transaction> findByTimeRangeAfter(TransactionCursor after, LocalDateTime to, int size) {
+        lock.readLock().lock();
+        try {
+            CursorBound bound = after == null || after.timestamp() == null ? null : new CursorBound(after);
+            return seekAfter(bound, upperBoundMillis(to), ANY_ACCOUNT, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 账户行号列表按写入顺序保存，无法在结束时间处截止，改为按时间桶推进并只保留该账户的行，
+     * 开销与范围内（所有账户）的行数有关，与账户在结束时间之后的记录数无关
+     */
+    @Override
+    public List<Transaction> findByAccountTimeRangeAfter(String accountId, TransactionCursor after, LocalDateTime to,
+                                                         int size) {
+        lock.readLock().lock();
+        try {
+            int accountCode = accountDictionary.lookup(accountId);
+            if (rowsOf(accountCode) == null) {
+                return List.of();
+            }
+            CursorBound bound = after == null || after.timestamp() == null ? null : new CursorBound(after);
+            return seekAfter(bound, upperBoundMillis(to), accountCode, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long countByTimeRange(LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            long fromMillis = lowerBoundMillis(from);
+            long toMillis = upperBoundMillis(to);
+            long count = 0;
+            for (Map.Entry<Long, IntList> bucket : timeIndex.overlapping(fromMillis, toMillis).entrySet()) {
+                IntList rowsInBucket = bucket.getValue();
+                if (timeIndex.covers(bucket.getKey(), fromMillis, toMillis)) {
+                    count += rowsInBucket.size();
+                    continue;
+                }
+                for (int i = 0; i < rowsInBucket.size(); i++) {
+                    long timestamp = timestamps.getLong(rowsInBucket.get(i));
+                    if (timestamp >= fromMillis && timestamp < toMillis) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long deleteDeferred(String id) {
+        lock.writeLock().lock();
+        try {
+            if (findLiveRow(id) < 0) {
+                return 0;
+            }
+            long sequence = transactionLog.appendDelete(id);
+            applyDelete(id);
+            return sequence;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        transactionLog.awaitDurable(sequence);
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long generation() {
+        return generation;
+    }
+
+    @Override
+    public boolean exists(TransactionDto dto) {
+        return fingerprints.contains(fingerprintOf(dto.accountId(), dto.amount(), dto.type(), dto.description()),
+                clock.millis());
+    }
+
+    @Override
+    public boolean reserve(TransactionDto dto) {
+        return fingerprints.add(fingerprintOf(dto.accountId(), dto.amount(), dto.type(), dto.description()),
+                clock.millis());
+    }
+
+    @Override
+    public void release(TransactionDto dto) {
+        fingerprints.remove(fingerprintOf(dto.accountId(), dto.amount(), dto.type(), dto.description()));
+    }
+
+    /**
+     * 已分配的堆外内存字节数
+     */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return idHis.allocatedBytes() + idLos.allocatedBytes() + amounts.allocatedBytes()
+                    + timestamps.allocatedBytes() + accounts.allocatedBytes() + descriptions.allocatedBytes()
+                    + types.allocatedBytes() + states.allocatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int applySave(Transaction transaction, long stamp) {
+        idCodec.encode(transaction.id(), writeKey);
+        int row = findRow(writeKey[0], writeKey[1]);
+        int accountCode = accountDictionary.encode(transaction.accountId());
+
+        long timestamp = toEpochMillis(transaction.timestamp());
+
+        if (row < 0) {
+            row = appendRow(writeKey[0], writeKey[1]);
+            addAccountRow(accountCode, row);
+            addTimeRow(timestamp, row);
+            live++;
+        } else if (states.getByte(row) == LIVE) {
+            int previousAccount = accounts.getInt(row);
+            long previousTimestamp = timestamps.getLong(row);
+            Fingerprint previousFingerprint = fingerprintOf(row);
+            if (previousAccount != accountCode) {
+                removeAccountRow(previousAccount, row);
+                addAccountRow(accountCode, row);
+            }
+            if (previousTimestamp != timestamp) {
+                removeTimeRow(previousTimestamp, row);
+                addTimeRow(timestamp, row);
+            }
+            fingerprints.remove(previousFingerprint);
+        } else {
+            addAccountRow(accountCode, row);
+            addTimeRow(timestamp, row);
+            live++;
+        }
+
+        amounts.putLong(row, toMinorUnits(transaction.amount()));
+        timestamps.putLong(row, timestamp);
+        accounts.putInt(row, accountCode);
+        descriptions.putInt(row, descriptionDictionary.encode(transaction.description()));
+        types.putByte(row, transaction.type() == null ? -1 : (byte) transaction.type().ordinal());
+        states.putByte(row, LIVE);
+        fingerprints.add(fingerprintOf(row), stamp);
+        generation++;
+        return row;
+    }
+
+    private void applyDelete(String id) {
+        int row = findLiveRow(id);
+        if (row < 0) {
+            return;
+        }
+        fingerprints.remove(fingerprintOf(row));
+        removeAccountRow(accounts.getInt(row), row);
+        removeTimeRow(timestamps.getLong(row), row);
+        states.putByte(row, DELETED);
+        live--;
+        generation++;
+    }
+
+    private List<Transaction> scan(int fromRow, long skip, int size) {
+        List<Transaction> result = new ArrayList<>(size);
+        for (int r = fromRow; r < rows && result.size() < size; r++) {
+            if (states.getByte(r) != LIVE) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(read(r));
+        }
+        return result;
+    }
+
+    /**
+     * 从游标所在的时间桶开始按桶推进，桶内筛出游标之后、toMillis之前（且属于指定账户）的行，
+     * 按（创建时间, ID）排序，凑满一页即返回
+     *
+     * @param bound       为null时从最早的桶开始
+     * @param accountCode 账户字典编码，{@link #ANY_ACCOUNT} 表示不限账户
+     */
+    private List<Transaction> seekAfter(CursorBound bound, long toMillis, int accountCode, int size) {
+        long fromMillis = bound == null ? NULL_TIMESTAMP + 1 : bound.millis;
+        List<Transaction> result = new ArrayList<>(size);
+        for (IntList rowsInBucket : timeIndex.overlapping(fromMillis, toMillis).values()) {
+            List<Transaction> matched = new ArrayList<>();
+            for (int i = 0; i < rowsInBucket.size(); i++) {
+                int row = rowsInBucket.get(i);
+                if (timestamps.getLong(row) < toMillis
+                        && (accountCode == ANY_ACCOUNT || accounts.getInt(row) == accountCode)
+                        && (bound == null || isAfter(row, bound))) {
+                    matched.add(read(row));
+                }
+            }
+            matched.sort(Comparator.comparing(TransactionCursor::of));
+            for (Transaction transaction : matched) {
+                if (result.size() == size) {
+                    return result;
+                }
+                result.add(transaction);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 创建时间为空的游标无法按时间定位（此类记录不进入时间桶索引），按写入顺序逐行比较
+     */
+    private List<Transaction> scanAfter(CursorBound bound, int size) {
+        List<Transaction> result = new ArrayList<>(size);
+        for (int r = 0; r < rows && result.size() < size; r++) {
+            if (states.getByte(r) == LIVE && isAfter(r, bound)) {
+                result.add(read(r));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按列判断行的（创建时间, ID）是否位于游标之后，只有毫秒时间与游标相同时才解码ID比较
+     */
+    private boolean isAfter(int row, CursorBound bound) {
+        long timestamp = timestamps.getLong(row);
+        if (timestamp != bound.millis) {
+            return timestamp > bound.millis;
+        }
+        // 游标带有亚毫秒部分时，同一毫秒的行（精度为毫秒）都早于游标
+        return bound.exactMillis
+                && idCodec.decode(idHis.getLong(row), idLos.getLong(row)).compareTo(bound.cursor.id()) > 0;
+    }
+
+    /**
+     * 游标时间换算为时间列的表示：截断到毫秒，并记录是否有被截掉的亚毫秒部分
+     */
+    private static final class CursorBound {
+        private final TransactionCursor cursor;
+        private final long millis;
+        private final boolean exactMillis;
+
+        CursorBound(TransactionCursor cursor) {
+            this.cursor = cursor;
+            this.millis = toEpochMillis(cursor.timestamp());
+            this.exactMillis = cursor.timestamp() == null || cursor.timestamp().getNano() % 1_000_000 == 0;
+        }
+    }
+
+    /**
+     * 回放时以交易创建时间作为指纹写入时间，与 {@link InMemoryTransactionStorage} 一致，
+     * 已超出去重窗口的记录回放后即视为过期
+     */
+    private long replayStamp(Transaction transaction) {
+        if (transaction.timestamp() == null) {
+            return clock.millis();
+        }
+        return transaction.timestamp().atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private Transaction read(int row) {
+        byte type = types.getByte(row);
+        return new Transaction(
+                idCodec.decode(idHis.getLong(row), idLos.getLong(row)),
+                accountDictionary.decode(accounts.getInt(row)),
+                fromMinorUnits(amounts.getLong(row)),
+                type < 0 ? null : TYPES[type],
+                fromEpochMillis(timestamps.getLong(row)),
+                descriptionDictionary.decode(descriptions.getInt(row))
+        );
+    }
+
+    private int appendRow(long hi, long lo) {
+        int row = rows;
+        idHis.ensureCapacity(row + 1L);
+        idLos.ensureCapacity(row + 1L);
+        amounts.ensureCapacity(row + 1L);
+        timestamps.ensureCapacity(row + 1L);
+        accounts.ensureCapacity(row + 1L);
+        descriptions.ensureCapacity(row + 1L);
+        types.ensureCapacity(row + 1L);
+        states.ensureCapacity(row + 1L);
+        idHis.putLong(row, hi);
+        idLos.putLong(row, lo);
+        states.putByte(row, FREE);
+        rows++;
+        if (rows * 2 > idIndex.length) {
+            rehashIdIndex(idIndex.length << 1);
+        }
+        insertIdIndex(row, hi, lo);
+        return row;
+    }
+
+    // ---------- ID -> 行号 开放寻址索引（保存 row + 1，0 表示空槽） ----------
+
+    private int findLiveRow(String id) {
+        int row = findRow(id);
+        return row >= 0 && states.getByte(row) == LIVE ? row : -1;
+    }
+
+    private int findRow(String id) {
+        long[] key = new long[2];
+        if (!idCodec.lookup(id, key)) {
+            return -1;
+        }
+        return findRow(key[0], key[1]);
+    }
+
+    private int findRow(long hi, long lo) {
+        int mask = idIndex.length - 1;
+        for (int i = slotOf(hi, lo, mask); idIndex[i] != 0; i = (i + 1) & mask) {
+            int row = idIndex[i] - 1;
+            if (idHis.getLong(row) == hi && idLos.getLong(row) == lo) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private void insertIdIndex(int row, long hi, long lo) {
+        int mask = idIndex.length - 1;
+        int i = slotOf(hi, lo, mask);
+        while (idIndex[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        idIndex[i] = row + 1;
+    }
+
+    private void rehashIdIndex(int capacity) {
+        idIndex = new int[capacity];
+        for (int row = 0; row < rows; row++) {
+            insertIdIndex(row, idHis.getLong(row), idLos.getLong(row));
+        }
+    }
+
+    private static int slotOf(long hi, long lo, int mask) {
+        long h = (hi * 0x9E3779B97F4A7C15L) ^ lo;
+        h ^= h >>> 29;
+        return (int) h & mask;
+    }
+
+    // ---------- 账户 -> 行号列表 ----------
+
+    private IntList rowsOf(int accountCode) {
+        return accountCode < 0 || accountCode >= accountRows.size() ? null : accountRows.get(accountCode);
+    }
+
+    private void addAccountRow(int accountCode, int row) {
+        if (accountCode < 0) {
+            return;
+        }
+        while (accountRows.size() <= accountCode) {
+            accountRows.add(new IntList());
+        }
+        accountRows.get(accountCode).insertSorted(row);
+    }
+
+    private void removeAccountRow(int accountCode, int row) {
+        IntList rowsOfAccount = rowsOf(accountCode);
+        if (rowsOfAccount != null) {
+            rowsOfAccount.removeValue(row);
+        }
+    }
+
+    // ---------- 时间桶 -> 行号列表 ----------
+
+    private void addTimeRow(long timestamp, int row) {
+        if (timestamp != NULL_TIMESTAMP) {
+            timeIndex.add(timestamp, row);
+        }
+    }
+
+    private void removeTimeRow(long timestamp, int row) {
+        if (timestamp != NULL_TIMESTAMP) {
+            timeIndex.remove(timestamp, row);
+        }
+    }
+
+    private List<Transaction> readInRange(IntList rowsInBucket, long fromMillis, long toMillis) {
+        List<Transaction> matched = new ArrayList<>(rowsInBucket.size());
+        for (int i = 0; i < rowsInBucket.size(); i++) {
+            int row = rowsInBucket.get(i);
+            long timestamp = timestamps.getLong(row);
+            if (timestamp >= fromMillis && timestamp < toMillis) {
+                matched.add(read(row));
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 存储精度为毫秒，毫秒时间 t 满足 t >= from 当且仅当 t >= from向上取整到毫秒，上界同理
+     */
+    private static long lowerBoundMillis(LocalDateTime from) {
+        return from == null ? NULL_TIMESTAMP + 1 : ceilEpochMillis(from);
+    }
+
+    private static long upperBoundMillis(LocalDateTime to) {
+        return to == null ? Long.MAX_VALUE : ceilEpochMillis(to);
+    }
+
+    private static long ceilEpochMillis(LocalDateTime timestamp) {
+        long millis = toEpochMillis(timestamp);
+        return timestamp.getNano() % 1_000_000 == 0 ? millis : millis + 1;
+    }
+
+    // ---------- 编码转换 ----------
+
+    /**
+     * 指纹基于落盘精度的金额计算，保证写入时和按行重算时一致
+     */
+    private Fingerprint fingerprintOf(String accountId, double amount, Transaction.TransactionType type,
+                                      String description) {
+        return Fingerprint.of(accountId, fromMinorUnits(toMinorUnits(amount)), type, description);
+    }
+
+    private Fingerprint fingerprintOf(int row) {
+        byte type = types.getByte(row);
+        return Fingerprint.of(
+                accountDictionary.decode(accounts.getInt(row)),
+                fromMinorUnits(amounts.getLong(row)),
+                type < 0 ? null : TYPES[type],
+                descriptionDictionary.decode(descriptions.getInt(row))
+        );
+    }
+
+    private long toMinorUnits(double amount) {
+        return Math.round(amount * amountFactor);
+    }
+
+    private double fromMinorUnits(long minorUnits) {
+        return (double) minorUnits / amountFactor;
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return NULL_TIMESTAMP;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1000 + timestamp.getNano() / 1_000_000;
+    }
+
+    private static LocalDateTime fromEpochMillis(long epochMillis) {
+        if (epochMillis == NULL_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+                (int) Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,68 @@
+package com.bank.transaction.storage.offheap;
+
+import java.util.Arrays;
+
+/**
+ * 可增长的int数组，用于保存账户和时间桶的行号列表
+ */
+public final class IntList {
+    private int[] values = new int[8];
+    private int size;
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * 按升序插入，适用于保存有序行号；大于末尾元素时等价于追加
+     */
+    public void insertSorted(int value) {
+        if (size == 0 || values[size - 1] < value) {
+            add(value);
+            return;
+        }
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        System.arraycopy(values, position, values, position + 1, size - position);
+        values[position] = value;
+        size++;
+    }
+
+    /**
+     * 在升序列表中删除value，保持其余元素顺序
+     */
+    public boolean removeValue(int value) {
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * 在升序列表中返回第一个大于value的元素下标
+     */
+    public int upperBound(int value) {
+        int position = Arrays.binarySearch(values, 0, size, value);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,106 @@
+package com.bank.transaction.storage.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * 定长列，按块分配在堆外（direct ByteBuffer）
+ * 第一块从 INITIAL_ROWS 行起按倍数扩容（复制）到整块大小，之后按整块追加，少量数据不会一次占用整块内存。
+ * 非线程安全，由所属存储的读写锁保护
+ */
+public final class OffHeapColumn {
+    static final int INITIAL_ROWS = 1024;
+
+    private final int width;
+    private final int chunkShift;
+    private final int chunkMask;
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    // 已分配的行数
+    private long capacity;
+
+    /**
+     * @param width     单个值占用的字节数（1/4/8）
+     * @param chunkRows 每块行数，必须是2的幂
+     */
+    public OffHeapColumn(int width, int chunkRows) {
+        if (Integer.bitCount(chunkRows) != 1) {
+            throw new IllegalArgumentException("chunkRows must be a power of two: " + chunkRows);
+        }
+        this.width = width;
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkRows);
+        this.chunkMask = chunkRows - 1;
+    }
+
+    public void ensureCapacity(long rows) {
+        if (rows <= capacity) {
+            return;
+        }
+        int chunkRows = chunkMask + 1;
+        if (capacity < chunkRows) {
+            long first = Math.min(chunkRows, Math.max(INITIAL_ROWS, Long.highestOneBit(rows - 1) << 1));
+            growFirstChunk((int) first);
+            if (rows <= capacity) {
+                return;
+            }
+        }
+        int required = (int) ((rows + chunkMask) >>> chunkShift);
+        ByteBuffer[] grown = Arrays.copyOf(chunks, required);
+        for (int i = chunks.length; i < required; i++) {
+            grown[i] = allocate(chunkRows);
+        }
+        chunks = grown;
+        capacity = (long) required << chunkShift;
+    }
+
+    private void growFirstChunk(int rows) {
+        ByteBuffer first = allocate(rows);
+        if (chunks.length == 0) {
+            chunks = new ByteBuffer[]{first};
+        } else {
+            first.put(0, chunks[0], 0, chunks[0].capacity());
+            chunks[0] = first;
+        }
+        capacity = rows;
+    }
+
+    private ByteBuffer allocate(int rows) {
+        return ByteBuffer.allocateDirect(width * rows).order(ByteOrder.nativeOrder());
+    }
+
+    public long getLong(int row) {
+        return chunk(row).getLong(offset(row));
+    }
+
+    public void putLong(int row, long value) {
+        chunk(row).putLong(offset(row), value);
+    }
+
+    public int getInt(int row) {
+        return chunk(row).getInt(offset(row));
+    }
+
+    public void putInt(int row, int value) {
+        chunk(row).putInt(offset(row), value);
+    }
+
+    public byte getByte(int row) {
+        return chunk(row).get(offset(row));
+    }
+
+    public void putByte(int row, byte value) {
+        chunk(row).put(offset(row), value);
+    }
+
+    public long allocatedBytes() {
+        return capacity * width;
+    }
+
+    private ByteBuffer chunk(int row) {
+        return chunks[row >>> chunkShift];
+    }
+
+    private int offset(int row) {
+        return (row & chunkMask) * width;
+    }
+}
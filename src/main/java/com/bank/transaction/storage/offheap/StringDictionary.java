@@ -0,0 +1,51 @@
+package com.bank.transaction.storage.offheap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 字符串字典编码，重复出现的账户ID、描述等只保存一份
+ * 非线程安全，由所属存储的读写锁保护
+ */
+public final class StringDictionary {
+    public static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[256];
+
+    public int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        int next = codes.size();
+        if (next == values.length) {
+            values = Arrays.copyOf(values, next << 1);
+        }
+        values[next] = value;
+        codes.put(value, next);
+        return next;
+    }
+
+    /**
+     * 只查询不新增
+     *
+     * @return 字典中不存在时返回 {@link #NULL_CODE}
+     */
+    public int lookup(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NULL_CODE : code;
+    }
+
+    public String decode(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    public int size() {
+        return codes.size();
+    }
+}
@@ -0,0 +1,61 @@
+package com.bank.transaction.storage.offheap;
+
+import java.time.Duration;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 按时间分桶的行号索引
+ * <p>
+ * 以UTC毫秒时间戳按固定宽度分桶，桶号 -> 该桶内的行号（升序）。范围查询只访问与范围相交的桶，
+ * 完全落在范围内的桶无需读取行即可计数或整体跳过。非线程安全，由存储的读写锁保护。
+ */
+public final class TimeBucketIndex {
+    private final long bucketMillis;
+    private final NavigableMap<Long, IntList> buckets = new TreeMap<>();
+
+    public TimeBucketIndex(Duration bucketWidth) {
+        if (bucketWidth.toMillis() <= 0) {
+            throw new IllegalArgumentException("bucket width must be at least 1ms: " + bucketWidth);
+        }
+        this.bucketMillis = bucketWidth.toMillis();
+    }
+
+    public void add(long epochMillis, int row) {
+        buckets.computeIfAbsent(bucketOf(epochMillis), bucket -> new IntList()).insertSorted(row);
+    }
+
+    public void remove(long epochMillis, int row) {
+        long bucket = bucketOf(epochMillis);
+        IntList rows = buckets.get(bucket);
+        if (rows != null && rows.removeValue(row) && rows.size() == 0) {
+            buckets.remove(bucket);
+        }
+    }
+
+    /**
+     * 与 [fromMillis, toMillis) 相交的桶，按时间升序；范围为空时返回空视图
+     */
+    public NavigableMap<Long, IntList> overlapping(long fromMillis, long toMillis) {
+        if (fromMillis >= toMillis) {
+            return new TreeMap<>();
+        }
+        return buckets.subMap(bucketOf(fromMillis), true, bucketOf(toMillis - 1), true);
+    }
+
+    /**
+     * 桶是否完全落在 [fromMillis, toMillis) 内，此时桶内所有行都命中范围
+     */
+    public boolean covers(long bucket, long fromMillis, long toMillis) {
+        long start = bucket * bucketMillis;
+        return start >= fromMillis && start <= toMillis - bucketMillis;
+    }
+
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    private long bucketOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis);
+    }
+}
@@ -0,0 +1,91 @@
+package com.bank.transaction.storage.offheap;
+
+import com.bank.transaction.model.TransactionIds;
+
+import java.util.UUID;
+
+/**
+ * 交易ID与两个long之间的编解码
+ * <ul>
+ *     <li>紧凑ID（13位Base32）还原为long，hi固定为 {@link #COMPACT_TAG}，lo为数值</li>
+ *     <li>UUID（版本4）直接拆分为高低64位</li>
+ *     <li>其他格式的ID放入字典，hi固定为 {@link #DICTIONARY_TAG}，lo为字典编码</li>
+ * </ul>
+ * 版本4 UUID的高位第12-15比特恒为4，因此不会与两个标记冲突。
+ */
+public final class TransactionIdCodec {
+    static final long DICTIONARY_TAG = -1L;
+    static final long COMPACT_TAG = 0L;
+
+    private final StringDictionary dictionary = new StringDictionary();
+
+    /**
+     * 编码ID，必要时写入字典（需持有写锁）
+     *
+     * @param out 长度为2的数组，依次写入hi、lo
+     */
+    public void encode(String id, long[] out) {
+        if (encodeCompact(id, out)) {
+            return;
+        }
+        UUID uuid = parseUuid(id);
+        if (uuid != null) {
+            out[0] = uuid.getMostSignificantBits();
+            out[1] = uuid.getLeastSignificantBits();
+        } else {
+            out[0] = DICTIONARY_TAG;
+            out[1] = dictionary.encode(id);
+        }
+    }
+
+    /**
+     * 只查询不写入字典（持有读锁即可）
+     *
+     * @return ID可能存在时返回true；非UUID且不在字典中时返回false
+     */
+    public boolean lookup(String id, long[] out) {
+        if (encodeCompact(id, out)) {
+            return true;
+        }
+        UUID uuid = parseUuid(id);
+        if (uuid != null) {
+            out[0] = uuid.getMostSignificantBits();
+            out[1] = uuid.getLeastSignificantBits();
+            return true;
+        }
+        int code = dictionary.lookup(id);
+        out[0] = DICTIONARY_TAG;
+        out[1] = code;
+        return code != StringDictionary.NULL_CODE;
+    }
+
+    public String decode(long hi, long lo) {
+        if (hi == COMPACT_TAG) {
+            return TransactionIds.formatCompact(lo);
+        }
+        return hi == DICTIONARY_TAG ? dictionary.decode((int) lo) : new UUID(hi, lo).toString();
+    }
+
+    private static boolean encodeCompact(String id, long[] out) {
+        long value = TransactionIds.parseCompact(id);
+        if (value < 0) {
+            return false;
+        }
+        out[0] = COMPACT_TAG;
+        out[1] = value;
+        return true;
+    }
+
+    private static UUID parseUuid(String id) {
+        if (id.length() != 36 || id.charAt(14) != '4') {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            // 只接受规范小写格式，保证解码后与原ID完全一致
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
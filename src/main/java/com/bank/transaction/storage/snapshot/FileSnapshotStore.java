@@ -0,0 +1,148 @@
+package com.bank.transaction.storage.snapshot;
+
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.storage.dedup.FingerprintSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 基于文件的快照存储
+ * <p>
+ * 每个快照一个文件（snapshot-0000000000000003.snap，序号为WAL纪元），先写临时文件并落盘，
+ * 再原子重命名，因此目录中只会出现完整的快照。加载时以只读方式映射文件，校验通过后再解码。
+ * 保留最近 retain 个快照，最新快照损坏时可回退到上一个。
+ */
+public class FileSnapshotStore implements SnapshotStore {
+    private static final Logger log = LoggerFactory.getLogger(FileSnapshotStore.class);
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final int retain;
+
+    public FileSnapshotStore(Path directory, int retain) {
+        this.directory = directory;
+        this.retain = Math.max(1, retain);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create snapshot directory " + directory, e);
+        }
+    }
+
+    @Override
+    public long load(Loader loader) {
+        List<Path> snapshots = listSnapshots().reversed();
+        for (Path path : snapshots) {
+            long started = System.nanoTime();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    log.warn("Skipping snapshot larger than 2GB: {}", path);
+                    continue;
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                long epoch = SnapshotCodec.read(buffer, loader);
+                if (epoch < 0) {
+                    log.warn("Skipping corrupt snapshot: {}", path);
+                    continue;
+                }
+                log.info("Loaded snapshot {} ({} bytes) in {} ms", path, channel.size(),
+                        (System.nanoTime() - started) / 1_000_000);
+                return epoch;
+            } catch (IOException e) {
+                log.warn("Failed to read snapshot {}", path, e);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void write(long epoch, long nowMillis, FingerprintSet fingerprints, Iterable<Transaction> transactions) {
+        Path target = directory.resolve(nameOf(epoch));
+        Path temp = directory.resolve(nameOf(epoch) + TEMP_SUFFIX);
+        long started = System.nanoTime();
+        long count;
+        try (SnapshotCodec.Writer writer = new SnapshotCodec.Writer(FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE),
+                epoch, nowMillis)) {
+            // 指纹写在交易之前，加载时先恢复指纹的原始写入时间
+            IOException[] error = new IOException[1];
+            fingerprints.forEach(nowMillis, (hi, lo, stamp) -> {
+                if (error[0] == null) {
+                    try {
+                        writer.writeFingerprint(hi, lo, stamp);
+                    } catch (IOException e) {
+                        error[0] = e;
+                    }
+                }
+            });
+            if (error[0] != null) {
+                throw error[0];
+            }
+            for (Transaction transaction : transactions) {
+                writer.writeTransaction(transaction);
+            }
+            writer.finish();
+            count = writer.transactionCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write snapshot " + target, e);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to publish snapshot " + target, e);
+        }
+        log.info("Wrote snapshot {} with {} transactions in {} ms", target, count,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public long prune() {
+        List<Path> snapshots = listSnapshots();
+        int remove = Math.max(0, snapshots.size() - retain);
+        for (int i = 0; i < remove; i++) {
+            try {
+                Files.deleteIfExists(snapshots.get(i));
+            } catch (IOException e) {
+                log.warn("Failed to delete snapshot {}", snapshots.get(i), e);
+            }
+        }
+        return snapshots.size() > remove ? epochOf(snapshots.get(remove)) : 0;
+    }
+
+    private List<Path> listSnapshots() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list snapshots in " + directory, e);
+        }
+    }
+
+    private static String nameOf(long epoch) {
+        return String.format("%s%016d%s", PREFIX, epoch, SUFFIX);
+    }
+
+    private static long epochOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.transaction.storage.snapshot;
+
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.storage.dedup.FingerprintSet;
+
+final class NoopSnapshotStore implements SnapshotStore {
+    static final NoopSnapshotStore INSTANCE = new NoopSnapshotStore();
+
+    private NoopSnapshotStore() {
+    }
+
+    @Override
+    public long load(Loader loader) {
+        return 0;
+    }
+
+    @Override
+    public void write(long epoch, long nowMillis, FingerprintSet fingerprints, Iterable<Transaction> transactions) {
+    }
+
+    @Override
+    public long prune() {
+        return 0;
+    }
+}
@@ -0,0 +1,314 @@
+package com.bank.transaction.storage.snapshot;
+
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.model.TransactionIds;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * 快照文件编解码
+ * <pre>
+ * [int MAGIC][byte VERSION][long 纪元][long 快照时间]
+ * 条目序列：[byte 1][long hi][long lo][varlong 快照时间-写入时间]       指纹
+ *          [byte 2][byte 标志][ID][账户][时间][金额][描述]              交易
+ *          [byte 0][varlong 指纹数][varlong 交易数]                    结束
+ * [int CRC32C（覆盖之前的全部字节）]
+ * </pre>
+ * 交易按（时间, ID）顺序写入，时间秒数与上一条做差后按zigzag变长编码；
+ * 账户ID和描述使用随文件增长的字典，首次出现时内联字符串，之后只写编号；
+ * 紧凑ID写为一个long，规范格式的UUID写为两个long，可精确表示为"分"的金额写为变长整数。
+ */
+final class SnapshotCodec {
+    static final int MAGIC = 0x534E5031; // "SNP1"
+    static final byte VERSION = 1;
+
+    private static final byte TAG_END = 0;
+    private static final byte TAG_FINGERPRINT = 1;
+    private static final byte TAG_TRANSACTION = 2;
+
+    private static final int FLAG_UUID = 1;
+    private static final int FLAG_TIMESTAMP = 1 << 1;
+    private static final int FLAG_CENTS = 1 << 2;
+    private static final int FLAG_COMPACT_ID = 1 << 3;
+    private static final int TYPE_SHIFT = 4;
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+    // 2^53，超过该值的金额乘以100后不再能精确表示
+    private static final double MAX_EXACT_CENTS = 9007199254740992.0;
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * 顺序写入快照，边写边计算校验和
+     */
+    static final class Writer implements AutoCloseable {
+        private static final int BUFFER_SIZE = 1 << 20;
+        // 单个基本字段编码后的最大字节数
+        private static final int MAX_FIELD_SIZE = 32;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CRC32C crc = new CRC32C();
+        private final Map<String, Integer> accounts = new HashMap<>();
+        private final Map<String, Integer> descriptions = new HashMap<>();
+        private final long nowMillis;
+        private long previousSecond;
+        private long fingerprintCount;
+        private long transactionCount;
+
+        Writer(FileChannel channel, long epoch, long nowMillis) throws IOException {
+            this.channel = channel;
+            this.nowMillis = nowMillis;
+            ensure(MAX_FIELD_SIZE);
+            buffer.putInt(MAGIC).put(VERSION).putLong(epoch).putLong(nowMillis);
+        }
+
+        void writeFingerprint(long hi, long lo, long stampMillis) throws IOException {
+            ensure(MAX_FIELD_SIZE);
+            buffer.put(TAG_FINGERPRINT).putLong(hi).putLong(lo);
+            putVarLong(zigzag(nowMillis - stampMillis));
+            fingerprintCount++;
+        }
+
+        void writeTransaction(Transaction transaction) throws IOException {
+            long compactId = TransactionIds.parseCompact(transaction.id());
+            UUID uuid = compactId < 0 ? parseUuid(transaction.id()) : null;
+            LocalDateTime timestamp = transaction.timestamp();
+            double cents = transaction.amount() * 100;
+            boolean exactCents = Math.abs(cents) < MAX_EXACT_CENTS && Math.rint(cents) / 100 == transaction.amount();
+            int flags = (uuid != null ? FLAG_UUID : 0)
+                    | (compactId >= 0 ? FLAG_COMPACT_ID : 0)
+                    | (timestamp != null ? FLAG_TIMESTAMP : 0)
+                    | (exactCents ? FLAG_CENTS : 0)
+                    | (transaction.type() == null ? 0 : transaction.type().ordinal() + 1) << TYPE_SHIFT;
+
+            ensure(MAX_FIELD_SIZE);
+            buffer.put(TAG_TRANSACTION).put((byte) flags);
+            if (compactId >= 0) {
+                buffer.putLong(compactId);
+            } else if (uuid != null) {
+                buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+            } else {
+                putString(transaction.id());
+            }
+            putDictionary(accounts, transaction.accountId());
+            if (timestamp != null) {
+                long second = timestamp.toEpochSecond(ZoneOffset.UTC);
+                ensure(MAX_FIELD_SIZE);
+                putVarLong(zigzag(second - previousSecond));
+                putVarLong(timestamp.getNano());
+                previousSecond = second;
+            }
+            ensure(MAX_FIELD_SIZE);
+            if (exactCents) {
+                putVarLong(zigzag((long) Math.rint(cents)));
+            } else {
+                buffer.putLong(Double.doubleToRawLongBits(transaction.amount()));
+            }
+            putDictionary(descriptions, transaction.description());
+            transactionCount++;
+        }
+
+        /**
+         * 写入结束标记和校验和，并强制落盘
+         */
+        void finish() throws IOException {
+            ensure(MAX_FIELD_SIZE);
+            buffer.put(TAG_END);
+            putVarLong(fingerprintCount);
+            putVarLong(transactionCount);
+            drain();
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            channel.force(true);
+        }
+
+        long transactionCount() {
+            return transactionCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private void putDictionary(Map<String, Integer> dictionary, String value) throws IOException {
+            ensure(MAX_FIELD_SIZE);
+            if (value == null) {
+                putVarLong(0);
+                return;
+            }
+            Integer code = dictionary.get(value);
+            if (code != null) {
+                putVarLong(code);
+                return;
+            }
+            code = dictionary.size() + 1;
+            dictionary.put(value, code);
+            putVarLong(code);
+            putString(value);
+        }
+
+        private void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(MAX_FIELD_SIZE);
+            putVarLong(bytes.length);
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        private void putVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 校验并解码整个快照
+     *
+     * @return 快照纪元；格式或校验和不正确时返回-1，此时不会回调 loader
+     */
+    static long read(ByteBuffer buffer, SnapshotStore.Loader loader) {
+        int size = buffer.limit();
+        if (size < 4 + 1 + 16 + 4 || buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, size - 4));
+        if ((int) crc.getValue() != buffer.getInt(size - 4)) {
+            return -1;
+        }
+
+        buffer.position(5);
+        long epoch = buffer.getLong();
+        long nowMillis = buffer.getLong();
+        List<String> accounts = new ArrayList<>();
+        List<String> descriptions = new ArrayList<>();
+        long previousSecond = 0;
+        while (true) {
+            byte tag = buffer.get();
+            if (tag == TAG_END) {
+                return epoch;
+            }
+            if (tag == TAG_FINGERPRINT) {
+                long hi = buffer.getLong();
+                long lo = buffer.getLong();
+                loader.onFingerprint(hi, lo, nowMillis - unzigzag(getVarLong(buffer)));
+                continue;
+            }
+            int flags = buffer.get() & 0xFF;
+            String id;
+            if ((flags & FLAG_COMPACT_ID) != 0) {
+                id = TransactionIds.formatCompact(buffer.getLong());
+            } else if ((flags & FLAG_UUID) != 0) {
+                id = new UUID(buffer.getLong(), buffer.getLong()).toString();
+            } else {
+                id = getString(buffer);
+            }
+            String accountId = getDictionary(buffer, accounts);
+            LocalDateTime timestamp = null;
+            if ((flags & FLAG_TIMESTAMP) != 0) {
+                previousSecond += unzigzag(getVarLong(buffer));
+                timestamp = LocalDateTime.ofEpochSecond(previousSecond, (int) getVarLong(buffer), ZoneOffset.UTC);
+            }
+            double amount = (flags & FLAG_CENTS) != 0
+                    ? unzigzag(getVarLong(buffer)) / 100.0
+                    : Double.longBitsToDouble(buffer.getLong());
+            int type = flags >>> TYPE_SHIFT;
+            String description = getDictionary(buffer, descriptions);
+            loader.onTransaction(new Transaction(id, accountId, amount, type == 0 ? null : TYPES[type - 1],
+                    timestamp, description));
+        }
+    }
+
+    private static String getDictionary(ByteBuffer buffer, List<String> dictionary) {
+        int code = (int) getVarLong(buffer);
+        if (code == 0) {
+            return null;
+        }
+        if (code <= dictionary.size()) {
+            return dictionary.get(code - 1);
+        }
+        String value = getString(buffer);
+        dictionary.add(value);
+        return value;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[(int) getVarLong(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static UUID parseUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            // 只接受规范小写格式，保证解码后与原ID完全一致
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.transaction.storage.snapshot;
+
+import com.bank.transaction.config.SnapshotProperties;
+import com.bank.transaction.storage.impl.InMemoryTransactionStorage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定期为内存存储写入快照，停机时再写一次，使下次启动只需回放很短的日志尾部
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.storage.snapshot.enabled", havingValue = "true")
+public class SnapshotScheduler {
+    private static final Logger log = LoggerFactory.getLogger(SnapshotScheduler.class);
+
+    private final InMemoryTransactionStorage storage;
+    private final SnapshotProperties properties;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long snapshotGeneration = -1;
+
+    @Autowired
+    public SnapshotScheduler(ObjectProvider<InMemoryTransactionStorage> storage, SnapshotProperties properties) {
+        this.storage = storage.getIfAvailable();
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (storage == null) {
+            log.warn("Snapshots are only supported by the in-memory storage, ignoring transaction.storage.snapshot");
+            return;
+        }
+        long interval = properties.interval().toMillis();
+        executor.scheduleWithFixedDelay(this::snapshotIfChanged, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        if (storage != null && properties.onShutdown()) {
+            snapshotIfChanged();
+        }
+    }
+
+    /**
+     * 自上次快照以来没有写入时跳过
+     */
+    void snapshotIfChanged() {
+        long generation = storage.generation();
+        if (generation == snapshotGeneration) {
+            return;
+        }
+        try {
+            storage.snapshot();
+            snapshotGeneration = generation;
+        } catch (RuntimeException e) {
+            log.error("Failed to write snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.transaction.storage.snapshot;
+
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.storage.dedup.FingerprintSet;
+
+/**
+ * 存储快照
+ * 快照记录某个WAL纪元时的全量数据，启动时加载最新快照后只需回放该纪元之后的日志
+ */
+public interface SnapshotStore {
+
+    /**
+     * 加载最新的有效快照，损坏的快照会被跳过并尝试更早的快照
+     *
+     * @return 快照对应的WAL纪元，需从该纪元开始回放；没有可用快照时返回0
+     */
+    long load(Loader loader);
+
+    /**
+     * 写入快照
+     *
+     * @param epoch        快照对应的WAL纪元
+     * @param nowMillis    快照时间，早于去重窗口的指纹不写入
+     * @param fingerprints 去重指纹
+     * @param transactions 全部交易记录，可以是弱一致的并发遍历
+     */
+    void write(long epoch, long nowMillis, FingerprintSet fingerprints, Iterable<Transaction> transactions);
+
+    /**
+     * 只保留最新的若干个快照
+     *
+     * @return 仍被保留的最早快照的纪元，早于该纪元的日志可以删除；没有快照时返回0
+     */
+    long prune();
+
+    interface Loader {
+        void onFingerprint(long hi, long lo, long stampMillis);
+
+        void onTransaction(Transaction transaction);
+    }
+
+    /**
+     * 不保存快照的空实现，未开启快照时使用
+     */
+    static SnapshotStore none() {
+        return NoopSnapshotStore.INSTANCE;
+    }
+}
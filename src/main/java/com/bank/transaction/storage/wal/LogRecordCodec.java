@@ -0,0 +1,140 @@
+package com.bank.transaction.storage.wal;
+
+import com.bank.transaction.model.Transaction;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * WAL记录编解码
+ * 记录格式：[int 负载长度][int CRC32C][负载]，负载首字节为操作类型
+ */
+final class LogRecordCodec {
+    static final int HEADER_SIZE = 8;
+
+    private static final byte OP_SAVE = 1;
+    private static final byte OP_DELETE = 2;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private LogRecordCodec() {
+    }
+
+    static byte[] encodeSave(Transaction transaction) {
+        byte[] id = utf8(transaction.id());
+        byte[] accountId = utf8(transaction.accountId());
+        byte[] description = utf8(transaction.description());
+        int payloadLength = 1 + sizeOf(id) + sizeOf(accountId) + 8 + 1 + 8 + 4 + sizeOf(description);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadLength);
+        buffer.position(HEADER_SIZE);
+        buffer.put(OP_SAVE);
+        putString(buffer, id);
+        putString(buffer, accountId);
+        buffer.putLong(Double.doubleToRawLongBits(transaction.amount()));
+        buffer.put(transaction.type() == null ? -1 : (byte) transaction.type().ordinal());
+        LocalDateTime timestamp = transaction.timestamp();
+        if (timestamp == null) {
+            buffer.putLong(NULL_TIMESTAMP).putInt(0);
+        } else {
+            buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC)).putInt(timestamp.getNano());
+        }
+        putString(buffer, description);
+        return seal(buffer, payloadLength);
+    }
+
+    static byte[] encodeDelete(String id) {
+        byte[] idBytes = utf8(id);
+        int payloadLength = 1 + sizeOf(idBytes);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadLength);
+        buffer.position(HEADER_SIZE);
+        buffer.put(OP_DELETE);
+        putString(buffer, idBytes);
+        return seal(buffer, payloadLength);
+    }
+
+    /**
+     * 从当前位置解码一条记录并分发给回放器
+     *
+     * @return 是否成功解码；遇到空白区域、截断或校验失败时返回false
+     */
+    static boolean decode(ByteBuffer buffer, TransactionLog.Replayer replayer) {
+        if (buffer.remaining() < HEADER_SIZE) {
+            return false;
+        }
+        int payloadLength = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (payloadLength <= 0 || payloadLength > buffer.remaining()) {
+            return false;
+        }
+        ByteBuffer payload = buffer.slice(buffer.position(), payloadLength);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return false;
+        }
+        buffer.position(buffer.position() + payloadLength);
+
+        byte op = payload.get();
+        if (op == OP_SAVE) {
+            String id = getString(payload);
+            String accountId = getString(payload);
+            double amount = Double.longBitsToDouble(payload.getLong());
+            byte type = payload.get();
+            long epochSecond = payload.getLong();
+            int nano = payload.getInt();
+            String description = getString(payload);
+            replayer.onSave(new Transaction(
+                    id,
+                    accountId,
+                    amount,
+                    type < 0 ? null : Transaction.TransactionType.values()[type],
+                    epochSecond == NULL_TIMESTAMP ? null : LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC),
+                    description
+            ));
+            return true;
+        }
+        if (op == OP_DELETE) {
+            replayer.onDelete(getString(payload));
+            return true;
+        }
+        return false;
+    }
+
+    private static byte[] seal(ByteBuffer buffer, int payloadLength) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_SIZE, payloadLength);
+        buffer.putInt(0, payloadLength);
+        buffer.putInt(4, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] value) {
+        return 4 + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,296 @@
+package com.bank.transaction.storage.wal;
+
+import com.bank.transaction.model.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 基于内存映射文件的追加写WAL
+ * <p>
+ * 日志按固定大小切分为段文件（wal-0000000000000001.log），记录直接写入映射内存；
+ * 后台刷盘线程按组提交策略调用 force()：累计 groupCommitRecords 条记录或距首条未刷盘记录超过
+ * groupCommitInterval 时统一落盘，调用方通过 {@link #awaitDurable(long)} 等待所在批次完成。
+ * 每次启动都会新建一个段用于追加，旧段只用于回放。
+ * <p>
+ * 段序号即纪元：{@link #checkpoint()} 切换到新段并返回其序号，快照完成后
+ * 通过 {@link #truncateBefore(long)} 删除已被覆盖的旧段。
+ */
+public class MappedWriteAheadLog implements TransactionLog {
+    private static final Logger log = LoggerFactory.getLogger(MappedWriteAheadLog.class);
+
+    private static final int SEGMENT_MAGIC = 0x57414C31; // "WAL1"
+    private static final int SEGMENT_HEADER_SIZE = 4;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int groupCommitRecords;
+    private final long groupCommitIntervalNanos;
+    private final List<Path> replaySegments;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private final Thread flusher;
+
+    private long segmentIndex;
+    private MappedByteBuffer segment;
+    private long appendedSequence;
+    private long durableSequence;
+    private boolean closed;
+    private UncheckedIOException failure;
+
+    public MappedWriteAheadLog(Path directory, int segmentSize, int groupCommitRecords, Duration groupCommitInterval) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.groupCommitRecords = Math.max(1, groupCommitRecords);
+        this.groupCommitIntervalNanos = groupCommitInterval.toNanos();
+        try {
+            Files.createDirectories(directory);
+            this.replaySegments = listSegments(directory);
+            this.segmentIndex = replaySegments.isEmpty() ? 0 : indexOf(replaySegments.get(replaySegments.size() - 1));
+            this.segment = openSegment(++segmentIndex);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open write-ahead log in " + directory, e);
+        }
+        this.flusher = Thread.ofPlatform().name("wal-flusher").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public long appendSave(Transaction transaction) {
+        return append(LogRecordCodec.encodeSave(transaction));
+    }
+
+    @Override
+    public long appendDelete(String id) {
+        return append(LogRecordCodec.encodeDelete(id));
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw failure;
+                }
+                durable.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void replay(Replayer replayer, long fromEpoch) {
+        long records = 0;
+        int segments = 0;
+        for (Path path : replaySegments) {
+            if (indexOf(path) < fromEpoch) {
+                continue;
+            }
+            segments++;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.remaining() < SEGMENT_HEADER_SIZE || buffer.getInt() != SEGMENT_MAGIC) {
+                    log.warn("Skipping WAL segment with invalid header: {}", path);
+                    continue;
+                }
+                while (LogRecordCodec.decode(buffer, replayer)) {
+                    records++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to replay WAL segment " + path, e);
+            }
+        }
+        log.info("Replayed {} WAL records from {} segments in {}", records, segments, directory);
+    }
+
+    @Override
+    public long checkpoint() {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            rollSegment();
+            return segmentIndex;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void truncateBefore(long epoch) {
+        try {
+            for (Path path : listSegments(directory)) {
+                if (indexOf(path) < epoch) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete WAL segments before epoch {} in {}", epoch, directory, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            segment.force();
+            durableSequence = appendedSequence;
+            durable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long append(byte[] record) {
+        if (record.length > segmentSize - SEGMENT_HEADER_SIZE) {
+            throw new IllegalArgumentException("WAL record of " + record.length + " bytes exceeds segment size");
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (segment.remaining() < record.length) {
+                rollSegment();
+            }
+            segment.put(record);
+            appendedSequence++;
+            pending.signal();
+            return appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前段写满时同步刷盘并切换到新段，调用方需持有锁
+     */
+    private void rollSegment() {
+        segment.force();
+        try {
+            segment = openSegment(++segmentIndex);
+        } catch (IOException e) {
+            failure = new UncheckedIOException("Failed to roll WAL segment", e);
+            throw failure;
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer target;
+            long upTo;
+            lock.lock();
+            try {
+                while (!closed && appendedSequence == durableSequence) {
+                    pending.await();
+                }
+                if (closed) {
+                    return;
+                }
+                // 组提交：等待凑满一批或超时
+                long remaining = groupCommitIntervalNanos;
+                while (!closed && appendedSequence - durableSequence < groupCommitRecords && remaining > 0) {
+                    remaining = pending.awaitNanos(remaining);
+                }
+                target = segment;
+                upTo = appendedSequence;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // 刷盘期间不持有锁，写入方可继续追加下一批
+            UncheckedIOException error = null;
+            try {
+                target.force();
+            } catch (UncheckedIOException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else if (upTo > durableSequence) {
+                    durableSequence = upTo;
+                }
+                durable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                log.error("WAL flush failed, further writes are rejected", error);
+                return;
+            }
+        }
+    }
+
+    private MappedByteBuffer openSegment(long index) throws IOException {
+        Path path = directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            buffer.putInt(SEGMENT_MAGIC);
+            return buffer;
+        }
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.transaction.storage.wal;
+
+import com.bank.transaction.model.Transaction;
+
+final class NoopTransactionLog implements TransactionLog {
+    static final NoopTransactionLog INSTANCE = new NoopTransactionLog();
+
+    private NoopTransactionLog() {
+    }
+
+    @Override
+    public long appendSave(Transaction transaction) {
+        return 0;
+    }
+
+    @Override
+    public long appendDelete(String id) {
+        return 0;
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+    }
+
+    @Override
+    public void replay(Replayer replayer, long fromEpoch) {
+    }
+
+    @Override
+    public long checkpoint() {
+        return 1;
+    }
+
+    @Override
+    public void truncateBefore(long epoch) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
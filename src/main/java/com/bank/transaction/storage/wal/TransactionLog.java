@@ -0,0 +1,70 @@
+package com.bank.transaction.storage.wal;
+
+import com.bank.transaction.model.Transaction;
+
+/**
+ * 交易写前日志（WAL）
+ * 存储层在修改内存数据前先追加日志，启动时通过回放日志恢复数据
+ */
+public interface TransactionLog extends AutoCloseable {
+
+    /**
+     * 追加一条保存记录
+     *
+     * @return 日志序号，用于 {@link #awaitDurable(long)}
+     */
+    long appendSave(Transaction transaction);
+
+    /**
+     * 追加一条删除记录
+     *
+     * @return 日志序号，用于 {@link #awaitDurable(long)}
+     */
+    long appendDelete(String id);
+
+    /**
+     * 阻塞直到指定序号及之前的记录已落盘（组提交）
+     */
+    void awaitDurable(long sequence);
+
+    /**
+     * 按写入顺序回放全部日志记录
+     */
+    default void replay(Replayer replayer) {
+        replay(replayer, 0);
+    }
+
+    /**
+     * 按写入顺序回放纪元不小于 fromEpoch 的日志记录（快照之后的尾部）
+     */
+    void replay(Replayer replayer, long fromEpoch);
+
+    /**
+     * 开始一个新纪元：此前追加的记录都属于更早的纪元，此后追加的记录属于返回的纪元。
+     * 调用方需保证调用期间没有进行中的追加，快照据此确定需要回放的起点。
+     *
+     * @return 新纪元编号，始终大于0
+     */
+    long checkpoint();
+
+    /**
+     * 删除早于指定纪元的日志（已被快照覆盖）
+     */
+    void truncateBefore(long epoch);
+
+    @Override
+    void close();
+
+    interface Replayer {
+        void onSave(Transaction transaction);
+
+        void onDelete(String id);
+    }
+
+    /**
+     * 不做任何持久化的空实现，未开启WAL时使用
+     */
+    static TransactionLog noop() {
+        return NoopTransactionLog.INSTANCE;
+    }
+}
@@ -1,11 +1,23 @@
 package com.bank.transaction.validation;
 
-public interface ValidationStrategy<T> {
-    void validate(T input);
-}
-
-
-
-
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
 
+public interface ValidationStrategy<T> {
+    /**
+     * 校验输入，拒绝时返回错误码而不是抛出异常
+     *
+     * @return 通过时返回null，否则返回拒绝原因
+     */
+    ErrorCode check(T input);
 
+    /**
+     * 校验输入，拒绝时抛出 {@link BusinessException}
+     */
+    default void validate(T input) {
+        ErrorCode error = check(input);
+        if (error != null) {
+            throw new BusinessException(error);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.bank.transaction.validation.blacklist;
+
+import com.bank.transaction.config.BlacklistProperties;
+import com.bank.transaction.dto.BlacklistInfo;
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.model.AccountStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 账户黑名单注册表
+ * <p>
+ * 黑名单来自固定配置、本地文件（定期检查修改时间，变化后自动重新加载）或管理接口，以最后一次生效的来源为准。
+ * 每次加载先完整构建新的 {@link BlacklistSnapshot}，再以一次volatile写整体替换（写时复制），
+ * 校验线程始终读到完整的某个版本，无需加锁。文件不可读或格式错误时保留当前版本。
+ */
+@Component
+public class BlacklistRegistry {
+    private static final Logger log = LoggerFactory.getLogger(BlacklistRegistry.class);
+
+    private final BlacklistProperties properties;
+    private final Clock clock;
+    // 串行化各来源的加载，避免较旧的结果覆盖较新的结果
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private ScheduledExecutorService watcher;
+    // 监视线程读取、管理接口触发的reload写入
+    private volatile long fileModified = -1;
+    private volatile Loaded current;
+
+    @Autowired
+    public BlacklistRegistry(BlacklistProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.current = new Loaded(baseBuilder().build(), "config", LocalDateTime.now(clock));
+        if (properties.file() != null) {
+            if (Files.exists(properties.file())) {
+                reload();
+            } else {
+                log.warn("Blacklist file {} does not exist, using configured accounts only", properties.file());
+            }
+        }
+    }
+
+    /**
+     * 账户当前是否处于黑名单中，账户ID为null时返回false
+     */
+    public boolean isBlacklisted(String accountId) {
+        return current.snapshot().isBlacklisted(accountId, clock.millis());
+    }
+
+    public BlacklistInfo info() {
+        Loaded loaded = current;
+        return new BlacklistInfo(loaded.snapshot().size(), loaded.source(), loaded.loadedAt());
+    }
+
+    /**
+     * 从配置的文件重新加载
+     *
+     * @throws BusinessException 未配置文件、文件不可读或格式错误时抛出 BLACKLIST_SOURCE_UNAVAILABLE，当前版本保持不变
+     */
+    public BlacklistInfo reload() {
+        Path file = properties.file();
+        if (file == null) {
+            throw new BusinessException(ErrorCode.BLACKLIST_SOURCE_UNAVAILABLE);
+        }
+        reloadLock.lock();
+        try {
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            BlacklistSnapshot snapshot = parse(file);
+            current = new Loaded(snapshot, "file", LocalDateTime.now(clock));
+            fileModified = modified;
+            log.info("Loaded {} blacklist entries from {}", snapshot.size(), file);
+            return info();
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to load blacklist file {}, keeping current version: {}", file, e.getMessage());
+            throw new BusinessException(ErrorCode.BLACKLIST_SOURCE_UNAVAILABLE);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * 以给定条目（合并固定配置）整体替换黑名单，isBlacklisted为false的条目忽略，blacklistUntil为空表示永久生效
+     */
+    public BlacklistInfo replace(Collection<AccountStatus> entries) {
+        BlacklistSnapshot.Builder builder = baseBuilder();
+        for (AccountStatus entry : entries) {
+            if (entry.accountId() != null && entry.isBlacklisted()) {
+                builder.add(entry.accountId(), untilMillis(entry.blacklistUntil()));
+            }
+        }
+        BlacklistSnapshot snapshot = builder.build();
+        reloadLock.lock();
+        try {
+            current = new Loaded(snapshot, "api", LocalDateTime.now(clock));
+            return info();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWatching() {
+        if (properties.file() == null) {
+            return;
+        }
+        long interval = properties.refreshInterval().toMillis();
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "blacklist-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(this::reloadIfModified, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopWatching() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    private void reloadIfModified() {
+        try {
+            Path file = properties.file();
+            if (Files.exists(file) && Files.getLastModifiedTime(file).toMillis() != fileModified) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            // 保持当前版本，下一轮再试
+            log.debug("Blacklist file check failed: {}", e.getMessage());
+        }
+    }
+
+    private BlacklistSnapshot parse(Path file) throws IOException {
+        BlacklistSnapshot.Builder builder = baseBuilder();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                if (comma < 0) {
+                    builder.add(line, BlacklistSnapshot.PERMANENT);
+                    continue;
+                }
+                try {
+                    LocalDateTime until = LocalDateTime.parse(line.substring(comma + 1).strip());
+                    builder.add(line.substring(0, comma).strip(), untilMillis(until));
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("malformed expiry at line " + lineNumber, e);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private BlacklistSnapshot.Builder baseBuilder() {
+        BlacklistSnapshot.Builder builder = BlacklistSnapshot.builder();
+        for (String account : properties.accounts()) {
+            builder.add(account, BlacklistSnapshot.PERMANENT);
+        }
+        return builder;
+    }
+
+    private long untilMillis(LocalDateTime until) {
+        return until == null ? BlacklistSnapshot.PERMANENT : until.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private record Loaded(BlacklistSnapshot snapshot, String source, LocalDateTime loadedAt) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.bank.transaction.validation.blacklist;
+
+import java.util.Arrays;
+
+/**
+ * 不可变的黑名单快照
+ * <p>
+ * 账户ID只以128位哈希保存：开放寻址（线性探测）哈希表的键和到期时间都在原始long数组中，
+ * 前置布隆过滤器（约10位/条目、7个哈希位置，误判率约1%）在不访问哈希表的情况下排除绝大多数正常账户。
+ * 无论条目多少，一个快照只由几个数组组成，整体替换时不会产生大量小对象。
+ */
+public final class BlacklistSnapshot {
+    /**
+     * 永久生效（无到期时间）
+     */
+    public static final long PERMANENT = Long.MAX_VALUE;
+
+    private static final BlacklistSnapshot EMPTY = new Builder().build();
+    private static final int BLOOM_BITS_PER_ENTRY = 10;
+    private static final int BLOOM_HASHES = 7;
+    private static final long EMPTY_SLOT = 0L;
+    private static final long SEED_HI = 0xCBF29CE484222325L;
+    private static final long SEED_LO = 0x9E3779B97F4A7C15L;
+    private static final long PRIME_HI = 0x100000001B3L;
+    private static final long PRIME_LO = 0xFF51AFD7ED558CCDL;
+
+    private final long[] bloom;
+    private final long bloomMask;
+    private final long[] his;
+    private final long[] los;
+    // 到期时间（UTC毫秒，不含），EMPTY_SLOT表示空槽
+    private final long[] untils;
+    private final int size;
+
+    private BlacklistSnapshot(long[] bloom, long[] his, long[] los, long[] untils, int size) {
+        this.bloom = bloom;
+        this.bloomMask = bloom.length * 64L - 1;
+        this.his = his;
+        this.los = los;
+        this.untils = untils;
+        this.size = size;
+    }
+
+    public static BlacklistSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 账户在nowMillis时刻是否处于黑名单中，账户ID为null时返回false
+     */
+    public boolean isBlacklisted(String accountId, long nowMillis) {
+        if (accountId == null) {
+            return false;
+        }
+        long hi = hash(SEED_HI, PRIME_HI, accountId);
+        long lo = hash(SEED_LO, PRIME_LO, accountId);
+        if (!mightContain(hi, lo)) {
+            return false;
+        }
+        int mask = untils.length - 1;
+        for (int i = slotOf(lo, mask); untils[i] != EMPTY_SLOT; i = (i + 1) & mask) {
+            if (his[i] == hi && los[i] == lo) {
+                return nowMillis < untils[i];
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean mightContain(long hi, long lo) {
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (hi + i * lo) & bloomMask;
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int slotOf(long lo, int mask) {
+        return (int) (lo ^ (lo >>> 32)) & mask;
+    }
+
+    private static long hash(long seed, long prime, String value) {
+        long h = seed;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            h = (h ^ value.charAt(i)) * prime;
+        }
+        h = Long.rotateLeft((h ^ length) * prime, 31);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 逐条追加条目后一次性构建快照，追加过程只增长原始数组；同一账户出现多次时以最后一次为准
+     */
+    public static final class Builder {
+        private long[] his = new long[16];
+        private long[] los = new long[16];
+        private long[] untils = new long[16];
+        private int count;
+
+        private Builder() {
+        }
+
+        /**
+         * @param untilMillis 到期时间（UTC毫秒，不含），永久生效传 {@link #PERMANENT}
+         */
+        public Builder add(String accountId, long untilMillis) {
+            if (count == untils.length) {
+                his = Arrays.copyOf(his, count << 1);
+                los = Arrays.copyOf(los, count << 1);
+                untils = Arrays.copyOf(untils, count << 1);
+            }
+            his[count] = hash(SEED_HI, PRIME_HI, accountId);
+            los[count] = hash(SEED_LO, PRIME_LO, accountId);
+            // 0保留为空槽标记
+            untils[count] = untilMillis == EMPTY_SLOT ? 1 : untilMillis;
+            count++;
+            return this;
+        }
+
+        public BlacklistSnapshot build() {
+            int capacity = 16;
+            while (capacity < count * 2) {
+                capacity <<= 1;
+            }
+            long bloomBits = 64;
+            while (bloomBits < (long) count * BLOOM_BITS_PER_ENTRY) {
+                bloomBits <<= 1;
+            }
+            long[] bloom = new long[(int) (bloomBits >>> 6)];
+            long[] tableHis = new long[capacity];
+            long[] tableLos = new long[capacity];
+            long[] tableUntils = new long[capacity];
+            int mask = capacity - 1;
+            int size = 0;
+            for (int n = 0; n < count; n++) {
+                long hi = his[n];
+                long lo = los[n];
+                int i = slotOf(lo, mask);
+                while (tableUntils[i] != EMPTY_SLOT && (tableHis[i] != hi || tableLos[i] != lo)) {
+                    i = (i + 1) & mask;
+                }
+                if (tableUntils[i] == EMPTY_SLOT) {
+                    tableHis[i] = hi;
+                    tableLos[i] = lo;
+                    size++;
+                }
+                tableUntils[i] = untils[n];
+                for (int k = 0; k < BLOOM_HASHES; k++) {
+                    long bit = (hi + k * lo) & (bloomBits - 1);
+                    bloom[(int) (bit >>> 6)] |= 1L << bit;
+                }
+            }
+            return new BlacklistSnapshot(bloom, tableHis, tableLos, tableUntils, size);
+        }
+    }
+}
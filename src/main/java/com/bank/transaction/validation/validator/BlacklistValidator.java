@@ -1,25 +1,30 @@
 package com.bank.transaction.validation.validator;
 
+import com.bank.transaction.config.BlacklistProperties;
 import com.bank.transaction.dto.TransactionDto;
-import com.bank.transaction.exception.BusinessException;
 import com.bank.transaction.exception.ErrorCode;
-import com.bank.transaction.model.AccountStatus;
 import com.bank.transaction.validation.ValidationStrategy;
+import com.bank.transaction.validation.blacklist.BlacklistRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.time.Clock;
 
 @Component
 public class BlacklistValidator implements ValidationStrategy<TransactionDto> {
-    private final Map<String, AccountStatus> accountStatusMap = Map.of(
-            "BLACKLISTED_ACCOUNT", new AccountStatus("BLACKLISTED_ACCOUNT", true, null)
-    );
+    private final BlacklistRegistry registry;
+
+    public BlacklistValidator() {
+        this(new BlacklistRegistry(BlacklistProperties.defaults(), Clock.systemDefaultZone()));
+    }
+
+    @Autowired
+    public BlacklistValidator(BlacklistRegistry registry) {
+        this.registry = registry;
+    }
 
     @Override
-    public void validate(TransactionDto dto) {
-        AccountStatus status = accountStatusMap.get(dto.accountId());
-        if (status != null && status.isBlacklisted()) {
-            throw new BusinessException(ErrorCode.ACCOUNT_BLACKLISTED);
-        }
+    public ErrorCode check(TransactionDto dto) {
+        return registry.isBlacklisted(dto.accountId()) ? ErrorCode.ACCOUNT_BLACKLISTED : null;
     }
 }
@@ -1,23 +1,51 @@
 package com.bank.transaction.validation.validator;
 
+import com.bank.transaction.config.TickingClock;
 import com.bank.transaction.dto.TransactionDto;
-import com.bank.transaction.exception.BusinessException;
 import com.bank.transaction.exception.ErrorCode;
 import com.bank.transaction.validation.ValidationStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalTime;
 
+/**
+ * 交易时间窗口校验
+ * <p>
+ * 注入按节拍刷新的 {@link TickingClock}，并缓存上一次判断：时钟读数未变化时直接返回缓存结果，
+ * 每个节拍只换算一次本地时间。
+ */
 @Component
 public class TimeWindowValidator implements ValidationStrategy<TransactionDto> {
     private static final LocalTime START_TIME = LocalTime.of(6, 0);
     private static final LocalTime END_TIME = LocalTime.of(23, 0);
 
+    private final Clock clock;
+    private volatile Decision decision = new Decision(Long.MIN_VALUE, null);
+
+    @Autowired
+    public TimeWindowValidator(@Qualifier(TickingClock.BEAN_NAME) Clock clock) {
+        this.clock = clock;
+    }
+
     @Override
-    public void validate(TransactionDto dto) {
-        LocalTime now = LocalTime.now();
-        if (now.isBefore(START_TIME) || now.isAfter(END_TIME)) {
-            throw new BusinessException(ErrorCode.OUTSIDE_TRANSACTION_WINDOW);
+    public ErrorCode check(TransactionDto dto) {
+        long millis = clock.millis();
+        Decision current = decision;
+        if (current.millis() != millis) {
+            current = new Decision(millis, decide(LocalTime.ofInstant(Instant.ofEpochMilli(millis), clock.getZone())));
+            decision = current;
         }
+        return current.result();
+    }
+
+    private static ErrorCode decide(LocalTime now) {
+        return now.isBefore(START_TIME) || now.isAfter(END_TIME) ? ErrorCode.OUTSIDE_TRANSACTION_WINDOW : null;
+    }
+
+    private record Decision(long millis, ErrorCode result) {
     }
-}
\ No newline at end of file
+}
@@ -1,22 +1,170 @@
 package com.bank.transaction.validation.validator;
 
 import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
 import com.bank.transaction.validation.ValidationStrategy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 按代价自适应排序的校验流水线
+ * <p>
+ * 规则以错误码返回结果，遇到第一个拒绝即停止。每 SAMPLE_RATE 次校验抽样一次，记录各规则的耗时与拒绝率，
+ * 累计 REORDER_SAMPLES 次抽样后按 平均耗时 / 拒绝率 升序重排（便宜且经常拒绝的规则排在前面），
+ * 使被拒绝请求的平均代价最小。多条规则同时不通过时，返回的错误码取决于当前顺序。
+ */
 @Component
 public class TransactionValidator {
-    private final List<ValidationStrategy<TransactionDto>> strategies;
+    private static final int SAMPLE_RATE = 64;
+    private static final int REORDER_SAMPLES = 256;
+    // 从未拒绝过的规则按该拒绝率估算，保证得分有限
+    private static final double MIN_REJECT_RATE = 1e-4;
+
+    private final StrategyStats[] stats;
+    private final AtomicLong samples = new AtomicLong();
+    private final ReentrantLock reorderLock = new ReentrantLock();
+    private volatile StrategyStats[] order;
 
     @Autowired
     public TransactionValidator(List<ValidationStrategy<TransactionDto>> strategies) {
-        this.strategies = strategies;
+        this.stats = strategies.stream().map(StrategyStats::new).toArray(StrategyStats[]::new);
+        this.order = stats.clone();
     }
 
     public void validate(TransactionDto dto) {
-        strategies.forEach(strategy -> strategy.validate(dto));
+        ErrorCode error = check(dto);
+        if (error != null) {
+            throw new BusinessException(error);
+        }
+    }
+
+    /**
+     * 缺少记录或账户ID时直接返回 INVALID_TRANSACTION_DATA，各规则因此可以假定账户ID非空
+     *
+     * @return 通过时返回null，否则返回第一个拒绝的规则给出的错误码
+     */
+    public ErrorCode check(TransactionDto dto) {
+        if (dto == null || dto.accountId() == null || dto.accountId().isBlank()) {
+            return ErrorCode.INVALID_TRANSACTION_DATA;
+        }
+        StrategyStats[] current = order;
+        if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0) {
+            return sampledCheck(current, dto);
+        }
+        for (StrategyStats entry : current) {
+            ErrorCode error = entry.strategy.check(dto);
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 批量校验，每条记录独立走 {@link #check(TransactionDto)}
+     *
+     * @return 与入参下标对应的错误码数组，通过校验的位置为null
+     */
+    public ErrorCode[] validateAll(List<TransactionDto> dtos) {
+        ErrorCode[] errors = new ErrorCode[dtos.size()];
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] = check(dtos.get(i));
+        }
+        return errors;
+    }
+
+    /**
+     * 当前执行顺序
+     */
+    List<ValidationStrategy<TransactionDto>> order() {
+        return Arrays.stream(order).map(entry -> entry.strategy).toList();
+    }
+
+    private ErrorCode sampledCheck(StrategyStats[] current, TransactionDto dto) {
+        ErrorCode result = null;
+        for (StrategyStats entry : current) {
+            long start = System.nanoTime();
+            ErrorCode error = entry.strategy.check(dto);
+            entry.record(System.nanoTime() - start, error != null);
+            if (error != null) {
+                result = error;
+                break;
+            }
+        }
+        if (samples.incrementAndGet() % REORDER_SAMPLES == 0 && reorderLock.tryLock()) {
+            try {
+                reorder();
+            } finally {
+                reorderLock.unlock();
+            }
+        }
+        return result;
+    }
+
+    private void reorder() {
+        for (StrategyStats entry : stats) {
+            entry.fold();
+        }
+        StrategyStats[] sorted = stats.clone();
+        // 稳定排序，得分相同的规则保持注入顺序
+        Arrays.sort(sorted, Comparator.comparingDouble(StrategyStats::score));
+        order = sorted;
+    }
+
+    /**
+     * 单条规则的抽样统计；fold 与得分字段只在持有 reorderLock 时访问
+     */
+    private static final class StrategyStats {
+        private final ValidationStrategy<TransactionDto> strategy;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        // 指数加权平均，NaN表示尚无样本（例如一直排在总是拒绝的规则之后）
+        private double averageNanos = Double.NaN;
+        private double rejectRate = Double.NaN;
+
+        StrategyStats(ValidationStrategy<TransactionDto> strategy) {
+            this.strategy = strategy;
+        }
+
+        void record(long elapsedNanos, boolean rejected) {
+            calls.increment();
+            nanos.add(elapsedNanos);
+            if (rejected) {
+                rejections.increment();
+            }
+        }
+
+        void fold() {
+            long sampled = calls.sumThenReset();
+            long elapsed = nanos.sumThenReset();
+            long rejected = rejections.sumThenReset();
+            if (sampled == 0) {
+                return;
+            }
+            double latestNanos = (double) elapsed / sampled;
+            double latestRate = (double) rejected / sampled;
+            averageNanos = Double.isNaN(averageNanos) ? latestNanos : (averageNanos + latestNanos) / 2;
+            rejectRate = Double.isNaN(rejectRate) ? latestRate : (rejectRate + latestRate) / 2;
+        }
+
+        /**
+         * 没有样本的规则得分为0，排到最前以获得样本
+         */
+        double score() {
+            if (Double.isNaN(averageNanos)) {
+                return 0;
+            }
+            return averageNanos / Math.max(rejectRate, MIN_REJECT_RATE);
+        }
     }
 }
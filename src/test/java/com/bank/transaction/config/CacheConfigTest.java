@@ -0,0 +1,46 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.dto.PageResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+    // 测试按名称注册独立规格，未配置的缓存使用默认规格
+    @Test
+    void cacheManager_WithSpecs_ShouldRegisterSeparateCaches() {
+        CacheSpecProperties properties = new CacheSpecProperties(Map.of(
+                CacheNames.TRANSACTIONS, new CacheSpecProperties.Spec(5L, null, Duration.ofMinutes(10), null),
+                CacheNames.TRANSACTION_PAGES, new CacheSpecProperties.Spec(null, 100L, Duration.ofMinutes(1), null)));
+
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties);
+
+        assertEquals(5L, nativeCache(cacheManager, CacheNames.TRANSACTIONS).policy().eviction().orElseThrow().getMaximum());
+        assertEquals(100L, nativeCache(cacheManager, CacheNames.TRANSACTION_PAGES).policy().eviction().orElseThrow().getMaximum());
+        assertEquals(1000L, nativeCache(cacheManager, "other").policy().eviction().orElseThrow().getMaximum());
+    }
+
+    // 测试分页缓存按页内记录数计权
+    @Test
+    void builderOf_WithMaximumWeight_ShouldWeighPagesByContentSize() {
+        Cache<Object, Object> cache = CacheConfig.builderOf(
+                new CacheSpecProperties.Spec(null, 100L, null, null)).build();
+        cache.put("page", new PageResponse<>(Collections.nCopies(49, "x"), 0, 49, 49, 1));
+        cache.put("entity", "x");
+        cache.cleanUp();
+
+        assertEquals(51L, cache.policy().eviction().orElseThrow().weightedSize().orElseThrow());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
@@ -0,0 +1,83 @@
+package com.bank.transaction.controller;
+
+import com.bank.transaction.dto.AccountSummary;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static com.bank.transaction.model.Transaction.TransactionType.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(AccountController.class)
+class AccountControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @Test
+    void listAccountTransactions_ValidRequest_ReturnsPagedResults() throws Exception {
+        // 准备测试数据
+        Transaction transaction = new Transaction("txn-001", "ACC-123", 200.00, DEPOSIT,
+                LocalDateTime.now(), "Deposit");
+        PageResponse<Transaction> response = new PageResponse<>(Collections.singletonList(transaction), 0, 10, 1, 1);
+
+        // 模拟服务层行为
+        Mockito.when(transactionService.listAccountTransactions("ACC-123", 0, 10)).thenReturn(response);
+
+        // 执行请求并验证
+        mockMvc.perform(get("/api/accounts/{accountId}/transactions", "ACC-123")
+                        .param("page", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].accountId", is("ACC-123")))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+    }
+
+    @Test
+    void getAccountSummary_Exists_Returns200WithTotals() throws Exception {
+        // 准备测试数据
+        AccountSummary summary = new AccountSummary("ACC-123", new BigDecimal("150.00"), new BigDecimal("200.00"),
+                new BigDecimal("50.00"), BigDecimal.ZERO, 2, LocalDateTime.now());
+
+        // 模拟服务层行为
+        Mockito.when(transactionService.getAccountSummary("ACC-123")).thenReturn(summary);
+
+        // 执行请求并验证
+        mockMvc.perform(get("/api/accounts/{accountId}/summary", "ACC-123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance", is(150.00)))
+                .andExpect(jsonPath("$.transactionCount", is(2)));
+    }
+
+    @Test
+    void getAccountSummary_UnknownAccount_Returns404() throws Exception {
+        // 模拟服务层行为
+        Mockito.when(transactionService.getAccountSummary("NONE"))
+                .thenThrow(new BusinessException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        // 执行请求并验证
+        mockMvc.perform(get("/api/accounts/{accountId}/summary", "NONE"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code", is(ErrorCode.ACCOUNT_NOT_FOUND.getCode())));
+    }
+}
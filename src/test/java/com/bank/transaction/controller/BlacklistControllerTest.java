@@ -0,0 +1,74 @@
+package com.bank.transaction.controller;
+
+import com.bank.transaction.dto.BlacklistInfo;
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.model.AccountStatus;
+import com.bank.transaction.validation.blacklist.BlacklistRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = BlacklistController.class, properties = "transaction.blacklist.admin-enabled=true")
+class BlacklistControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BlacklistRegistry registry;
+
+    @Test
+    void replaceBlacklist_ValidRequest_ReturnsInfo() throws Exception {
+        // 准备测试数据
+        LocalDateTime until = LocalDateTime.of(2030, 1, 1, 0, 0);
+        BlacklistInfo info = new BlacklistInfo(2, "api", LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        // 模拟服务层行为
+        Mockito.when(registry.replace(List.of(new AccountStatus("ACC-1", true, until)))).thenReturn(info);
+
+        // 执行请求并验证
+        mockMvc.perform(put("/api/admin/blacklist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"accountId\":\"ACC-1\",\"isBlacklisted\":true,\"blacklistUntil\":\"2030-01-01T00:00:00\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size", is(2)))
+                .andExpect(jsonPath("$.source", is("api")));
+    }
+
+    // 测试默认配置下不注册管理接口
+    @Test
+    void blacklistController_ByDefault_ShouldNotBeRegistered() {
+        new WebApplicationContextRunner()
+                .withBean(BlacklistRegistry.class, () -> Mockito.mock(BlacklistRegistry.class))
+                .withUserConfiguration(BlacklistController.class)
+                .run(context -> assertThat(context).doesNotHaveBean(BlacklistController.class));
+    }
+
+    @Test
+    void reloadBlacklist_WithoutFile_Returns400() throws Exception {
+        // 模拟服务层行为
+        Mockito.when(registry.reload()).thenThrow(new BusinessException(ErrorCode.BLACKLIST_SOURCE_UNAVAILABLE));
+
+        // 执行请求并验证
+        mockMvc.perform(post("/api/admin/blacklist/reload"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code", is(ErrorCode.BLACKLIST_SOURCE_UNAVAILABLE.getCode())));
+    }
+}
@@ -0,0 +1,148 @@
+package com.bank.transaction.controller;
+
+import com.bank.transaction.dto.ImportReport;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.service.ReactiveTransactionService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.bank.transaction.model.Transaction.TransactionType.DEPOSIT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+
+@WebFluxTest(ReactiveTransactionController.class)
+class ReactiveTransactionControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveTransactionService transactionService;
+
+    @Test
+    void createTransaction_ValidRequest_Returns201Created() {
+        // 准备测试数据
+        TransactionDto dto = new TransactionDto("ACC-123", 500.00, DEPOSIT, "Salary");
+        Transaction transaction = new Transaction("123", "ACC-123", 500.00, DEPOSIT, LocalDateTime.now(), "Salary");
+
+        // 模拟服务层行为
+        Mockito.when(transactionService.createTransaction(any(TransactionDto.class), eq("key-1")))
+                .thenReturn(Mono.just(transaction));
+
+        // 执行请求并验证
+        webTestClient.post().uri("/api/transactions")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(dto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("123")
+                .jsonPath("$.accountId").isEqualTo("ACC-123");
+    }
+
+    // 测试业务异常经全局异常处理转换为对应状态码
+    @Test
+    void getTransaction_NotFound_Returns404() {
+        // 模拟服务层行为
+        Mockito.when(transactionService.getTransaction("missing"))
+                .thenReturn(Mono.error(new BusinessException(ErrorCode.TRANSACTION_NOT_FOUND)));
+
+        // 执行请求并验证
+        webTestClient.get().uri("/api/transactions/missing")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(ErrorCode.TRANSACTION_NOT_FOUND.getCode());
+    }
+
+    @Test
+    void listTransactions_ValidRequest_ReturnsPagedResults() {
+        // 准备测试数据
+        Transaction transaction = new Transaction("1", "ACC-1", 10.0, DEPOSIT, LocalDateTime.now(), "a");
+
+        // 模拟服务层行为
+        Mockito.when(transactionService.listTransactions(0, 20))
+                .thenReturn(Mono.just(new PageResponse<>(List.of(transaction), 0, 20, 1, 1)));
+
+        // 执行请求并验证
+        webTestClient.get().uri("/api/transactions")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo("1")
+                .jsonPath("$.totalElements").isEqualTo(1);
+    }
+
+    // 测试流式导出按NDJSON逐行输出
+    @Test
+    void exportTransactions_StreamsNdjsonLines() {
+        // 模拟服务层行为
+        Mockito.when(transactionService.streamTransactions(eq("ACC-1"), isNull(), isNull()))
+                .thenReturn(Flux.just(
+                        new Transaction("1", "ACC-1", 10.0, DEPOSIT, LocalDateTime.now(), "a"),
+                        new Transaction("2", "ACC-1", 20.0, DEPOSIT, LocalDateTime.now(), "b")));
+
+        // 执行请求并验证
+        List<String> ids = webTestClient.get().uri("/api/transactions/export?accountId=ACC-1")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Transaction.class)
+                .getResponseBody()
+                .map(Transaction::id)
+                .collectList()
+                .block();
+        assertEquals(List.of("1", "2"), ids);
+    }
+
+    // 测试NDJSON导入请求体按行交给服务层
+    @Test
+    void importTransactions_NdjsonBody_ReturnsReport() {
+        // 模拟服务层行为
+        Mockito.when(transactionService.importNdjson(any(), anyBoolean()))
+                .thenAnswer(invocation -> invocation.<Flux<String>>getArgument(0)
+                        .filter(line -> !line.isBlank())
+                        .count()
+                        .map(count -> new ImportReport(count, count, 0, List.of(), false)));
+
+        // 执行请求并验证
+        webTestClient.post().uri("/api/transactions/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"accountId\":\"A\"}\n{\"accountId\":\"B\"}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(2)
+                .jsonPath("$.imported").isEqualTo(2);
+    }
+
+    @Test
+    void deleteTransaction_Success_Returns204NoContent() {
+        // 模拟服务层行为
+        Mockito.when(transactionService.deleteTransaction("1")).thenReturn(Mono.empty());
+
+        // 执行请求并验证
+        webTestClient.delete().uri("/api/transactions/1")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+}
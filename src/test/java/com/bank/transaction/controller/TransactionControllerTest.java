@@ -1,11 +1,18 @@
 package com.bank.transaction.controller;
 
+import com.bank.transaction.config.CborConfig;
+import com.bank.transaction.dto.BatchItemResult;
+import com.bank.transaction.dto.BatchResponse;
+import com.bank.transaction.dto.CursorPageResponse;
+import com.bank.transaction.dto.ImportReport;
 import com.bank.transaction.dto.PageResponse;
 import com.bank.transaction.dto.TransactionDto;
 import com.bank.transaction.exception.BusinessException;
 import com.bank.transaction.exception.ErrorCode;
 import com.bank.transaction.model.Transaction;
 import com.bank.transaction.service.TransactionService;
+import com.bank.transaction.service.importer.TransactionImporter;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,23 +20,31 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static com.bank.transaction.model.Transaction.TransactionType.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(TransactionController.class)
+@Import(CborConfig.class)
 class TransactionControllerTest {
 
     @Autowired
@@ -41,6 +56,9 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionImporter transactionImporter;
+
     @Test
     void createTransaction_ValidRequest_Returns201Created() throws Exception {
         // 准备测试数据
@@ -48,7 +66,7 @@ class TransactionControllerTest {
         Transaction transaction = new Transaction("123", "ACC-123", 500.00, DEPOSIT, LocalDateTime.now(), "Salary");
 
         // 模拟服务层行为
-        Mockito.when(transactionService.createTransaction(any(TransactionDto.class))).thenReturn(transaction);
+        Mockito.when(transactionService.createTransaction(any(TransactionDto.class), isNull())).thenReturn(transaction);
 
         // 执行请求并验证
         mockMvc.perform(post("/api/transactions")
@@ -69,7 +87,7 @@ class TransactionControllerTest {
         TransactionDto dto = new TransactionDto("ACC-123", 500.00, DEPOSIT, "Salary");
 
         // 模拟服务层抛出重复数据异常
-        Mockito.when(transactionService.createTransaction(any(TransactionDto.class)))
+        Mockito.when(transactionService.createTransaction(any(TransactionDto.class), isNull()))
                 .thenThrow(new BusinessException(ErrorCode.DUPLICATE_TRANSACTION));
 
         // 执行请求并验证
@@ -79,6 +97,48 @@ class TransactionControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message", containsString("Duplicate")));
     }
+    @Test
+    void createTransaction_WithIdempotencyKeyInProgress_Returns409() throws Exception {
+        // 准备测试数据
+        TransactionDto dto = new TransactionDto("ACC-123", 500.00, DEPOSIT, "Salary");
+
+        // 模拟服务层：相同幂等键的请求仍在处理中
+        Mockito.when(transactionService.createTransaction(any(TransactionDto.class), eq("key-1")))
+                .thenThrow(new BusinessException(ErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS));
+
+        // 执行请求并验证
+        mockMvc.perform(post("/api/transactions")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code", is("TRANSACTION_004")));
+    }
+
+    @Test
+    void createTransactions_Batch_Returns200WithPerItemResults() throws Exception {
+        // 准备测试数据
+        List<TransactionDto> dtos = List.of(
+                new TransactionDto("ACC-123", 500.00, DEPOSIT, "Salary"),
+                new TransactionDto("ACC-123", 500.00, DEPOSIT, "Salary"));
+        Transaction transaction = new Transaction("123", "ACC-123", 500.00, DEPOSIT, LocalDateTime.now(), "Salary");
+        BatchResponse response = new BatchResponse(2, 1, 1, List.of(
+                BatchItemResult.created(0, transaction),
+                BatchItemResult.failed(1, ErrorCode.DUPLICATE_TRANSACTION)));
+
+        // 模拟服务层行为
+        Mockito.when(transactionService.createTransactions(dtos)).thenReturn(response);
+
+        // 执行请求并验证
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.results[0].transaction.id", is("123")))
+                .andExpect(jsonPath("$.results[1].status", is("FAILED")))
+                .andExpect(jsonPath("$.results[1].code", is("TRANSACTION_001")));
+    }
 
     @Test
     void getTransaction_Exists_Returns200WithData() throws Exception {
@@ -137,6 +197,47 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.size", is(size)));
     }
 
+    @Test
+    void listTransactions_WithTimeRange_QueriesByTimeRange() throws Exception {
+        // 准备测试数据
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 1, 11, 0);
+        Transaction transaction = new Transaction("txn-003", "ACC-123", 200.00, DEPOSIT,
+                from.plusMinutes(5), "Deposit");
+        PageResponse<Transaction> response = new PageResponse<>(Collections.singletonList(transaction), 0, 20, 1, 1);
+
+        // 模拟服务层行为
+        Mockito.when(transactionService.listTransactionsBetween(from, to, 0, 20)).thenReturn(response);
+
+        // 执行请求并验证
+        mockMvc.perform(get("/api/transactions")
+                        .param("from", "2024-01-01T10:00:00")
+                        .param("to", "2024-01-01T11:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is("txn-003")))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+        Mockito.verify(transactionService, Mockito.never()).listTransactions(Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    void listTransactionsAfter_WithCursor_ReturnsCursorPage() throws Exception {
+        // 准备测试数据
+        Transaction transaction = new Transaction("txn-002", "ACC-123", 200.00, DEPOSIT,
+                LocalDateTime.now(), "Deposit");
+        CursorPageResponse<Transaction> response = new CursorPageResponse<>(
+                Collections.singletonList(transaction), 1, "next-cursor");
+
+        // 模拟服务层行为
+        Mockito.when(transactionService.listTransactionsAfter("cursor", 1)).thenReturn(response);
+
+        // 执行请求并验证
+        mockMvc.perform(get("/api/transactions")
+                        .param("after", "cursor")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is("txn-002")))
+                .andExpect(jsonPath("$.nextCursor", is("next-cursor")));
+    }
 
     @Test
     void updateTransaction_Success_Returns200UpdatedData() throws Exception {
@@ -204,4 +305,147 @@ class TransactionControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message", containsString("not found")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportTransactions_StreamsNdjsonLines() throws Exception {
+        // 准备测试数据
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Transaction first = new Transaction("txn-1", "ACC-1", 10.0, DEPOSIT, from.plusHours(1), "A");
+        Transaction second = new Transaction("txn-2", "ACC-1", 20.0, WITHDRAWAL, from.plusHours(2), "B");
+
+        // 模拟服务层逐条回调
+        Mockito.doAnswer(invocation -> {
+            Consumer<Transaction> consumer = invocation.getArgument(3);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(transactionService).exportTransactions(eq("ACC-1"), eq(from), isNull(), any());
+
+        // 执行请求并验证
+        MvcResult result = mockMvc.perform(get("/api/transactions/export")
+                        .param("accountId", "ACC-1")
+                        .param("from", "2024-01-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(startsWith("{\"id\":\"txn-1\"")))
+                .andExpect(content().string(containsString("}\n{\"id\":\"txn-2\"")))
+                .andExpect(content().string(endsWith("}\n")));
+    }
+
+    @Test
+    void importTransactions_NdjsonBody_ReturnsReport() throws Exception {
+        // 准备测试数据
+        ImportReport report = new ImportReport(2, 1, 1,
+                List.of(new ImportReport.LineError(2, "VALIDATION_003", "Invalid transaction data")), false);
+
+        // 模拟导入结果
+        Mockito.when(transactionImporter.importNdjson(any(), eq(false))).thenReturn(report);
+
+        // 执行请求并验证
+        mockMvc.perform(post("/api/transactions/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"accountId\":\"ACC-1\",\"amount\":1,\"type\":\"DEPOSIT\"}\n{oops}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+    }
+
+    // 测试按 Content-Type / Accept 协商CBOR：请求体按CBOR解析，响应按CBOR编码，字段与JSON一致
+    @Test
+    void createTransaction_WithCbor_NegotiatesBinaryEncoding() throws Exception {
+        // 准备测试数据
+        ObjectMapper cborMapper = CborConfig.cborMapper(objectMapper);
+        TransactionDto dto = new TransactionDto("ACC-123", 500.00, DEPOSIT, "Salary");
+        Transaction transaction = new Transaction("123", "ACC-123", 500.00, DEPOSIT,
+                LocalDateTime.of(2024, 1, 1, 8, 30), "Salary");
+
+        // 模拟服务层行为
+        Mockito.when(transactionService.createTransaction(eq(dto), isNull())).thenReturn(transaction);
+
+        // 执行请求并验证
+        MvcResult result = mockMvc.perform(post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertEquals(transaction, cborMapper.readValue(body, Transaction.class));
+        assertTrue(body.length < objectMapper.writeValueAsBytes(transaction).length);
+    }
+
+    // 测试分页接口按Accept返回CBOR，未指定时仍为JSON
+    @Test
+    void listTransactions_WithCborAccept_ReturnsCbor() throws Exception {
+        // 准备测试数据
+        ObjectMapper cborMapper = CborConfig.cborMapper(objectMapper);
+        PageResponse<Transaction> response = new PageResponse<>(List.of(
+                new Transaction("txn-1", "ACC-1", 10.0, DEPOSIT, LocalDateTime.of(2024, 1, 1, 1, 0), "A")), 0, 20, 1, 1);
+
+        // 模拟服务层行为
+        Mockito.when(transactionService.listTransactions(0, 20)).thenReturn(response);
+
+        // 执行请求并验证
+        MvcResult result = mockMvc.perform(get("/api/transactions").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        PageResponse<?> decoded = cborMapper.readValue(result.getResponse().getContentAsByteArray(), PageResponse.class);
+        assertEquals(1, decoded.totalElements());
+        assertEquals("txn-1",
+                cborMapper.convertValue(decoded.content().get(0), Transaction.class).id());
+        mockMvc.perform(get("/api/transactions"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].id", is("txn-1")));
+    }
+
+    // 测试Accept为CBOR序列时导出连续的CBOR记录
+    @Test
+    void exportTransactions_WithCborSeqAccept_StreamsCborSequence() throws Exception {
+        // 准备测试数据
+        ObjectMapper cborMapper = CborConfig.cborMapper(objectMapper);
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Transaction first = new Transaction("txn-1", "ACC-1", 10.0, DEPOSIT, from.plusHours(1), "A");
+        Transaction second = new Transaction("txn-2", "ACC-1", 20.0, WITHDRAWAL, from.plusHours(2), "B");
+
+        // 模拟服务层逐条回调
+        Mockito.doAnswer(invocation -> {
+            Consumer<Transaction> consumer = invocation.getArgument(3);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(transactionService).exportTransactions(isNull(), isNull(), isNull(), any());
+
+        // 执行请求并验证
+        MvcResult result = mockMvc.perform(get("/api/transactions/export").accept("application/cbor-seq"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor-seq"));
+        try (MappingIterator<Transaction> values = cborMapper.readerFor(Transaction.class)
+                .readValues(result.getResponse().getContentAsByteArray())) {
+            assertEquals(List.of(first, second), values.readAll());
+        }
+    }
+
+    @Test
+    void importTransactions_CborSequenceBody_ReturnsReport() throws Exception {
+        // 模拟导入结果
+        Mockito.when(transactionImporter.importCborSequence(any(), eq(true)))
+                .thenReturn(new ImportReport(1, 1, 0, List.of(), false));
+
+        // 执行请求并验证
+        mockMvc.perform(post("/api/transactions/import")
+                        .param("cache", "true")
+                        .contentType("application/cbor-seq")
+                        .content(CborConfig.cborMapper(objectMapper)
+                                .writeValueAsBytes(new TransactionDto("ACC-1", 1, DEPOSIT, "a"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+    }
+}
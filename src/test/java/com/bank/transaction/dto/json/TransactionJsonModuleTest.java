@@ -0,0 +1,73 @@
+package com.bank.transaction.dto.json;
+
+import com.bank.transaction.dto.CursorPageResponse;
+import com.bank.transaction.dto.PageResponse;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.model.Transaction.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionJsonModuleTest {
+    // 与Spring Boot默认配置相同，分别带和不带手写序列化器
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper tuned = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new TransactionJsonModule())
+            .build();
+
+    // 测试手写序列化器的输出与反射序列化逐字节一致（含空字段、各种纳秒精度、需要转义的字符和超出4位的年份）
+    @Test
+    void serialize_ShouldMatchReflectiveOutput() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2024, 3, 5, 7, 9);
+        List<Transaction> transactions = List.of(
+                new Transaction("tx-1", "acc-1", 100.5, TransactionType.DEPOSIT, base, "工资"),
+                new Transaction("tx-2", "acc-2", -0.01, TransactionType.WITHDRAWAL, base.withSecond(1).withNano(500_000_000), "引号\"和\n换行"),
+                new Transaction("tx-3", "acc-3", 1e300, TransactionType.TRANSFER, base.withNano(1), null),
+                new Transaction("tx-4", null, 0, null, null, ""),
+                new Transaction("tx-5", "acc-5", 1, TransactionType.DEPOSIT, LocalDateTime.of(12345, 1, 1, 0, 0, 0, 120_000), "d"),
+                new Transaction("tx-6", "acc-6", 1, TransactionType.DEPOSIT, LocalDateTime.of(7, 12, 31, 23, 59, 59, 999_999_999), "d"));
+
+        for (Transaction transaction : transactions) {
+            assertEquals(reflective.writeValueAsString(transaction), tuned.writeValueAsString(transaction));
+        }
+        PageResponse<Transaction> page = new PageResponse<>(transactions, 2, 6, 100, 17);
+        assertEquals(reflective.writeValueAsString(page), tuned.writeValueAsString(page));
+        CursorPageResponse<Transaction> cursorPage = new CursorPageResponse<>(transactions, 6, "abc");
+        assertEquals(reflective.writeValueAsString(cursorPage), tuned.writeValueAsString(cursorPage));
+        CursorPageResponse<Transaction> lastPage = new CursorPageResponse<>(List.of(), 6, null);
+        assertEquals(reflective.writeValueAsString(lastPage), tuned.writeValueAsString(lastPage));
+    }
+
+    // 测试流式反序列化与默认处理结果一致：字段乱序、未知字段、字符串形式的金额、空值
+    @Test
+    void deserialize_ShouldMatchReflectiveResult() throws Exception {
+        List<String> inputs = List.of(
+                "{\"accountId\":\"acc-1\",\"amount\":100.5,\"type\":\"DEPOSIT\",\"description\":\"工资\"}",
+                "{\"description\":\"d\",\"extra\":{\"nested\":[1,2]},\"type\":\"TRANSFER\",\"amount\":\"12.5\",\"accountId\":\"acc-2\"}",
+                "{\"accountId\":null,\"amount\":null,\"type\":null}",
+                "{\"accountId\":123,\"amount\":7}",
+                "{}");
+
+        for (String input : inputs) {
+            assertEquals(reflective.readValue(input, TransactionDto.class), tuned.readValue(input, TransactionDto.class));
+        }
+    }
+
+    // 测试非法枚举值仍按默认方式报错
+    @Test
+    void deserialize_WithUnknownType_ShouldFail() {
+        assertThrows(InvalidFormatException.class,
+                () -> tuned.readValue("{\"accountId\":\"acc-1\",\"type\":\"REFUND\"}", TransactionDto.class));
+    }
+}
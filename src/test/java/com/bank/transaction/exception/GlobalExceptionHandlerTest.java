@@ -0,0 +1,38 @@
+package com.bank.transaction.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new ObjectMapper());
+
+    // 测试业务异常不采集堆栈
+    @Test
+    void businessException_ShouldBeStackless() {
+        BusinessException exception = new BusinessException(ErrorCode.DUPLICATE_TRANSACTION);
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(ErrorCode.DUPLICATE_TRANSACTION.getMessage(), exception.getMessage());
+    }
+
+    // 测试同一错误码复用预先序列化的响应
+    @Test
+    void handleBusinessException_ShouldReusePreSerializedBody() {
+        ResponseEntity<byte[]> first = handler.handleBusinessException(new BusinessException(ErrorCode.TRANSACTION_NOT_FOUND));
+        ResponseEntity<byte[]> second = handler.handleBusinessException(new BusinessException(ErrorCode.TRANSACTION_NOT_FOUND));
+
+        assertSame(first, second);
+        assertEquals(HttpStatus.NOT_FOUND, first.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, first.getHeaders().getContentType());
+        assertEquals("{\"code\":\"TRANSACTION_002\",\"message\":\"Transaction not found\"}",
+                new String(first.getBody(), StandardCharsets.UTF_8));
+        assertEquals(HttpStatus.BAD_REQUEST,
+                handler.handleBusinessException(new BusinessException(ErrorCode.ACCOUNT_BLACKLISTED)).getStatusCode());
+    }
+}
@@ -0,0 +1,108 @@
+package com.bank.transaction.monitoring;
+
+import com.bank.transaction.dto.BatchItemResult;
+import com.bank.transaction.dto.BatchResponse;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.exception.GlobalExceptionHandler;
+import com.bank.transaction.model.Transaction.TransactionType;
+import com.bank.transaction.service.TransactionService;
+import com.bank.transaction.storage.TransactionStorage;
+import com.bank.transaction.storage.impl.InMemoryTransactionStorage;
+import com.bank.transaction.validation.ValidationStrategy;
+import com.bank.transaction.validation.validator.BlacklistValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class TransactionMetricsAspectTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TransactionMetricsAspect aspect = new TransactionMetricsAspect(registry, new ErrorMetrics(registry));
+
+    // 测试存储方法计时及重复检测命中/未命中计数
+    @Test
+    void storage_ShouldRecordLatencyAndDedupResults() {
+        TransactionStorage storage = proxy(new InMemoryTransactionStorage());
+        TransactionDto dto = new TransactionDto("acc-1", 10.0, TransactionType.DEPOSIT, "metrics");
+
+        assertTrue(storage.reserve(dto));
+        assertFalse(storage.reserve(dto));
+        assertTrue(storage.exists(dto));
+
+        assertEquals(2, registry.get(TransactionMetricsAspect.STORAGE_TIMER).tag("method", "reserve").timer().count());
+        assertEquals(1, registry.get(TransactionMetricsAspect.DEDUP_COUNTER)
+                .tags("operation", "reserve", "result", "miss").counter().count());
+        assertEquals(1, registry.get(TransactionMetricsAspect.DEDUP_COUNTER)
+                .tags("operation", "reserve", "result", "hit").counter().count());
+        assertEquals(1, registry.get(TransactionMetricsAspect.DEDUP_COUNTER)
+                .tags("operation", "exists", "result", "hit").counter().count());
+    }
+
+    // 测试校验规则按通过/拒绝分别计时
+    @Test
+    void validation_ShouldRecordOutcomePerStrategy() {
+        ValidationStrategy<TransactionDto> validator = proxy(new BlacklistValidator());
+
+        assertNull(validator.check(new TransactionDto("acc-1", 10.0, TransactionType.DEPOSIT, "ok")));
+        assertEquals(ErrorCode.ACCOUNT_BLACKLISTED,
+                validator.check(new TransactionDto("BLACKLISTED_ACCOUNT", 10.0, TransactionType.DEPOSIT, "x")));
+
+        assertEquals(1, registry.get(TransactionMetricsAspect.VALIDATION_TIMER)
+                .tags("strategy", "BlacklistValidator", "outcome", "pass").timer().count());
+        assertEquals(1, registry.get(TransactionMetricsAspect.VALIDATION_TIMER)
+                .tags("strategy", "BlacklistValidator", "outcome", "reject").timer().count());
+    }
+
+    // 测试批量逐条失败按错误码计数
+    @Test
+    void batch_ShouldCountItemErrorsByCode() {
+        TransactionService target = Mockito.mock(TransactionService.class);
+        when(target.createTransactions(Mockito.anyList())).thenReturn(new BatchResponse(2, 0, 2, List.of(
+                BatchItemResult.failed(0, ErrorCode.DUPLICATE_TRANSACTION),
+                BatchItemResult.failed(1, ErrorCode.DUPLICATE_TRANSACTION))));
+        TransactionService service = proxy(target);
+
+        service.createTransactions(List.of());
+
+        assertEquals(2, registry.get(ErrorMetrics.ERROR_COUNTER)
+                .tag("code", ErrorCode.DUPLICATE_TRANSACTION.getCode()).counter().count());
+    }
+
+    // 测试异常处理器处理的错误按错误码计数：服务层业务异常、控制器抛出的异常和请求体校验失败
+    @Test
+    void exceptionHandler_ShouldCountHandledErrorsByCode() throws Exception {
+        GlobalExceptionHandler handler = proxy(new GlobalExceptionHandler(new ObjectMapper()));
+        MethodArgumentNotValidException invalid = new MethodArgumentNotValidException(
+                new MethodParameter(Object.class.getMethod("equals", Object.class), 0),
+                new BeanPropertyBindingResult(new Object(), "dto"));
+
+        handler.handleBusinessException(new BusinessException(ErrorCode.TRANSACTION_NOT_FOUND));
+        handler.handleBusinessException(new BusinessException(ErrorCode.BLACKLIST_SOURCE_UNAVAILABLE));
+        handler.handleValidationExceptions(invalid);
+
+        assertEquals(1, registry.get(ErrorMetrics.ERROR_COUNTER)
+                .tag("code", ErrorCode.TRANSACTION_NOT_FOUND.getCode()).counter().count());
+        assertEquals(1, registry.get(ErrorMetrics.ERROR_COUNTER)
+                .tag("code", ErrorCode.BLACKLIST_SOURCE_UNAVAILABLE.getCode()).counter().count());
+        assertEquals(1, registry.get(ErrorMetrics.ERROR_COUNTER)
+                .tag("code", GlobalExceptionHandler.REQUEST_VALIDATION_CODE).counter().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
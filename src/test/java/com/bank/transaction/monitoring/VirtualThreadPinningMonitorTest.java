@@ -0,0 +1,46 @@
+package com.bank.transaction.monitoring;
+
+import com.bank.transaction.config.VirtualThreadProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+    private final Object monitorLock = new Object();
+    private final VirtualThreadPinningMonitor monitor =
+            new VirtualThreadPinningMonitor(new VirtualThreadProperties(Duration.ofMillis(1)));
+
+    @AfterEach
+    void tearDown() {
+        monitor.destroy();
+    }
+
+    // 测试虚拟线程在synchronized块内阻塞时被识别，并归类到本项目的帧
+    @Test
+    void onPinned_WhenBlockingInsideSynchronized_ShouldRecordApplicationFrame() throws Exception {
+        monitor.start();
+
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (monitor.pinnedSites().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(monitor.pinnedSites().keySet().stream()
+                        .anyMatch(site -> site.startsWith(VirtualThreadPinningMonitorTest.class.getName())),
+                monitor.pinnedSites().toString());
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (monitorLock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.bank.transaction.service.balance;
+
+import com.bank.transaction.dto.AccountSummary;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.model.Transaction.TransactionType;
+import com.bank.transaction.storage.impl.InMemoryTransactionStorage;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountBalanceViewTest {
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    // 测试按交易类型计算余额与各类总额
+    @Test
+    void onCreated_ShouldApplySignByType() {
+        AccountBalanceView view = new AccountBalanceView();
+        view.onCreated(transaction("1", "acc-1", 100.10, TransactionType.DEPOSIT));
+        view.onCreated(transaction("2", "acc-1", 30.05, TransactionType.WITHDRAWAL));
+        view.onCreated(transaction("3", "acc-1", 20.00, TransactionType.TRANSFER));
+
+        AccountSummary summary = view.summary("acc-1").orElseThrow();
+        assertEquals(new BigDecimal("50.05"), summary.balance());
+        assertEquals(new BigDecimal("100.1"), summary.totalDeposits());
+        assertEquals(new BigDecimal("30.05"), summary.totalWithdrawals());
+        assertEquals(new BigDecimal("20.0"), summary.totalTransfers());
+        assertEquals(3, summary.transactionCount());
+        assertEquals(TIME, summary.lastActivity());
+    }
+
+    // 测试更新账户时从原账户扣除并计入新账户
+    @Test
+    void onUpdated_WithAccountChange_ShouldMoveBetweenAccounts() {
+        AccountBalanceView view = new AccountBalanceView();
+        Transaction original = transaction("1", "acc-1", 100, TransactionType.DEPOSIT);
+        view.onCreated(original);
+
+        view.onUpdated(original, transaction("1", "acc-2", 80, TransactionType.DEPOSIT));
+
+        assertTrue(view.summary("acc-1").isEmpty());
+        assertEquals(0, new BigDecimal("80").compareTo(view.summary("acc-2").orElseThrow().balance()));
+    }
+
+    // 测试账户的记录全部删除后移除汇总，再次写入时从零开始计算
+    @Test
+    void onDeleted_LastTransaction_ShouldRemoveAccount() {
+        AccountBalanceView view = new AccountBalanceView();
+        Transaction first = transaction("1", "acc-1", 100, TransactionType.DEPOSIT);
+        Transaction second = transaction("2", "acc-1", 40, TransactionType.WITHDRAWAL);
+        view.onCreated(first);
+        view.onCreated(second);
+
+        view.onDeleted(first);
+        assertEquals(1, view.summary("acc-1").orElseThrow().transactionCount());
+        view.onDeleted(second);
+        assertTrue(view.summary("acc-1").isEmpty());
+
+        view.onCreated(transaction("3", "acc-1", 10, TransactionType.DEPOSIT));
+        AccountSummary summary = view.summary("acc-1").orElseThrow();
+        assertEquals(1, summary.transactionCount());
+        assertEquals(0, new BigDecimal("10").compareTo(summary.balance()));
+    }
+
+    // 测试启动时从存储重建汇总
+    @Test
+    void constructor_ShouldRebuildFromStorage() {
+        InMemoryTransactionStorage storage = new InMemoryTransactionStorage();
+        for (int i = 0; i < 3000; i++) {
+            storage.save(new Transaction("t" + i, "acc-" + (i % 3), 1.0, TransactionType.DEPOSIT,
+                    TIME.plusSeconds(i), "d" + i));
+        }
+
+        AccountBalanceView view = new AccountBalanceView(storage, Clock.systemDefaultZone());
+
+        AccountSummary summary = view.summary("acc-0").orElseThrow();
+        assertEquals(1000, summary.transactionCount());
+        assertEquals(0, new BigDecimal("1000").compareTo(summary.balance()));
+        assertEquals(TIME.plusSeconds(2997), summary.lastActivity());
+    }
+
+    // 测试同一账户的并发写入不丢失更新
+    @Test
+    void onCreated_Concurrently_ShouldNotLoseUpdates() throws Exception {
+        AccountBalanceView view = new AccountBalanceView();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    view.onCreated(transaction(thread + "-" + i, "hot", 1, TransactionType.DEPOSIT));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        AccountSummary summary = view.summary("hot").orElseThrow();
+        assertEquals(4000, summary.transactionCount());
+        assertEquals(0, new BigDecimal("4000").compareTo(summary.balance()));
+    }
+
+    private static Transaction transaction(String id, String accountId, double amount, TransactionType type) {
+        return new Transaction(id, accountId, amount, type, TIME, "balance");
+    }
+}
@@ -0,0 +1,71 @@
+package com.bank.transaction.service.cache;
+
+import com.bank.transaction.config.WarmupProperties;
+import com.bank.transaction.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheWarmerTest {
+    @TempDir
+    Path directory;
+
+    // 测试停机保存的热点ID在下次启动时被加载回缓存
+    @Test
+    void saveThenStart_ShouldWarmSavedIds() throws Exception {
+        Path file = directory.resolve("cache/hot-ids.txt");
+        WarmupProperties properties = new WarmupProperties(true, file, 10, 100, Duration.ofMinutes(1));
+        TransactionService previous = mock(TransactionService.class);
+        when(previous.hotTransactionIds(10)).thenReturn(List.of("txn-1", "txn-2"));
+        new CacheWarmer(previous, properties).saveHotIds();
+        assertEquals(List.of("txn-1", "txn-2"), Files.readAllLines(file));
+
+        TransactionService current = mock(TransactionService.class);
+        when(current.warmTransaction(anyString())).thenReturn(true);
+        CacheWarmer warmer = new CacheWarmer(current, properties);
+        warmer.start();
+
+        verify(current, timeout(5_000)).warmTransaction("txn-2");
+        while (!warmer.isWarm()) {
+            Thread.onSpinWait();
+        }
+        assertEquals(2, warmer.loaded());
+        verify(current).warmTransaction("txn-1");
+    }
+
+    // 测试预热未达到比例时不就绪，超过最长等待时间后不再阻塞
+    @Test
+    void isWarm_BeforeThresholdOrAfterMaxWait() throws Exception {
+        Path file = directory.resolve("hot-ids.txt");
+        Files.write(file, List.of("txn-1"));
+        TransactionService service = mock(TransactionService.class);
+        when(service.warmTransaction("txn-1")).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return true;
+        });
+
+        CacheWarmer waiting = new CacheWarmer(service, new WarmupProperties(true, file, 10, 100, Duration.ofMinutes(1)));
+        waiting.start();
+        assertFalse(waiting.isWarm());
+
+        CacheWarmer impatient = new CacheWarmer(service, new WarmupProperties(true, file, 10, 100, Duration.ZERO));
+        impatient.start();
+        assertTrue(impatient.isWarm());
+    }
+
+    // 测试没有热点文件时立即就绪
+    @Test
+    void start_WithoutFile_ShouldBeWarmImmediately() {
+        CacheWarmer warmer = new CacheWarmer(mock(TransactionService.class),
+                new WarmupProperties(true, directory.resolve("missing.txt"), 10, 90, Duration.ofMinutes(1)));
+        warmer.start();
+        assertTrue(warmer.isWarm());
+    }
+}
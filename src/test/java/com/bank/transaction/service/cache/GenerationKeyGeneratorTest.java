@@ -0,0 +1,32 @@
+package com.bank.transaction.service.cache;
+
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.model.Transaction.TransactionType;
+import com.bank.transaction.service.TransactionService;
+import com.bank.transaction.storage.impl.InMemoryTransactionStorage;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerationKeyGeneratorTest {
+    private final InMemoryTransactionStorage storage = new InMemoryTransactionStorage();
+    private final GenerationKeyGenerator keyGenerator = new GenerationKeyGenerator(storage);
+
+    // 测试写入后分页缓存键变化，未写入时保持不变
+    @Test
+    void generate_AfterSaveOrDelete_ShouldProduceNewKey() throws Exception {
+        Method method = TransactionService.class.getMethod("listTransactions", int.class, int.class);
+        Object initial = keyGenerator.generate(null, method, 0, 20);
+        assertEquals(initial, keyGenerator.generate(null, method, 0, 20));
+        assertNotEquals(initial, keyGenerator.generate(null, method, 1, 20));
+
+        storage.save(new Transaction("txn-1", "acc-1", 1.0, TransactionType.DEPOSIT, null, "Test"));
+        Object afterSave = keyGenerator.generate(null, method, 0, 20);
+        assertNotEquals(initial, afterSave);
+
+        storage.delete("txn-1");
+        assertNotEquals(afterSave, keyGenerator.generate(null, method, 0, 20));
+    }
+}
@@ -0,0 +1,129 @@
+package com.bank.transaction.service.id;
+
+import com.bank.transaction.model.TransactionIds;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    // 测试时钟回拨与同一毫秒内序号用尽时ID仍严格递增，字符串顺序与数值顺序一致
+    @Test
+    void nextId_WithClockRegression_ShouldStayMonotonic() {
+        MutableClock clock = new MutableClock(SnowflakeIdGenerator.EPOCH_MILLIS + 10_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, clock);
+        String previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                // 回拨5秒
+                clock.millis -= 5_000;
+            }
+            String next = generator.nextId();
+            assertTrue(next.compareTo(previous) > 0, previous + " -> " + next);
+            previous = next;
+        }
+        assertEquals(7, (TransactionIds.parseCompact(previous) >>> SnowflakeIdGenerator.SEQUENCE_BITS)
+                & SnowflakeIdGenerator.MAX_NODE_ID);
+    }
+
+    // 测试重启后按已持久化的最大ID续接：即使时钟回拨到更早，也不会重发同一毫秒内的ID（包括其他节点发出的最大ID）
+    @Test
+    void advancePast_AfterRestartWithClockRegression_ShouldNotReissue() {
+        MutableClock clock = new MutableClock(SnowflakeIdGenerator.EPOCH_MILLIS + 10_000);
+        SnowflakeIdGenerator before = new SnowflakeIdGenerator(1, clock);
+        List<Long> issued = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            issued.add(before.nextLong());
+        }
+        long otherNode = new SnowflakeIdGenerator(2, clock).nextLong();
+
+        clock.millis -= 1_000;
+        SnowflakeIdGenerator restarted = new SnowflakeIdGenerator(1, clock);
+        restarted.advancePast(otherNode);
+
+        long next = restarted.nextLong();
+        assertTrue(next > otherNode);
+        assertTrue(next > issued.get(issued.size() - 1));
+    }
+
+    // 测试多线程并发生成不重复
+    @Test
+    void nextLong_Concurrently_ShouldBeUnique() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Clock.systemUTC());
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        ids.add(generator.nextLong());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(200_000, ids.size());
+    }
+
+    // 测试紧凑ID编解码：只接受规范形式
+    @Test
+    void compactIds_ShouldRoundTripCanonicalFormOnly() {
+        Set<String> seen = new HashSet<>();
+        for (long value : new long[]{0, 1, 31, 32, Long.MAX_VALUE, 1L << 40}) {
+            String id = TransactionIds.formatCompact(value);
+            assertEquals(TransactionIds.COMPACT_LENGTH, id.length());
+            assertEquals(value, TransactionIds.parseCompact(id));
+            assertTrue(seen.add(id));
+        }
+        assertEquals(-1, TransactionIds.parseCompact("0123456789abc"));
+        assertEquals(-1, TransactionIds.parseCompact("8000000000000"));
+        assertEquals(-1, TransactionIds.parseCompact("0123456789ABI"));
+        assertEquals(-1, TransactionIds.parseCompact("123e4567-e89b-42d3-a456-426614174000"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bank.transaction.service.impl;
+
+import com.bank.transaction.dto.CursorPageResponse;
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.service.TransactionService;
+import com.bank.transaction.service.importer.TransactionImporter;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.bank.transaction.model.Transaction.TransactionType.DEPOSIT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class ReactiveTransactionServiceImplTest {
+    private final TransactionService transactionService = Mockito.mock(TransactionService.class);
+    private final ReactiveTransactionServiceImpl reactiveService = new ReactiveTransactionServiceImpl(
+            transactionService, Mockito.mock(TransactionImporter.class), Schedulers.immediate(), Schedulers.immediate());
+
+    // 测试流式读取按下游请求逐块拉取，未请求的块不会被读取
+    @Test
+    void streamTransactions_ShouldReadNextChunkOnlyOnDemand() {
+        // 模拟服务层行为：两块数据，第二块为最后一块
+        when(transactionService.exportChunk(isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(new CursorPageResponse<>(List.of(transaction("1"), transaction("2")), 2, "c1"));
+        when(transactionService.exportChunk(isNull(), isNull(), isNull(), eq("c1")))
+                .thenReturn(new CursorPageResponse<>(List.of(transaction("3")), 2, null));
+
+        // 执行并验证
+        StepVerifier.create(reactiveService.streamTransactions(null, null, null), 1)
+                .expectNextMatches(t -> t.id().equals("1"))
+                .then(() -> verify(transactionService, never())
+                        .exportChunk(isNull(), isNull(), isNull(), eq("c1")))
+                .thenRequest(1)
+                .expectNextMatches(t -> t.id().equals("2"))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextMatches(t -> t.id().equals("3"))
+                .verifyComplete();
+        verify(transactionService, times(2)).exportChunk(any(), any(), any(), any());
+    }
+
+    // 测试同步服务抛出的业务异常转换为错误信号
+    @Test
+    void createTransaction_WhenServiceThrows_ShouldEmitError() {
+        // 模拟服务层行为
+        when(transactionService.createTransaction(any(), isNull()))
+                .thenThrow(new BusinessException(ErrorCode.DUPLICATE_TRANSACTION));
+
+        // 执行并验证
+        StepVerifier.create(reactiveService.createTransaction(null, null))
+                .expectErrorMatches(e -> e instanceof BusinessException be
+                        && be.getErrorCode() == ErrorCode.DUPLICATE_TRANSACTION)
+                .verify();
+    }
+
+    // 测试读操作切换到读取调度器执行，不占用订阅线程（事件循环）
+    @Test
+    void getTransaction_ShouldRunOnReadScheduler() {
+        Scheduler reader = Schedulers.newSingle("test-reader");
+        try {
+            ReactiveTransactionServiceImpl service = new ReactiveTransactionServiceImpl(transactionService,
+                    Mockito.mock(TransactionImporter.class), reader, Schedulers.immediate());
+            // 模拟服务层行为：以执行线程名作为记录ID返回
+            when(transactionService.getTransaction("1"))
+                    .thenAnswer(invocation -> transaction(Thread.currentThread().getName()));
+
+            // 执行并验证
+            StepVerifier.create(service.getTransaction("1"))
+                    .expectNextMatches(t -> t.id().startsWith("test-reader"))
+                    .verifyComplete();
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static Transaction transaction(String id) {
+        return new Transaction(id, "ACC-1", 10.0, DEPOSIT, LocalDateTime.now(), "stream");
+    }
+}
@@ -3,25 +3,55 @@ package com.bank.transaction.service.impl;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.bank.transaction.dto.AccountSummary;
+import com.bank.transaction.dto.CursorPageResponse;
 import com.bank.transaction.dto.PageResponse;
 import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.config.BatchProperties;
+import com.bank.transaction.config.IdempotencyProperties;
+import com.bank.transaction.dto.BatchItemResult;
+import com.bank.transaction.dto.BatchResponse;
 import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
 import com.bank.transaction.model.Transaction;
 import com.bank.transaction.model.Transaction.TransactionType;
+import com.bank.transaction.storage.TransactionCursor;
+import com.bank.transaction.service.balance.AccountBalanceView;
+import com.bank.transaction.service.id.IdGenerator;
+import com.bank.transaction.service.id.SnowflakeIdGenerator;
+import com.bank.transaction.service.idempotency.IdempotencyCache;
+import com.bank.transaction.service.shard.AccountShardExecutor;
+import com.bank.transaction.storage.PendingWrite;
 import com.bank.transaction.storage.TransactionStorage;
+import com.bank.transaction.storage.impl.InMemoryTransactionStorage;
 import com.bank.transaction.validation.validator.TransactionValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceImplTest {
@@ -35,6 +65,21 @@ class TransactionServiceImplTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Spy
+    private IdempotencyCache idempotencyCache = new IdempotencyCache(new IdempotencyProperties(100, Duration.ofMinutes(1)));
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties(3);
+
+    @Spy
+    private AccountShardExecutor shardExecutor = new AccountShardExecutor(2, 16);
+
+    @Spy
+    private AccountBalanceView balanceView = new AccountBalanceView();
+
+    @Spy
+    private IdGenerator idGenerator = new SnowflakeIdGenerator(1, Clock.systemDefaultZone());
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
@@ -55,23 +100,167 @@ class TransactionServiceImplTest {
     @Test
     void createTransaction_WithValidInput_ShouldReturnSavedTransaction() {
         doNothing().when(validator).validate(validDto);
-        when(storage.exists(validDto)).thenReturn(false);
-        when(storage.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(storage.reserve(validDto)).thenReturn(true);
+        when(storage.saveDeferred(any(Transaction.class))).thenAnswer(invocation -> new PendingWrite<>(invocation.getArgument(0), 1L));
 
         Transaction result = transactionService.createTransaction(validDto);
 
         assertNotNull(result.id());
         assertEquals(100.0, result.amount());
-        verify(storage, times(1)).save(any());
+        verify(storage, times(1)).saveDeferred(any());
+    }
+
+    // 测试落盘等待在调用线程上进行，不占用分片线程
+    @Test
+    void createTransaction_ShouldAwaitDurabilityOutsideShardThread() {
+        when(storage.reserve(validDto)).thenReturn(true);
+        when(storage.saveDeferred(any(Transaction.class))).thenAnswer(invocation -> new PendingWrite<>(invocation.getArgument(0), 7L));
+        List<String> awaitingThreads = new ArrayList<>();
+        doAnswer(invocation -> awaitingThreads.add(Thread.currentThread().getName()))
+                .when(storage).awaitDurable(7L);
+
+        transactionService.createTransaction(validDto);
+
+        assertEquals(List.of(Thread.currentThread().getName()), awaitingThreads);
     }
 
     @Test
     void createTransaction_WithDuplicateTransaction_ShouldThrowException() {
         doNothing().when(validator).validate(validDto);
-        when(storage.exists(validDto)).thenReturn(true);
+        when(storage.reserve(validDto)).thenReturn(false);
         assertThrows(BusinessException.class, () -> transactionService.createTransaction(validDto));
     }
 
+    // 测试幂等键重试直接回放首次结果
+    @Test
+    void createTransaction_WithRepeatedIdempotencyKey_ShouldReplayWithoutStorage() {
+        when(storage.reserve(validDto)).thenReturn(true);
+        when(storage.saveDeferred(any(Transaction.class))).thenAnswer(invocation -> new PendingWrite<>(invocation.getArgument(0), 1L));
+
+        Transaction first = transactionService.createTransaction(validDto, "key-1");
+        Transaction retried = transactionService.createTransaction(validDto, "key-1");
+
+        assertSame(first, retried);
+        verify(validator, times(1)).validate(validDto);
+        verify(storage, times(1)).saveDeferred(any());
+    }
+
+    @Test
+    void createTransaction_WithIdempotencyKeyForDifferentRequest_ShouldThrowException() {
+        when(storage.reserve(validDto)).thenReturn(true);
+        when(storage.saveDeferred(any(Transaction.class))).thenAnswer(invocation -> new PendingWrite<>(invocation.getArgument(0), 1L));
+        transactionService.createTransaction(validDto, "key-1");
+
+        TransactionDto other = new TransactionDto("acc-123", 200.0, TransactionType.DEPOSIT, "Salary");
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> transactionService.createTransaction(other, "key-1"));
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+    }
+
+    @Test
+    void createTransaction_WhenFirstAttemptFails_ShouldAllowRetryWithSameKey() {
+        when(storage.reserve(validDto)).thenReturn(false, true);
+        when(storage.saveDeferred(any(Transaction.class))).thenAnswer(invocation -> new PendingWrite<>(invocation.getArgument(0), 1L));
+
+        assertThrows(BusinessException.class, () -> transactionService.createTransaction(validDto, "key-1"));
+        assertNotNull(transactionService.createTransaction(validDto, "key-1"));
+    }
+
+    // 测试批量创建：逐条返回结果，批内重复与校验失败不影响其他记录
+    @Test
+    void createTransactions_WithMixedItems_ShouldReturnPerItemResults() {
+        TransactionDto blacklisted = new TransactionDto("BLACKLISTED_ACCOUNT", 1.0, TransactionType.DEPOSIT, "X");
+        List<TransactionDto> dtos = List.of(validDto, blacklisted, validDto);
+        when(validator.validateAll(dtos)).thenReturn(new ErrorCode[]{null, ErrorCode.ACCOUNT_BLACKLISTED, null});
+        when(storage.reserve(validDto)).thenReturn(true, false);
+        when(storage.saveAllDeferred(anyList())).thenAnswer(invocation -> new PendingWrite<>(invocation.getArgument(0), 1L));
+
+        BatchResponse response = transactionService.createTransactions(dtos);
+
+        assertEquals(1, response.created());
+        assertEquals(2, response.failed());
+        assertEquals(BatchItemResult.Status.CREATED, response.results().get(0).status());
+        assertEquals(ErrorCode.ACCOUNT_BLACKLISTED.getCode(), response.results().get(1).code());
+        assertEquals(ErrorCode.DUPLICATE_TRANSACTION.getCode(), response.results().get(2).code());
+        verify(storage, times(1)).saveAllDeferred(argThat(list -> list.size() == 1));
+        verify(storage, times(1)).awaitDurable(1L);
+    }
+
+    // 测试批量创建按分片写入：占用指纹在分片线程上执行，被拒绝的分片只影响其中的记录
+    @Test
+    void createTransactions_ShouldWriteThroughAccountShards() {
+        String first = "acc-0";
+        String second = "acc-1";
+        while (shardExecutor.shardOf(second) == shardExecutor.shardOf(first)) {
+            second = second + "1";
+        }
+        TransactionDto firstDto = new TransactionDto(first, 1.0, TransactionType.DEPOSIT, "A");
+        TransactionDto secondDto = new TransactionDto(second, 2.0, TransactionType.DEPOSIT, "B");
+        List<TransactionDto> dtos = List.of(firstDto, secondDto, firstDto);
+        when(validator.validateAll(dtos)).thenReturn(new ErrorCode[3]);
+        List<String> reserveThreads = new ArrayList<>();
+        when(storage.reserve(firstDto)).thenAnswer(invocation -> {
+            reserveThreads.add(Thread.currentThread().getName());
+            return reserveThreads.size() == 1;
+        });
+        when(storage.saveAllDeferred(anyList())).thenAnswer(invocation -> new PendingWrite<>(invocation.getArgument(0), 5L));
+        doThrow(new BusinessException(ErrorCode.SERVICE_UNAVAILABLE))
+                .when(shardExecutor).submit(eq(second), any(Supplier.class));
+
+        BatchResponse response = transactionService.createTransactions(dtos);
+
+        assertEquals(1, response.created());
+        assertEquals(BatchItemResult.Status.CREATED, response.results().get(0).status());
+        assertEquals(ErrorCode.SERVICE_UNAVAILABLE.getCode(), response.results().get(1).code());
+        assertEquals(ErrorCode.DUPLICATE_TRANSACTION.getCode(), response.results().get(2).code());
+        assertEquals(2, reserveThreads.size());
+        assertTrue(reserveThreads.stream().noneMatch(Thread.currentThread().getName()::equals));
+        verify(storage, never()).reserve(secondDto);
+        verify(storage, times(1)).awaitDurable(5L);
+    }
+
+    // 测试各分片的批量写入并行执行，某个分片写入失败时只标记该分片的记录，已写入的部分仍等待落盘
+    @Test
+    void createTransactions_WhenOneShardFails_ShouldRunShardsInParallelAndKeepOthers() {
+        String first = "acc-0";
+        String second = "acc-1";
+        while (shardExecutor.shardOf(second) == shardExecutor.shardOf(first)) {
+            second = second + "1";
+        }
+        TransactionDto firstDto = new TransactionDto(first, 1.0, TransactionType.DEPOSIT, "A");
+        TransactionDto secondDto = new TransactionDto(second, 2.0, TransactionType.DEPOSIT, "B");
+        List<TransactionDto> dtos = List.of(secondDto, firstDto);
+        when(validator.validateAll(dtos)).thenReturn(new ErrorCode[2]);
+        when(storage.reserve(any())).thenReturn(true);
+        // 两个分片的写入互相等待对方开始，串行执行时会超时失败
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(storage.saveAllDeferred(anyList())).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            List<Transaction> transactions = invocation.getArgument(0);
+            if (transactions.get(0).accountId().equals(first)) {
+                throw new IllegalStateException("disk full");
+            }
+            return new PendingWrite<>(transactions, 7L);
+        });
+
+        BatchResponse response = transactionService.createTransactions(dtos);
+
+        assertEquals(1, response.created());
+        assertEquals(BatchItemResult.Status.CREATED, response.results().get(0).status());
+        assertEquals(ErrorCode.INTERNAL_SERVER_ERROR.getCode(), response.results().get(1).code());
+        verify(storage).release(firstDto);
+        verify(storage, times(1)).awaitDurable(7L);
+    }
+
+    @Test
+    void createTransactions_WithTooManyItems_ShouldThrowException() {
+        List<TransactionDto> dtos = List.of(validDto, validDto, validDto, validDto);
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> transactionService.createTransactions(dtos));
+        assertEquals(ErrorCode.BATCH_TOO_LARGE, exception.getErrorCode());
+    }
+
     // 测试查询交易
     @Test
     void getTransaction_WithExistingId_ShouldReturnTransaction() {
@@ -90,21 +279,198 @@ class TransactionServiceImplTest {
     @Test
     void updateTransaction_WithValidInput_ShouldUpdateFields() {
         when(storage.findById("txn-123")).thenReturn(Optional.of(existingTransaction));
-        when(storage.exists(validDto)).thenReturn(false);
-        when(storage.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(storage.reserve(validDto)).thenReturn(true);
+        when(storage.saveDeferred(any(Transaction.class))).thenAnswer(invocation -> new PendingWrite<>(invocation.getArgument(0), 1L));
 
         Transaction result = transactionService.updateTransaction("txn-123", validDto);
 
         assertEquals("Salary", result.description());
-        verify(storage, times(1)).save(any());
+        verify(storage, times(1)).saveDeferred(any());
     }
 
     @Test
     void updateTransaction_WithDuplicateTransaction_ShouldThrowException() {
         when(storage.findById("txn-123")).thenReturn(Optional.of(existingTransaction));
-        when(storage.exists(validDto)).thenReturn(true);
+        when(storage.reserve(validDto)).thenReturn(false);
         assertThrows(BusinessException.class,
                 () -> transactionService.updateTransaction("txn-123", validDto));
+        verify(storage, never()).saveDeferred(any());
+    }
+
+    @Test
+    void updateTransaction_WithUnchangedContent_ShouldNotReserveFingerprint() {
+        TransactionDto unchanged = new TransactionDto("acc-123", 50.0, TransactionType.DEPOSIT, "Old Description");
+        when(storage.findById("txn-123")).thenReturn(Optional.of(existingTransaction));
+        when(storage.saveDeferred(any(Transaction.class))).thenAnswer(invocation -> new PendingWrite<>(invocation.getArgument(0), 1L));
+
+        transactionService.updateTransaction("txn-123", unchanged);
+
+        verify(storage, never()).reserve(any());
+    }
+
+    // 测试删除交易在所属账户分片上执行
+    @Test
+    void deleteTransaction_WithExistingId_ShouldDeleteOnAccountShard() {
+        when(storage.findById("txn-123")).thenReturn(Optional.of(existingTransaction));
+
+        transactionService.deleteTransaction("txn-123");
+
+        verify(shardExecutor).execute(eq("acc-123"), any(Supplier.class));
+        verify(storage, times(1)).deleteDeferred("txn-123");
+    }
+
+    // 测试同一ID上跨账户的更新与删除并发执行时，删除不会被更新写回
+    @Test
+    void updateAndDelete_Concurrently_ShouldNotReviveDeletedRecord() throws Exception {
+        AccountShardExecutor executor = new AccountShardExecutor(4, 64);
+        TransactionStorage realStorage = slowMoveStorage();
+        TransactionServiceImpl service = new TransactionServiceImpl(realStorage, validator, idempotencyCache,
+                batchProperties, executor, new AccountBalanceView(), idGenerator, cacheManager);
+        try {
+            List<String> ids = raceMovesAndDeletes(service, executor, 100);
+            for (String id : ids) {
+                assertTrue(realStorage.findById(id).isEmpty(), id);
+            }
+            assertEquals(0, realStorage.count());
+        } finally {
+            executor.close();
+        }
+    }
+
+    // 测试跨账户更新与删除并发执行后，各账户汇总与存储中的记录逐项一致（不会重复扣除旧账户）
+    @Test
+    void moveAndDelete_Concurrently_ShouldKeepSummariesEqualToStoredRecords() throws Exception {
+        AccountShardExecutor executor = new AccountShardExecutor(4, 64);
+        TransactionStorage realStorage = slowMoveStorage();
+        AccountBalanceView view = new AccountBalanceView();
+        TransactionServiceImpl service = new TransactionServiceImpl(realStorage, validator, idempotencyCache,
+                batchProperties, executor, view, idGenerator, cacheManager);
+        try {
+            for (int i = 0; i < 5; i++) {
+                service.createTransaction(new TransactionDto("acc-" + i, 7.0 + i, TransactionType.DEPOSIT, "stable"));
+            }
+            raceMovesAndDeletes(service, executor, 100);
+
+            for (int i = 0; i < 5; i++) {
+                String account = "acc-" + i;
+                BigDecimal balance = BigDecimal.ZERO;
+                List<Transaction> stored = realStorage.findByAccount(account, 0, 1_000);
+                for (Transaction transaction : stored) {
+                    BigDecimal amount = BigDecimal.valueOf(transaction.amount());
+                    balance = transaction.type() == TransactionType.DEPOSIT ? balance.add(amount) : balance.subtract(amount);
+                }
+                AccountSummary summary = view.summary(account).orElseThrow();
+                assertEquals(0, balance.compareTo(summary.balance()), account);
+                assertEquals(stored.size(), summary.transactionCount(), account);
+            }
+        } finally {
+            executor.close();
+        }
+    }
+
+    /**
+     * 更新（移动账户）写入前停顿，放大读取与写入之间的竞争窗口
+     */
+    private static TransactionStorage slowMoveStorage() {
+        return new InMemoryTransactionStorage() {
+            @Override
+            public PendingWrite<Transaction> saveDeferred(Transaction transaction) {
+                if (transaction.description().startsWith("moved")) {
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.saveDeferred(transaction);
+            }
+        };
+    }
+
+    /**
+     * 每轮在第一个账户创建一条记录，然后并发执行：移到第二个账户、移到第三个账户、删除；三个账户位于不同分片
+     *
+     * @return 各轮创建的记录ID
+     */
+    private static List<String> raceMovesAndDeletes(TransactionServiceImpl service, AccountShardExecutor executor,
+                                                    int rounds) throws Exception {
+        List<String> accounts = new ArrayList<>();
+        for (int n = 0; accounts.size() < 3; n++) {
+            String account = "acc-" + n;
+            if (accounts.stream().noneMatch(a -> executor.shardOf(a) == executor.shardOf(account))) {
+                accounts.add(account);
+            }
+        }
+        List<String> ids = new ArrayList<>();
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            for (int i = 0; i < rounds; i++) {
+                String id = service.createTransaction(
+                        new TransactionDto(accounts.get(0), 10.0, TransactionType.DEPOSIT, "tx-" + i)).id();
+                ids.add(id);
+                CountDownLatch start = new CountDownLatch(1);
+                String description = "moved-" + i;
+                List<Future<?>> futures = List.of(
+                        callers.submit(() -> moveIgnoringNotFound(service, start, id,
+                                new TransactionDto(accounts.get(1), 20.0, TransactionType.DEPOSIT, description))),
+                        callers.submit(() -> moveIgnoringNotFound(service, start, id,
+                                new TransactionDto(accounts.get(2), 30.0, TransactionType.WITHDRAWAL, description))),
+                        callers.submit(() -> {
+                            start.await();
+                            service.deleteTransaction(id);
+                            return null;
+                        }));
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+        } finally {
+            callers.shutdown();
+        }
+        return ids;
+    }
+
+    private static Void moveIgnoringNotFound(TransactionServiceImpl service, CountDownLatch start, String id,
+                                             TransactionDto dto) throws InterruptedException {
+        start.await();
+        try {
+            service.updateTransaction(id, dto);
+        } catch (BusinessException e) {
+            assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, e.getErrorCode());
+        }
+        return null;
+    }
+
+    // 测试创建、更新、删除同步维护账户汇总，记录全部删除后账户汇总返回不存在
+    @Test
+    void writes_ShouldKeepAccountSummaryInSync() {
+        when(storage.reserve(any(TransactionDto.class))).thenReturn(true);
+        when(storage.saveDeferred(any(Transaction.class))).thenAnswer(invocation -> new PendingWrite<>(invocation.getArgument(0), 1L));
+        Transaction created = transactionService.createTransaction(validDto);
+        assertEquals(0, new BigDecimal("100.0").compareTo(transactionService.getAccountSummary("acc-123").balance()));
+
+        when(storage.findById(created.id())).thenReturn(Optional.of(created));
+        Transaction updated = transactionService.updateTransaction(created.id(),
+                new TransactionDto("acc-123", 30.0, TransactionType.WITHDRAWAL, "Rent"));
+        AccountSummary summary = transactionService.getAccountSummary("acc-123");
+        assertEquals(0, new BigDecimal("-30.0").compareTo(summary.balance()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary.totalDeposits()));
+        assertEquals(1, summary.transactionCount());
+
+        when(storage.findById(created.id())).thenReturn(Optional.of(updated));
+        transactionService.deleteTransaction(created.id());
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> transactionService.getAccountSummary("acc-123"));
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+    }
+
+    // 测试没有交易记录的账户汇总返回不存在
+    @Test
+    void getAccountSummary_WithUnknownAccount_ShouldThrowNotFound() {
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> transactionService.getAccountSummary("unknown"));
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
     }
 
     // 测试删除交易
@@ -116,7 +482,7 @@ class TransactionServiceImplTest {
 //
 //        transactionService.deleteTransaction("txn-123");
 //
-//        verify(storage, times(1)).delete("txn-123");
+//        verify(storage, times(1)).deleteDeferred("txn-123");
 //    }
 
     // 测试分页查询
@@ -131,4 +497,134 @@ class TransactionServiceImplTest {
         assertEquals(1, result.content().size());
         assertEquals(1, result.totalPages());
     }
+
+    // 测试时间范围分页查询
+    @Test
+    void listTransactionsBetween_ShouldQueryStorageByTimeRange() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime to = from.plusHours(1);
+        when(storage.findByTimeRange(from, to, 0, 10)).thenReturn(List.of(existingTransaction));
+        when(storage.countByTimeRange(from, to)).thenReturn(11L);
+
+        PageResponse<Transaction> result = transactionService.listTransactionsBetween(from, to, 0, 10);
+
+        assertEquals(1, result.content().size());
+        assertEquals(11, result.totalElements());
+        assertEquals(2, result.totalPages());
+    }
+
+    @Test
+    void listTransactionsBetween_WithInvertedRange_ShouldThrowException() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> transactionService.listTransactionsBetween(from, from, 0, 10));
+        assertEquals(ErrorCode.INVALID_TIME_RANGE, exception.getErrorCode());
+        verify(storage, never()).findByTimeRange(any(), any(), anyInt(), anyInt());
+    }
+
+    // 测试游标分页
+    @Test
+    void listTransactionsAfter_WithMoreData_ShouldReturnNextCursor() {
+        Transaction second = new Transaction("txn-456", "acc-456", 20.0, TransactionType.DEPOSIT,
+                LocalDateTime.now(), "Second");
+        when(storage.findAfter(null, 2)).thenReturn(List.of(existingTransaction, second));
+
+        CursorPageResponse<Transaction> result = transactionService.listTransactionsAfter("", 1);
+
+        assertEquals(1, result.content().size());
+        assertEquals(TransactionCursor.of(existingTransaction), TransactionCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    void listTransactionsAfter_WithInvalidCursor_ShouldThrowException() {
+        assertThrows(BusinessException.class, () -> transactionService.listTransactionsAfter("%%%", 10));
+    }
+
+    // 测试时间字段越界的游标返回分页参数错误，而不是未处理的日期异常
+    @Test
+    void listTransactionsAfter_WithOutOfRangeCursor_ShouldThrowInvalidPageRequest() {
+        for (long[] fields : new long[][]{{0, 1_000_000_000}, {0, -1}, {Long.MAX_VALUE, 0}, {Long.MIN_VALUE + 1, 0}}) {
+            ByteBuffer buffer = ByteBuffer.allocate(13).putLong(fields[0]).putInt((int) fields[1]).put((byte) 'x');
+            String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+
+            BusinessException exception = assertThrows(BusinessException.class,
+                    () -> transactionService.listTransactionsAfter(cursor, 10));
+            assertEquals(ErrorCode.INVALID_PAGE_REQUEST, exception.getErrorCode());
+        }
+    }
+
+    // 测试流式导出：账户导出未指定结束时间时按账户索引分块读取直到不足一块，并按起始时间过滤
+    @Test
+    void exportTransactions_ShouldReadChunksAndFilterByTimeRange() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<Transaction> firstChunk = new ArrayList<>();
+        for (int i = 0; i < 512; i++) {
+            firstChunk.add(new Transaction("txn-" + i, "acc-1", 1.0, TransactionType.DEPOSIT,
+                    base.plusSeconds(i), "Export"));
+        }
+        Transaction late = new Transaction("txn-late", "acc-1", 1.0, TransactionType.DEPOSIT,
+                base.plusDays(1), "Export");
+        TransactionCursor start = new TransactionCursor(base.plusSeconds(10), "");
+        when(storage.findByAccountAfter("acc-1", start, 512)).thenReturn(firstChunk);
+        when(storage.findByAccountAfter("acc-1", TransactionCursor.of(firstChunk.get(511)), 512))
+                .thenReturn(List.of(late));
+
+        List<Transaction> exported = new ArrayList<>();
+        transactionService.exportTransactions("acc-1", base.plusSeconds(10), null, exported::add);
+
+        assertEquals(503, exported.size());
+        assertEquals("txn-10", exported.get(0).id());
+        assertEquals("txn-late", exported.get(502).id());
+        verify(storage, times(2)).findByAccountAfter(eq("acc-1"), any(), eq(512));
+    }
+
+    // 测试账户导出带结束时间时按账户的时间范围定位，不再读取账户在结束时间之后的记录
+    @Test
+    void exportTransactions_ForAccountWithEndTime_ShouldSeekAccountTimeRange() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Transaction inRange = new Transaction("txn-1", "acc-1", 1.0, TransactionType.DEPOSIT,
+                base.plusSeconds(5), "Export");
+        TransactionCursor start = new TransactionCursor(base, "");
+        when(storage.findByAccountTimeRangeAfter("acc-1", start, base.plusSeconds(10), 512))
+                .thenReturn(List.of(inRange));
+
+        List<Transaction> exported = new ArrayList<>();
+        transactionService.exportTransactions("acc-1", base, base.plusSeconds(10), exported::add);
+
+        assertEquals(List.of(inRange), exported);
+        verify(storage, never()).findByAccountAfter(any(), any(), anyInt());
+    }
+
+    // 测试不限账户且带结束时间的导出按时间范围定位，不再读取结束时间之后的记录
+    @Test
+    void exportTransactions_WithEndTime_ShouldSeekTimeRange() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Transaction inRange = new Transaction("txn-1", "acc-1", 1.0, TransactionType.DEPOSIT,
+                base.plusSeconds(5), "Export");
+        TransactionCursor start = new TransactionCursor(base, "");
+        when(storage.findByTimeRangeAfter(start, base.plusSeconds(10), 512)).thenReturn(List.of(inRange));
+
+        List<Transaction> exported = new ArrayList<>();
+        transactionService.exportTransactions(null, base, base.plusSeconds(10), exported::add);
+
+        assertEquals(List.of(inRange), exported);
+        verify(storage, never()).findAfter(any(), anyInt());
+    }
+
+    // 测试缓存预热：热点ID来自缓存频率统计，预热时从存储加载写回缓存
+    @Test
+    void hotTransactionIdsAndWarmTransaction_ShouldUseTransactionsCache() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+        Cache cache = caffeineCacheManager.getCache("transactions");
+        when(cacheManager.getCache("transactions")).thenReturn(cache);
+        when(storage.findById("txn-123")).thenReturn(Optional.of(existingTransaction));
+        when(storage.findById("txn-404")).thenReturn(Optional.empty());
+
+        assertTrue(transactionService.warmTransaction("txn-123"));
+        assertFalse(transactionService.warmTransaction("txn-404"));
+        assertSame(existingTransaction, cache.get("txn-123").get());
+        assertEquals(List.of("txn-123"), transactionService.hotTransactionIds(10));
+    }
 }
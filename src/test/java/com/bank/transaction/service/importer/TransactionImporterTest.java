@@ -0,0 +1,131 @@
+package com.bank.transaction.service.importer;
+
+import com.bank.transaction.config.BatchProperties;
+import com.bank.transaction.config.CborConfig;
+import com.bank.transaction.config.ImportProperties;
+import com.bank.transaction.dto.BatchItemResult;
+import com.bank.transaction.dto.BatchResponse;
+import com.bank.transaction.dto.ImportReport;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.monitoring.ErrorMetrics;
+import com.bank.transaction.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TransactionImporterTest {
+    private TransactionService transactionService;
+    private CacheManager cacheManager;
+    private SimpleMeterRegistry registry;
+    private TransactionImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        transactionService = mock(TransactionService.class);
+        cacheManager = new ConcurrentMapCacheManager("transactions");
+        // 每块2条，最多保留2条错误
+        registry = new SimpleMeterRegistry();
+        importer = new TransactionImporter(transactionService, new ObjectMapper(), cacheManager,
+                new ErrorMetrics(registry), new ImportProperties(2, 2), new BatchProperties(5000));
+
+        // 模拟服务层：描述为"dup"的记录视为重复，其余创建成功
+        when(transactionService.createTransactions(anyList())).thenAnswer(invocation -> {
+            List<TransactionDto> dtos = invocation.getArgument(0);
+            List<BatchItemResult> results = new ArrayList<>();
+            int created = 0;
+            for (int i = 0; i < dtos.size(); i++) {
+                TransactionDto dto = dtos.get(i);
+                if ("dup".equals(dto.description())) {
+                    results.add(BatchItemResult.failed(i, ErrorCode.DUPLICATE_TRANSACTION));
+                } else {
+                    created++;
+                    results.add(BatchItemResult.created(i, new Transaction("id-" + dto.amount(), dto.accountId(),
+                            dto.amount(), dto.type(), LocalDateTime.now(), dto.description())));
+                }
+            }
+            return new BatchResponse(dtos.size(), created, dtos.size() - created, results);
+        });
+    }
+
+    // 测试按块导入，解析错误和业务错误都按原始行号报告，解析错误计入错误指标
+    @Test
+    void importNdjson_WithMixedLines_ShouldReportLineErrors() throws Exception {
+        String body = """
+                {"accountId":"acc-1","amount":1,"type":"DEPOSIT","description":"a"}
+
+                {not json}
+                {"accountId":"acc-1","amount":2,"type":"DEPOSIT","description":"dup"}
+                {"accountId":"acc-1","amount":3,"type":"DEPOSIT","description":"c"}
+                """;
+
+        ImportReport report = importer.importNdjson(stream(body), false);
+
+        assertEquals(4, report.total());
+        assertEquals(2, report.imported());
+        assertEquals(2, report.failed());
+        assertEquals(3, report.errors().get(0).line());
+        assertEquals(ErrorCode.INVALID_TRANSACTION_DATA.getCode(), report.errors().get(0).code());
+        assertEquals(4, report.errors().get(1).line());
+        assertEquals(ErrorCode.DUPLICATE_TRANSACTION.getCode(), report.errors().get(1).code());
+        assertFalse(report.errorsTruncated());
+        verify(transactionService, times(2)).createTransactions(anyList());
+        assertNull(cacheManager.getCache("transactions").get("id-1.0"));
+        assertEquals(1, registry.get("transaction.errors")
+                .tag("code", ErrorCode.INVALID_TRANSACTION_DATA.getCode()).counter().count());
+    }
+
+    // 测试错误数超过上限时截断，并按需写入缓存
+    @Test
+    void importNdjson_WithTooManyErrors_ShouldTruncateAndCache() throws Exception {
+        String body = "x\ny\nz\n{\"accountId\":\"acc-1\",\"amount\":1,\"type\":\"DEPOSIT\",\"description\":\"a\"}\n";
+
+        ImportReport report = importer.importNdjson(stream(body), true);
+
+        assertEquals(3, report.failed());
+        assertEquals(2, report.errors().size());
+        assertTrue(report.errorsTruncated());
+        assertNotNull(cacheManager.getCache("transactions").get("id-1.0"));
+    }
+
+    // 测试CBOR序列按记录序号报告错误，解码失败后停止读取
+    @Test
+    void importCborSequence_WithTrailingGarbage_ShouldStopAtBrokenRecord() throws Exception {
+        ObjectMapper cborMapper = CborConfig.cborMapper(new ObjectMapper());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(cborMapper.writeValueAsBytes(new TransactionDto("acc-1", 1, Transaction.TransactionType.DEPOSIT, "a")));
+        body.write(cborMapper.writeValueAsBytes(new TransactionDto("acc-1", 2, Transaction.TransactionType.DEPOSIT, "dup")));
+        body.write(cborMapper.writeValueAsBytes(new TransactionDto("acc-1", 3, Transaction.TransactionType.DEPOSIT, "c")));
+        // 0xFF 单独出现不是合法的CBOR数据项
+        body.write(0xFF);
+        body.write(cborMapper.writeValueAsBytes(new TransactionDto("acc-1", 4, Transaction.TransactionType.DEPOSIT, "d")));
+
+        ImportReport report = importer.importCborSequence(new ByteArrayInputStream(body.toByteArray()), false);
+
+        assertEquals(4, report.total());
+        assertEquals(2, report.imported());
+        assertEquals(2, report.errors().get(0).line());
+        assertEquals(ErrorCode.DUPLICATE_TRANSACTION.getCode(), report.errors().get(0).code());
+        assertEquals(4, report.errors().get(1).line());
+        assertEquals(ErrorCode.INVALID_TRANSACTION_DATA.getCode(), report.errors().get(1).code());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
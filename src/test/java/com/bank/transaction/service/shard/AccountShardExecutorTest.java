@@ -0,0 +1,158 @@
+package com.bank.transaction.service.shard;
+
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountShardExecutorTest {
+    private final AccountShardExecutor executor = new AccountShardExecutor(4, 2);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    // 测试同一账户的读-判断-写在分片上串行，不丢失更新
+    @Test
+    void execute_SameAccountConcurrently_ShouldSerialize() throws Exception {
+        int[] counter = new int[1];
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            futures.add(callers.submit(() -> executor.execute("acc-1", () -> {
+                counter[0] = counter[0] + 1;
+            })));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        callers.shutdown();
+        assertEquals(1_000, counter[0]);
+    }
+
+    // 测试任务异常原样抛给调用方
+    @Test
+    void execute_WhenTaskThrows_ShouldRethrowToCaller() {
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> executor.execute("acc-1", () -> {
+                    throw new BusinessException(ErrorCode.DUPLICATE_TRANSACTION);
+                }));
+        assertEquals(ErrorCode.DUPLICATE_TRANSACTION, exception.getErrorCode());
+    }
+
+    // 测试分片队列满时拒绝新任务
+    @Test
+    void execute_WhenQueueIsFull_ShouldReject() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        callers.submit(() -> executor.execute("acc-1", () -> {
+            started.countDown();
+            await(release);
+        }));
+        started.await();
+        int shard = executor.shardOf("acc-1");
+        callers.submit(() -> executor.execute("acc-1", () -> { }));
+        callers.submit(() -> executor.execute("acc-1", () -> { }));
+        while (executor.queueDepth(shard) < 2) {
+            Thread.onSpinWait();
+        }
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> executor.execute("acc-1", () -> { }));
+        assertEquals(ErrorCode.SERVICE_UNAVAILABLE, exception.getErrorCode());
+
+        release.countDown();
+        callers.shutdown();
+    }
+
+    // 测试等待超时时返回服务不可用，且尚未开始的任务被取消、不再执行
+    @Test
+    void execute_WhenWaitTimesOut_ShouldRejectAndCancel() throws Exception {
+        AccountShardExecutor slow = new AccountShardExecutor(1, 4, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        callers.submit(() -> slow.execute("acc-1", () -> {
+            started.countDown();
+            await(release);
+        }));
+        started.await();
+
+        AtomicBoolean ran = new AtomicBoolean();
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> slow.execute("acc-1", () -> ran.set(true)));
+        assertEquals(ErrorCode.SERVICE_UNAVAILABLE, exception.getErrorCode());
+
+        release.countDown();
+        callers.shutdown();
+        slow.close();
+        assertFalse(ran.get());
+    }
+
+    // 测试已开始的任务超过等待时间时，调用方仍等到它的结果，不会把已生效的写入报告为失败
+    @Test
+    void execute_WhenStartedTaskOutlivesTimeout_ShouldReturnItsResult() {
+        AccountShardExecutor slow = new AccountShardExecutor(1, 4, Duration.ofMillis(20));
+        try {
+            String result = slow.execute("acc-1", () -> {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "written";
+            });
+            assertEquals("written", result);
+        } finally {
+            slow.close();
+        }
+    }
+
+    // 测试关闭与提交并发时，每个已提交的任务都会执行完或被拒绝，调用方不会一直等待
+    @Test
+    void close_ConcurrentlyWithSubmissions_ShouldNotStrandCallers() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            AccountShardExecutor closing = new AccountShardExecutor(2, 1024);
+            ExecutorService callers = Executors.newFixedThreadPool(4);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(callers.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        try {
+                            closing.execute("acc-" + j, () -> { });
+                        } catch (BusinessException e) {
+                            assertEquals(ErrorCode.SERVICE_UNAVAILABLE, e.getErrorCode());
+                        }
+                    }
+                }));
+            }
+            closing.close();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            callers.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.transaction.storage.dedup;
+
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintSetTest {
+    private final FingerprintSet set = new FingerprintSet(Duration.ofSeconds(10));
+
+    // 测试字段边界不同的内容指纹不同
+    @Test
+    void fingerprint_WithShiftedFieldBoundary_ShouldDiffer() {
+        Fingerprint a = Fingerprint.of(new TransactionDto("acc-1", 1.0, TransactionType.DEPOSIT, "2x"));
+        Fingerprint b = Fingerprint.of(new TransactionDto("acc-12", 1.0, TransactionType.DEPOSIT, "x"));
+        assertNotEquals(a, b);
+        assertEquals(a, Fingerprint.of(new TransactionDto("acc-1", 1.0, TransactionType.DEPOSIT, "2x")));
+    }
+
+    // 测试去重窗口过期
+    @Test
+    void add_AfterWindowExpires_ShouldAcceptAgain() {
+        Fingerprint fingerprint = new Fingerprint(1, 2);
+        assertTrue(set.add(fingerprint, 1_000));
+        assertFalse(set.add(fingerprint, 5_000));
+        assertTrue(set.contains(fingerprint, 10_999));
+        assertFalse(set.contains(fingerprint, 11_000));
+        assertTrue(set.add(fingerprint, 11_000));
+    }
+
+    // 测试大量写入、删除后探测链仍然正确
+    @Test
+    void addAndRemove_ManyEntries_ShouldKeepProbeChainsConsistent() {
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.add(new Fingerprint(i, i * 31L), 1_000));
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            assertTrue(set.remove(new Fingerprint(i, i * 31L)));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 2 == 1, set.contains(new Fingerprint(i, i * 31L), 1_000));
+        }
+        assertEquals(5_000, set.size());
+    }
+
+    // 测试过期指纹在扩容重建时被清理，内存不随历史总量增长
+    @Test
+    void add_WithRollingWindow_ShouldStayBounded() {
+        for (int i = 0; i < 100_000; i++) {
+            set.add(new Fingerprint(i, i * 31L), i);
+        }
+        assertTrue(set.size() < 30_000);
+    }
+}
@@ -3,9 +3,11 @@ package com.bank.transaction.storage.impl;
 import com.bank.transaction.dto.TransactionDto;
 import com.bank.transaction.model.Transaction;
 import com.bank.transaction.model.Transaction.TransactionType;
+import com.bank.transaction.storage.TransactionCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.util.DigestUtils;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
@@ -69,6 +71,157 @@ class InMemoryTransactionStorageTest {
         assertNotEquals(page1.get(1).id(), page2.get(0).id());
     }
 
+    // 测试游标分页按时间顺序返回且不受新写入影响
+    @Test
+    void findAfter_ShouldReturnStableTimeOrderedPages() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 1; i <= 5; i++) {
+            storage.save(new Transaction("txn-" + i, "acc-" + i, 10.0 * i, TransactionType.TRANSFER, base.plusMinutes(i), "Test"));
+        }
+        List<Transaction> page1 = storage.findAfter(null, 2);
+        assertEquals(List.of("txn-1", "txn-2"), page1.stream().map(Transaction::id).toList());
+
+        // 在已读取位置之前插入新记录，不应影响后续页
+        storage.save(new Transaction("txn-0", "acc-0", 1.0, TransactionType.TRANSFER, base, "Test"));
+        TransactionCursor cursor = TransactionCursor.decode(TransactionCursor.of(page1.get(1)).encode());
+        List<Transaction> page2 = storage.findAfter(cursor, 2);
+        assertEquals(List.of("txn-3", "txn-4"), page2.stream().map(Transaction::id).toList());
+    }
+
+    // 测试账户索引：只返回该账户记录，更新账户后索引随之迁移
+    @Test
+    void findByAccount_ShouldFollowSaveUpdateAndDelete() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 1; i <= 3; i++) {
+            storage.save(new Transaction("txn-" + i, "acc-1", i, TransactionType.DEPOSIT, base.plusMinutes(i), "Test"));
+        }
+        storage.save(new Transaction("txn-4", "acc-2", 4, TransactionType.DEPOSIT, base, "Test"));
+
+        assertEquals(List.of("txn-3"),
+                storage.findByAccount("acc-1", 1, 2).stream().map(Transaction::id).toList());
+        assertEquals(3, storage.countByAccount("acc-1"));
+
+        storage.save(new Transaction("txn-1", "acc-2", 1, TransactionType.DEPOSIT, base.plusMinutes(1), "Moved"));
+        storage.delete("txn-2");
+        assertEquals(1, storage.countByAccount("acc-1"));
+        assertEquals(List.of("txn-4", "txn-1"),
+                storage.findByAccount("acc-2", 0, 10).stream().map(Transaction::id).toList());
+        assertEquals(0, storage.countByAccount("acc-404"));
+    }
+
+    // 测试账户游标分页
+    @Test
+    void findByAccountAfter_ShouldReturnRecordsAfterCursor() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 1; i <= 4; i++) {
+            storage.save(new Transaction("txn-" + i, "acc-" + (i % 2), i, TransactionType.DEPOSIT,
+                    base.plusMinutes(i), "Test"));
+        }
+
+        assertEquals(List.of("txn-2", "txn-4"),
+                storage.findByAccountAfter("acc-0", null, 10).stream().map(Transaction::id).toList());
+        assertEquals(List.of("txn-4"),
+                storage.findByAccountAfter("acc-0", new TransactionCursor(base.plusMinutes(2), "txn-2"), 10)
+                        .stream().map(Transaction::id).toList());
+        assertEquals(List.of(), storage.findByAccountAfter("acc-404", null, 10));
+    }
+
+    // 测试时间范围查询：起始含、结束不含，不限边界时排除创建时间为空的记录
+    @Test
+    void findByTimeRange_ShouldReturnRecordsInsideRange() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 1; i <= 5; i++) {
+            storage.save(new Transaction("txn-" + i, "acc-1", i, TransactionType.DEPOSIT, base.plusMinutes(i), "Test"));
+        }
+        storage.save(new Transaction("txn-null", "acc-1", 9, TransactionType.DEPOSIT, null, "Test"));
+
+        assertEquals(List.of("txn-2", "txn-3"),
+                storage.findByTimeRange(base.plusMinutes(2), base.plusMinutes(4), 0, 10)
+                        .stream().map(Transaction::id).toList());
+        assertEquals(List.of("txn-4"),
+                storage.findByTimeRange(base.plusMinutes(3), null, 1, 1).stream().map(Transaction::id).toList());
+        assertEquals(5, storage.countByTimeRange(null, null));
+        assertEquals(2, storage.countByTimeRange(null, base.plusMinutes(3)));
+        assertEquals(0, storage.countByTimeRange(base.plusMinutes(4), base.plusMinutes(4)));
+
+        storage.save(new Transaction("txn-2", "acc-1", 2, TransactionType.DEPOSIT, base.plusMinutes(9), "Moved"));
+        storage.delete("txn-3");
+        assertEquals(0, storage.countByTimeRange(base.plusMinutes(2), base.plusMinutes(4)));
+    }
+
+    // 测试按桶计数跳页：跨多个时间桶的分页和计数与逐条遍历的结果一致，更新和删除后计数随之调整
+    @Test
+    void findByTimeRange_AcrossBuckets_ShouldMatchFullScan() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 0; i < 300; i++) {
+            storage.save(new Transaction("txn-" + i, "acc-1", i, TransactionType.DEPOSIT,
+                    base.plusSeconds(i * 7L), "Test"));
+        }
+        storage.save(new Transaction("txn-5", "acc-1", 5, TransactionType.DEPOSIT, base.plusSeconds(2000), "Moved"));
+        storage.delete("txn-100");
+
+        LocalDateTime from = base.plusSeconds(95);
+        LocalDateTime to = base.plusSeconds(1500);
+        List<String> expected = storage.findAfter(null, 1000).stream()
+                .filter(t -> !t.timestamp().isBefore(from) && t.timestamp().isBefore(to))
+                .map(Transaction::id)
+                .toList();
+        assertEquals(expected.size(), storage.countByTimeRange(from, to));
+        for (int page = 0; page * 25 < expected.size() + 25; page++) {
+            assertEquals(expected.subList(Math.min(page * 25, expected.size()), Math.min(page * 25 + 25, expected.size())),
+                    storage.findByTimeRange(from, to, page, 25).stream().map(Transaction::id).toList());
+        }
+        assertEquals(299, storage.countByTimeRange(null, null));
+    }
+
+    // 测试时间范围游标分页：从游标之后开始，到结束时间为止，排除创建时间为空的记录
+    @Test
+    void findByTimeRangeAfter_ShouldStopAtEndTime() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 1; i <= 5; i++) {
+            storage.save(new Transaction("txn-" + i, "acc-1", i, TransactionType.DEPOSIT, base.plusMinutes(i), "Test"));
+        }
+        storage.save(new Transaction("txn-null", "acc-1", 9, TransactionType.DEPOSIT, null, "Test"));
+
+        List<Transaction> first = storage.findByTimeRangeAfter(null, base.plusMinutes(4), 2);
+        assertEquals(List.of("txn-1", "txn-2"), first.stream().map(Transaction::id).toList());
+        assertEquals(List.of("txn-3"), storage.findByTimeRangeAfter(TransactionCursor.of(first.get(1)),
+                base.plusMinutes(4), 2).stream().map(Transaction::id).toList());
+        assertEquals(List.of("txn-2", "txn-3", "txn-4", "txn-5"), storage.findByTimeRangeAfter(
+                new TransactionCursor(base.plusMinutes(2), ""), null, 10).stream().map(Transaction::id).toList());
+    }
+
+    // 测试账户的时间范围游标分页：只返回该账户的记录，读到结束时间即停止
+    @Test
+    void findByAccountTimeRangeAfter_ShouldStopAtEndTime() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 1; i <= 5; i++) {
+            storage.save(new Transaction("txn-" + i, "acc-1", i, TransactionType.DEPOSIT, base.plusMinutes(i), "Test"));
+            storage.save(new Transaction("other-" + i, "acc-2", i, TransactionType.DEPOSIT, base.plusMinutes(i), "Test"));
+        }
+        storage.save(new Transaction("txn-null", "acc-1", 9, TransactionType.DEPOSIT, null, "Test"));
+
+        List<Transaction> first = storage.findByAccountTimeRangeAfter("acc-1", null, base.plusMinutes(4), 2);
+        assertEquals(List.of("txn-1", "txn-2"), first.stream().map(Transaction::id).toList());
+        assertEquals(List.of("txn-3"), storage.findByAccountTimeRangeAfter("acc-1", TransactionCursor.of(first.get(1)),
+                base.plusMinutes(4), 2).stream().map(Transaction::id).toList());
+        assertEquals(List.of(), storage.findByAccountTimeRangeAfter("acc-1",
+                new TransactionCursor(base.plusMinutes(4), ""), base.plusMinutes(2), 10));
+        assertEquals(List.of(), storage.findByAccountTimeRangeAfter("acc-3", null, base.plusMinutes(4), 10));
+    }
+
+    // 测试指纹占用：同一内容只能占用一次，释放后可再次占用
+    @Test
+    void reserve_ShouldClaimFingerprintOnlyOnce() {
+        assertTrue(storage.reserve(sampleDto));
+        assertFalse(storage.reserve(sampleDto));
+        assertTrue(storage.exists(sampleDto));
+
+        storage.release(sampleDto);
+        assertFalse(storage.exists(sampleDto));
+        assertTrue(storage.reserve(sampleDto));
+    }
+
     // 测试删除交易记录
     @Test
     void delete_ShouldRemoveTransactionAndHash() {
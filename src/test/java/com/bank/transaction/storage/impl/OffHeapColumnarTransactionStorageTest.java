@@ -0,0 +1,232 @@
+package com.bank.transaction.storage.impl;
+
+import com.bank.transaction.config.DedupProperties;
+import com.bank.transaction.config.OffHeapProperties;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.model.Transaction.TransactionType;
+import com.bank.transaction.storage.TransactionCursor;
+import com.bank.transaction.storage.wal.TransactionLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class OffHeapColumnarTransactionStorageTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_000_000);
+
+    private OffHeapColumnarTransactionStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        // 每块4行，覆盖跨块读写
+        storage = new OffHeapColumnarTransactionStorage(TransactionLog.noop(), DedupProperties.defaults(),
+                new OffHeapProperties(4, 2, Duration.ofMinutes(1)), Clock.systemDefaultZone());
+    }
+
+    // 测试读取时按列还原交易记录
+    @Test
+    void save_ThenFindById_ShouldRebuildTransaction() {
+        String id = UUID.randomUUID().toString();
+        Transaction transaction = new Transaction(id, "acc-1", 12.34, TransactionType.WITHDRAWAL, BASE, "Grocery");
+        storage.save(transaction);
+
+        assertEquals(transaction, storage.findById(id).orElseThrow());
+        assertTrue(storage.exists(new TransactionDto("acc-1", 12.34, TransactionType.WITHDRAWAL, "Grocery")));
+        assertFalse(storage.findById(UUID.randomUUID().toString()).isPresent());
+    }
+
+    // 测试紧凑ID按long保存，非规范形式的同长度ID走字典
+    @Test
+    void save_WithCompactIds_ShouldRoundTrip() {
+        storage.save(new Transaction("0123456789ABC", "acc-1", 1, TransactionType.DEPOSIT, BASE, "Compact"));
+        storage.save(new Transaction("0123456789abc", "acc-1", 2, TransactionType.DEPOSIT, BASE, "Lowercase"));
+
+        assertEquals("Compact", storage.findById("0123456789ABC").orElseThrow().description());
+        assertEquals("Lowercase", storage.findById("0123456789abc").orElseThrow().description());
+        assertFalse(storage.findById("0123456789ABD").isPresent());
+    }
+
+    // 测试金额按最小单位取整
+    @Test
+    void save_WithExtraDecimals_ShouldRoundToAmountScale() {
+        storage.save(new Transaction("txn-1", "acc-1", 10.005, TransactionType.DEPOSIT, null, "Round"));
+        assertEquals(10.01, storage.findById("txn-1").orElseThrow().amount());
+    }
+
+    // 测试跨多个堆外块的分页、游标和账户查询
+    @Test
+    void queries_AcrossChunks_ShouldFollowUpdatesAndDeletes() {
+        for (int i = 0; i < 10; i++) {
+            storage.save(new Transaction("txn-" + i, "acc-" + (i % 2), i, TransactionType.DEPOSIT,
+                    BASE.plusSeconds(i), "Test"));
+        }
+        storage.delete("txn-2");
+        storage.save(new Transaction("txn-3", "acc-0", 3, TransactionType.DEPOSIT, BASE.plusSeconds(3), "Moved"));
+
+        assertEquals(9, storage.count());
+        assertEquals(List.of("txn-4", "txn-5", "txn-6"), ids(storage.findAll(1, 3)));
+        assertEquals(List.of("txn-3", "txn-4"),
+                ids(storage.findAfter(TransactionCursor.of(storage.findById("txn-1").orElseThrow()), 2)));
+        assertEquals(List.of("txn-0", "txn-3", "txn-4", "txn-6", "txn-8"), ids(storage.findByAccount("acc-0", 0, 10)));
+        assertEquals(4, storage.countByAccount("acc-1"));
+        assertTrue(storage.offHeapBytes() > 0);
+    }
+
+    // 测试账户游标分页：按时间构造的游标过滤，后续页从游标行之后继续
+    @Test
+    void findByAccountAfter_ShouldContinueFromCursorRow() {
+        for (int i = 0; i < 6; i++) {
+            storage.save(new Transaction("txn-" + i, "acc-" + (i % 2), i, TransactionType.DEPOSIT,
+                    BASE.plusSeconds(i), "Test"));
+        }
+
+        List<Transaction> first = storage.findByAccountAfter("acc-0", new TransactionCursor(BASE.plusSeconds(1), ""), 1);
+        assertEquals(List.of("txn-2"), ids(first));
+        assertEquals(List.of("txn-4"),
+                ids(storage.findByAccountAfter("acc-0", TransactionCursor.of(first.get(0)), 5)));
+        assertEquals(List.of("txn-1", "txn-3", "txn-5"), ids(storage.findByAccountAfter("acc-1", null, 5)));
+    }
+
+    // 测试按时间构造的游标：按时间定位后按（创建时间, ID）返回，亚毫秒游标排除该毫秒，创建时间为空的记录排在最前
+    @Test
+    void findAfter_WithTimeCursor_ShouldCompareColumns() {
+        storage.save(new Transaction("txn-b", "acc-1", 1, TransactionType.DEPOSIT, BASE, "Test"));
+        storage.save(new Transaction("txn-null", "acc-1", 2, TransactionType.DEPOSIT, null, "Test"));
+        storage.save(new Transaction("txn-a", "acc-1", 3, TransactionType.DEPOSIT, BASE, "Test"));
+        storage.save(new Transaction("txn-c", "acc-1", 4, TransactionType.DEPOSIT, BASE.plusSeconds(1), "Test"));
+
+        assertEquals(List.of("txn-a", "txn-b", "txn-c"), ids(storage.findAfter(new TransactionCursor(BASE, ""), 10)));
+        assertEquals(List.of("txn-b", "txn-c"), ids(storage.findAfter(new TransactionCursor(BASE, "txn-a0"), 10)));
+        assertEquals(List.of("txn-c"), ids(storage.findAfter(new TransactionCursor(BASE.plusNanos(1), ""), 10)));
+        assertEquals(List.of("txn-b", "txn-a", "txn-c"), ids(storage.findAfter(new TransactionCursor(null, "txn-z"), 10)));
+        assertEquals(List.of("txn-b", "txn-c"),
+                ids(storage.findByAccountAfter("acc-1", new TransactionCursor(BASE, "txn-a0"), 10)));
+    }
+
+    // 测试WAL回放以创建时间作为指纹写入时间：早于去重窗口的记录回放后，相同内容可以再次创建
+    @Test
+    void replay_WithRecordOlderThanWindow_ShouldNotBlockSameContent() {
+        TransactionLog transactionLog = mock(TransactionLog.class);
+        doAnswer(invocation -> {
+            TransactionLog.Replayer replayer = invocation.getArgument(0);
+            replayer.onSave(new Transaction("txn-old", "acc-1", 5, TransactionType.DEPOSIT,
+                    LocalDateTime.now().minusDays(2), "Old"));
+            replayer.onSave(new Transaction("txn-new", "acc-1", 6, TransactionType.DEPOSIT,
+                    LocalDateTime.now(), "New"));
+            return null;
+        }).when(transactionLog).replay(any(TransactionLog.Replayer.class));
+
+        OffHeapColumnarTransactionStorage replayed = new OffHeapColumnarTransactionStorage(transactionLog,
+                DedupProperties.defaults(), new OffHeapProperties(4, 2, Duration.ofMinutes(1)), Clock.systemDefaultZone());
+
+        assertEquals(2, replayed.count());
+        assertTrue(replayed.reserve(new TransactionDto("acc-1", 5, TransactionType.DEPOSIT, "Old")));
+        assertFalse(replayed.reserve(new TransactionDto("acc-1", 6, TransactionType.DEPOSIT, "New")));
+    }
+
+    // 测试时间桶索引：跨桶范围按时间排序，边界桶逐行过滤，写入和删除后索引随之更新
+    @Test
+    void findByTimeRange_AcrossBuckets_ShouldFollowUpdatesAndDeletes() {
+        // 写入顺序与时间顺序相反，同一分钟桶内有多条记录
+        for (int i = 9; i >= 0; i--) {
+            storage.save(new Transaction("txn-" + i, "acc-1", i, TransactionType.DEPOSIT,
+                    BASE.plusSeconds(i * 20L), "Test"));
+        }
+        storage.save(new Transaction("txn-null", "acc-1", 1, TransactionType.DEPOSIT, null, "Test"));
+
+        // [BASE+40s, BASE+140s) 覆盖 txn-2 ~ txn-6
+        LocalDateTime from = BASE.plusSeconds(40);
+        LocalDateTime to = BASE.plusSeconds(140);
+        assertEquals(List.of("txn-2", "txn-3", "txn-4", "txn-5", "txn-6"), ids(storage.findByTimeRange(from, to, 0, 10)));
+        assertEquals(List.of("txn-5", "txn-6"), ids(storage.findByTimeRange(from, to, 1, 3)));
+        assertEquals(5, storage.countByTimeRange(from, to));
+        assertEquals(10, storage.countByTimeRange(null, null));
+        assertEquals(List.of("txn-8", "txn-9"), ids(storage.findByTimeRange(BASE.plusSeconds(160), null, 0, 10)));
+        // 亚毫秒的起始时间不包含该毫秒的记录
+        assertEquals(List.of("txn-1"), ids(storage.findByTimeRange(BASE.plusNanos(1), BASE.plusSeconds(40), 0, 10)));
+
+        storage.save(new Transaction("txn-3", "acc-1", 3, TransactionType.DEPOSIT, BASE.plusHours(1), "Moved"));
+        storage.delete("txn-4");
+        assertEquals(List.of("txn-2", "txn-5", "txn-6"), ids(storage.findByTimeRange(from, to, 0, 10)));
+        assertEquals(List.of("txn-3"), ids(storage.findByTimeRange(BASE.plusMinutes(30), null, 0, 10)));
+        assertEquals(0, storage.countByTimeRange(to, from));
+    }
+
+    // 测试时间范围游标分页：写入顺序与时间顺序相反时仍按时间推进，读到结束时间即停止
+    @Test
+    void findByTimeRangeAfter_ShouldFollowTimeOrderAcrossBuckets() {
+        for (int i = 9; i >= 0; i--) {
+            storage.save(new Transaction("txn-" + i, "acc-1", i, TransactionType.DEPOSIT,
+                    BASE.plusSeconds(i * 20L), "Test"));
+        }
+        storage.save(new Transaction("txn-null", "acc-1", 1, TransactionType.DEPOSIT, null, "Test"));
+
+        LocalDateTime to = BASE.plusSeconds(140);
+        List<Transaction> first = storage.findByTimeRangeAfter(new TransactionCursor(BASE.plusSeconds(40), ""), to, 3);
+        assertEquals(List.of("txn-2", "txn-3", "txn-4"), ids(first));
+        assertEquals(List.of("txn-5", "txn-6"),
+                ids(storage.findByTimeRangeAfter(TransactionCursor.of(first.get(2)), to, 3)));
+        assertEquals(List.of("txn-0", "txn-1"), ids(storage.findByTimeRangeAfter(null, BASE.plusSeconds(40), 10)));
+    }
+
+    // 测试账户的时间范围游标分页：写入顺序与时间顺序相反时仍按时间推进，只保留该账户的行
+    @Test
+    void findByAccountTimeRangeAfter_ShouldFollowTimeOrderWithinAccount() {
+        for (int i = 9; i >= 0; i--) {
+            storage.save(new Transaction("txn-" + i, i % 2 == 0 ? "acc-1" : "acc-2", i, TransactionType.DEPOSIT,
+                    BASE.plusSeconds(i * 20L), "Test"));
+        }
+
+        LocalDateTime to = BASE.plusSeconds(140);
+        List<Transaction> first = storage.findByAccountTimeRangeAfter("acc-1", null, to, 2);
+        assertEquals(List.of("txn-0", "txn-2"), ids(first));
+        assertEquals(List.of("txn-4", "txn-6"),
+                ids(storage.findByAccountTimeRangeAfter("acc-1", TransactionCursor.of(first.get(1)), to, 10)));
+        assertEquals(List.of(), storage.findByAccountTimeRangeAfter("acc-3", null, to, 10));
+    }
+
+    // 测试游标ID不存在时按时间定位：写入顺序与时间相反也按时间推进，不回到第一行
+    @Test
+    void findAfter_WithUnknownCursorId_ShouldSeekByTimestamp() {
+        for (int i = 9; i >= 0; i--) {
+            storage.save(new Transaction("txn-" + i, "acc-" + (i % 2), i, TransactionType.DEPOSIT,
+                    BASE.plusSeconds(i * 20L), "Test"));
+        }
+        TransactionCursor foreign = new TransactionCursor(BASE.plusSeconds(60), "txn-3z");
+
+        assertEquals(List.of("txn-4", "txn-5", "txn-6"), ids(storage.findAfter(foreign, 3)));
+        assertEquals(List.of("txn-5", "txn-7"), ids(storage.findByAccountAfter("acc-1", foreign, 2)));
+    }
+
+    // 测试堆外内存按需增长：少量数据只分配第一块的初始大小
+    @Test
+    void offHeapBytes_WithFewRows_ShouldNotReserveWholeChunk() {
+        OffHeapColumnarTransactionStorage large = new OffHeapColumnarTransactionStorage(TransactionLog.noop(),
+                DedupProperties.defaults(), new OffHeapProperties(1 << 20, 2, Duration.ofMinutes(1)),
+                Clock.systemDefaultZone());
+        large.save(new Transaction("txn-1", "acc-1", 1, TransactionType.DEPOSIT, BASE, "Test"));
+        long initial = large.offHeapBytes();
+        assertTrue(initial < 64 * 1024, "allocated " + initial);
+
+        for (int i = 2; i <= 3000; i++) {
+            large.save(new Transaction("txn-" + i, "acc-1", i, TransactionType.DEPOSIT, BASE, "Test"));
+        }
+        assertTrue(large.offHeapBytes() > initial);
+        assertEquals("txn-1", large.findById("txn-1").orElseThrow().id());
+        assertEquals(3000, large.count());
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::id).toList();
+    }
+}
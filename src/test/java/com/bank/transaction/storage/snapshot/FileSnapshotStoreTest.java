@@ -0,0 +1,137 @@
+package com.bank.transaction.storage.snapshot;
+
+import com.bank.transaction.config.DedupProperties;
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.model.Transaction.TransactionType;
+import com.bank.transaction.storage.dedup.Fingerprint;
+import com.bank.transaction.storage.dedup.FingerprintSet;
+import com.bank.transaction.storage.impl.InMemoryTransactionStorage;
+import com.bank.transaction.storage.wal.MappedWriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSnapshotStoreTest {
+    @TempDir
+    Path directory;
+
+    // 测试各种字段取值编码后可以精确还原
+    @Test
+    void writeThenLoad_ShouldRestoreTransactionsAndFingerprints() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123456789);
+        List<Transaction> transactions = List.of(
+                new Transaction(UUID.randomUUID().toString(), "acc-1", 12.34, TransactionType.DEPOSIT, base, "Salary"),
+                new Transaction("legacy-1", "acc-1", 0.1 + 0.2, TransactionType.WITHDRAWAL, base.minusDays(3), "Salary"),
+                new Transaction("legacy-2", null, -5, null, null, null),
+                new Transaction("中文-3", "账户", 1e300, TransactionType.TRANSFER, base.plusSeconds(1), "描述"),
+                new Transaction("0123456789ABC", "acc-2", 1, TransactionType.DEPOSIT, base.plusSeconds(2), "Compact"),
+                new Transaction("0123456789abc", "acc-2", 2, TransactionType.DEPOSIT, base.plusSeconds(2), "Lowercase"));
+        FingerprintSet fingerprints = new FingerprintSet(Duration.ofHours(1));
+        fingerprints.add(new Fingerprint(1, 2), 1_000);
+        fingerprints.add(new Fingerprint(3, 4), 5_000);
+
+        FileSnapshotStore store = new FileSnapshotStore(directory, 2);
+        store.write(7, 6_000, fingerprints, transactions);
+
+        List<Transaction> loaded = new ArrayList<>();
+        List<Long> stamps = new ArrayList<>();
+        long epoch = store.load(new SnapshotStore.Loader() {
+            @Override
+            public void onFingerprint(long hi, long lo, long stampMillis) {
+                stamps.add(stampMillis);
+            }
+
+            @Override
+            public void onTransaction(Transaction transaction) {
+                loaded.add(transaction);
+            }
+        });
+
+        assertEquals(7, epoch);
+        assertEquals(transactions, loaded);
+        assertEquals(List.of(1_000L, 5_000L), stamps.stream().sorted().toList());
+    }
+
+    // 测试最新快照损坏时回退到上一个快照，并只保留最近的快照
+    @Test
+    void load_WithCorruptLatest_ShouldFallBackToPrevious() throws Exception {
+        FileSnapshotStore store = new FileSnapshotStore(directory, 2);
+        FingerprintSet empty = new FingerprintSet(Duration.ZERO);
+        Transaction transaction = new Transaction("txn-1", "acc-1", 1, TransactionType.DEPOSIT, null, "A");
+        store.write(1, 0, empty, List.of(transaction));
+        store.write(2, 0, empty, List.of(transaction));
+        store.write(3, 0, empty, List.of(transaction));
+        assertEquals(2, store.prune());
+
+        Path latest = directory.resolve("snapshot-0000000000000003.snap");
+        byte[] bytes = Files.readAllBytes(latest);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(latest, bytes);
+
+        List<Transaction> loaded = new ArrayList<>();
+        assertEquals(2, store.load(new SnapshotStore.Loader() {
+            @Override
+            public void onFingerprint(long hi, long lo, long stampMillis) {
+            }
+
+            @Override
+            public void onTransaction(Transaction t) {
+                loaded.add(t);
+            }
+        }));
+        assertEquals(List.of(transaction), loaded);
+    }
+
+    // 测试快照后重启：加载快照并只回放之后的日志，旧日志段被删除
+    @Test
+    void storage_AfterSnapshotAndRestart_ShouldRestoreFromSnapshotAndTail() throws Exception {
+        Path walDirectory = directory.resolve("wal");
+        Path snapshotDirectory = directory.resolve("snapshot");
+        try (MappedWriteAheadLog wal = openWal(walDirectory)) {
+            InMemoryTransactionStorage storage = openStorage(wal, snapshotDirectory);
+            for (int i = 0; i < 100; i++) {
+                storage.save(new Transaction("txn-" + i, "acc-" + i % 3, i, TransactionType.DEPOSIT,
+                        LocalDateTime.now(), "Before"));
+            }
+            storage.snapshot();
+            storage.delete("txn-0");
+            storage.save(new Transaction("txn-100", "acc-1", 100, TransactionType.DEPOSIT, LocalDateTime.now(), "After"));
+            storage.snapshot();
+            storage.save(new Transaction("txn-101", "acc-1", 101, TransactionType.DEPOSIT, LocalDateTime.now(), "Tail"));
+        }
+
+        try (Stream<Path> segments = Files.list(walDirectory)) {
+            // 保留两个快照，只有第一个快照之前的段被删除
+            assertEquals(2, segments.count());
+        }
+        try (MappedWriteAheadLog wal = openWal(walDirectory)) {
+            InMemoryTransactionStorage storage = openStorage(wal, snapshotDirectory);
+            assertEquals(101, storage.count());
+            assertFalse(storage.findById("txn-0").isPresent());
+            assertEquals("Tail", storage.findById("txn-101").orElseThrow().description());
+            assertEquals(35, storage.countByAccount("acc-1"));
+            assertTrue(storage.exists(new TransactionDto("acc-1", 100, TransactionType.DEPOSIT, "After")));
+        }
+    }
+
+    private static MappedWriteAheadLog openWal(Path directory) {
+        return new MappedWriteAheadLog(directory, 1 << 16, 8, Duration.ofMillis(1));
+    }
+
+    private static InMemoryTransactionStorage openStorage(MappedWriteAheadLog wal, Path snapshotDirectory) {
+        return new InMemoryTransactionStorage(wal, new FileSnapshotStore(snapshotDirectory, 2),
+                DedupProperties.defaults(), Clock.systemDefaultZone());
+    }
+}
@@ -0,0 +1,90 @@
+package com.bank.transaction.storage.wal;
+
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.model.Transaction.TransactionType;
+import com.bank.transaction.storage.impl.InMemoryTransactionStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedWriteAheadLogTest {
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private MappedWriteAheadLog open() {
+        return new MappedWriteAheadLog(directory, SEGMENT_SIZE, 8, Duration.ofMillis(1));
+    }
+
+    // 测试重启后按写入顺序回放
+    @Test
+    void replay_AfterReopen_ShouldRestoreRecordsInOrder() {
+        Transaction transaction = new Transaction("txn-1", "acc-1", 12.5, TransactionType.DEPOSIT,
+                LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123456789), "Salary");
+        try (MappedWriteAheadLog wal = open()) {
+            wal.awaitDurable(wal.appendSave(transaction));
+            wal.awaitDurable(wal.appendDelete("txn-0"));
+        }
+
+        List<Object> replayed = new ArrayList<>();
+        try (MappedWriteAheadLog wal = open()) {
+            wal.replay(new TransactionLog.Replayer() {
+                @Override
+                public void onSave(Transaction saved) {
+                    replayed.add(saved);
+                }
+
+                @Override
+                public void onDelete(String id) {
+                    replayed.add(id);
+                }
+            });
+        }
+        assertEquals(List.of(transaction, "txn-0"), replayed);
+    }
+
+    // 测试记录超过段大小时自动切换段文件
+    @Test
+    void append_WhenSegmentFull_ShouldRollToNextSegment() {
+        try (MappedWriteAheadLog wal = open()) {
+            long sequence = 0;
+            for (int i = 0; i < 200; i++) {
+                sequence = wal.appendSave(new Transaction("txn-" + i, "acc", i, TransactionType.TRANSFER, null, "Roll"));
+            }
+            wal.awaitDurable(sequence);
+        }
+
+        InMemoryTransactionStorage storage;
+        try (MappedWriteAheadLog wal = open()) {
+            storage = new InMemoryTransactionStorage(wal);
+        }
+        assertEquals(200, storage.count());
+        assertEquals(199.0, storage.findById("txn-199").orElseThrow().amount());
+    }
+
+    // 测试存储层删除后重启不会复活记录
+    @Test
+    void storage_AfterRestart_ShouldReflectDeletes() {
+        try (MappedWriteAheadLog wal = open()) {
+            InMemoryTransactionStorage storage = new InMemoryTransactionStorage(wal);
+            storage.save(new Transaction("txn-1", "acc-1", 1.0, TransactionType.DEPOSIT, null, "A"));
+            storage.save(new Transaction("txn-2", "acc-2", 2.0, TransactionType.DEPOSIT, null, "B"));
+            storage.delete("txn-1");
+        }
+
+        try (MappedWriteAheadLog wal = open()) {
+            InMemoryTransactionStorage storage = new InMemoryTransactionStorage(wal);
+            assertFalse(storage.findById("txn-1").isPresent());
+            assertTrue(storage.findById("txn-2").isPresent());
+            assertEquals(1, storage.count());
+        }
+    }
+}
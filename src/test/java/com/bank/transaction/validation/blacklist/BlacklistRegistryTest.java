@@ -0,0 +1,106 @@
+package com.bank.transaction.validation.blacklist;
+
+import com.bank.transaction.config.BlacklistProperties;
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.model.AccountStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlacklistRegistryTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private final Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    // 测试文件加载：到期时间之前生效，之后失效，固定配置的条目始终保留
+    @Test
+    void reload_FromFile_ShouldHonourExpiry() throws IOException {
+        Path file = directory.resolve("blacklist.txt");
+        Files.writeString(file, """
+                # 注释行
+                acc-permanent
+                acc-active, 2024-01-02T00:00:00
+                acc-expired,2024-01-01T11:59:59
+                """);
+        BlacklistRegistry registry = new BlacklistRegistry(properties(file), clock);
+
+        assertTrue(registry.isBlacklisted("acc-permanent"));
+        assertTrue(registry.isBlacklisted("acc-active"));
+        assertFalse(registry.isBlacklisted("acc-expired"));
+        assertTrue(registry.isBlacklisted("BLACKLISTED_ACCOUNT"));
+        assertFalse(registry.isBlacklisted("acc-normal"));
+        assertEquals(4, registry.info().size());
+        assertEquals("file", registry.info().source());
+    }
+
+    // 测试格式错误的文件不替换当前版本
+    @Test
+    void reload_WithMalformedFile_ShouldKeepCurrentVersion() throws IOException {
+        Path file = directory.resolve("blacklist.txt");
+        Files.writeString(file, "acc-1\n");
+        BlacklistRegistry registry = new BlacklistRegistry(properties(file), clock);
+
+        Files.writeString(file, "acc-2,not-a-time\n");
+        BusinessException exception = assertThrows(BusinessException.class, registry::reload);
+        assertEquals(ErrorCode.BLACKLIST_SOURCE_UNAVAILABLE, exception.getErrorCode());
+        assertTrue(registry.isBlacklisted("acc-1"));
+        assertFalse(registry.isBlacklisted("acc-2"));
+    }
+
+    // 测试管理接口整体替换：旧条目失效，未拉黑的条目忽略
+    @Test
+    void replace_ShouldSwapWholeBlacklist() {
+        BlacklistRegistry registry = new BlacklistRegistry(BlacklistProperties.defaults(), clock);
+        registry.replace(List.of(new AccountStatus("acc-1", true, null)));
+        registry.replace(List.of(
+                new AccountStatus("acc-2", true, NOW.plusMinutes(1)),
+                new AccountStatus("acc-3", false, null)));
+
+        assertFalse(registry.isBlacklisted("acc-1"));
+        assertTrue(registry.isBlacklisted("acc-2"));
+        assertFalse(registry.isBlacklisted("acc-3"));
+        assertEquals(2, registry.info().size());
+        assertEquals("api", registry.info().source());
+        assertThrows(BusinessException.class, registry::reload);
+    }
+
+    // 测试大规模快照：全部条目命中，布隆过滤器不造成漏判，重复条目以最后一次为准
+    @Test
+    void snapshot_WithManyEntries_ShouldMatchExactly() {
+        BlacklistSnapshot.Builder builder = BlacklistSnapshot.builder();
+        for (int i = 0; i < 200_000; i++) {
+            builder.add("acc-" + i, BlacklistSnapshot.PERMANENT);
+        }
+        builder.add("acc-0", 1_000);
+        BlacklistSnapshot snapshot = builder.build();
+
+        assertEquals(200_000, snapshot.size());
+        for (int i = 1; i < 200_000; i++) {
+            assertTrue(snapshot.isBlacklisted("acc-" + i, 0));
+        }
+        assertTrue(snapshot.isBlacklisted("acc-0", 999));
+        assertFalse(snapshot.isBlacklisted("acc-0", 1_000));
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(snapshot.isBlacklisted("other-" + i, 0));
+        }
+        assertFalse(snapshot.isBlacklisted(null, 0));
+    }
+
+    private static BlacklistProperties properties(Path file) {
+        return new BlacklistProperties(file, Duration.ofSeconds(30), List.of("BLACKLISTED_ACCOUNT"), false);
+    }
+}
@@ -1,20 +1,25 @@
 package com.bank.transaction.validation.validator;
 
+import com.bank.transaction.config.BlacklistProperties;
 import com.bank.transaction.dto.TransactionDto;
 import com.bank.transaction.exception.BusinessException;
 import com.bank.transaction.exception.ErrorCode;
 import com.bank.transaction.model.AccountStatus;
 import com.bank.transaction.model.Transaction;
+import com.bank.transaction.validation.blacklist.BlacklistRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 class BlacklistValidatorTest {
-    @InjectMocks
-    private BlacklistValidator validator;
+    private final BlacklistValidator validator = new BlacklistValidator();
 
     // 测试正常场景：账户不在黑名单中
     @Test
@@ -35,6 +40,21 @@ class BlacklistValidatorTest {
     @Test
     void validate_WhenAccountIdIsNull_ShouldPass() {
         TransactionDto dto = new TransactionDto(null, 100.0, Transaction.TransactionType.DEPOSIT, "Salary");
-        assertThrows(NullPointerException.class, () ->validator.validate(dto));
+        assertDoesNotThrow(() -> validator.validate(dto));
+    }
+
+    // 测试动态黑名单：替换后立即生效，已到期的条目不再拦截
+    @Test
+    void validate_AfterBlacklistReplaced_ShouldHonourExpiry() {
+        BlacklistRegistry registry = new BlacklistRegistry(BlacklistProperties.defaults(), Clock.systemDefaultZone());
+        BlacklistValidator dynamic = new BlacklistValidator(registry);
+        registry.replace(List.of(
+                new AccountStatus("ACC-ACTIVE", true, LocalDateTime.now().plusDays(1)),
+                new AccountStatus("ACC-EXPIRED", true, LocalDateTime.now().minusDays(1))));
+
+        TransactionDto active = new TransactionDto("ACC-ACTIVE", 100.0, Transaction.TransactionType.DEPOSIT, "Salary");
+        TransactionDto expired = new TransactionDto("ACC-EXPIRED", 100.0, Transaction.TransactionType.DEPOSIT, "Salary");
+        assertThrows(BusinessException.class, () -> dynamic.validate(active));
+        assertDoesNotThrow(() -> dynamic.validate(expired));
     }
 }
@@ -0,0 +1,72 @@
+package com.bank.transaction.validation.validator;
+
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.exception.BusinessException;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeWindowValidatorTest {
+    private static final TransactionDto DTO =
+            new TransactionDto("ACC-1", 100.0, Transaction.TransactionType.DEPOSIT, "Salary");
+
+    // 测试窗口内通过，窗口外返回错误码
+    @Test
+    void check_ShouldFollowInjectedClock() {
+        assertNull(validatorAt(LocalDateTime.of(2024, 1, 1, 12, 0)).check(DTO));
+        assertNull(validatorAt(LocalDateTime.of(2024, 1, 1, 6, 0)).check(DTO));
+        assertEquals(ErrorCode.OUTSIDE_TRANSACTION_WINDOW, validatorAt(LocalDateTime.of(2024, 1, 1, 5, 59)).check(DTO));
+        assertEquals(ErrorCode.OUTSIDE_TRANSACTION_WINDOW, validatorAt(LocalDateTime.of(2024, 1, 1, 23, 1)).check(DTO));
+    }
+
+    // 测试时钟读数变化后重新判断，validate仍以异常报告拒绝
+    @Test
+    void check_AfterClockAdvances_ShouldReevaluate() {
+        MutableClock clock = new MutableClock(LocalDateTime.of(2024, 1, 1, 22, 59));
+        TimeWindowValidator validator = new TimeWindowValidator(clock);
+        assertNull(validator.check(DTO));
+
+        clock.set(LocalDateTime.of(2024, 1, 1, 23, 30));
+        BusinessException exception = assertThrows(BusinessException.class, () -> validator.validate(DTO));
+        assertEquals(ErrorCode.OUTSIDE_TRANSACTION_WINDOW, exception.getErrorCode());
+    }
+
+    private static TimeWindowValidator validatorAt(LocalDateTime time) {
+        return new TimeWindowValidator(Clock.fixed(time.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.transaction.validation.validator;
+
+import com.bank.transaction.dto.TransactionDto;
+import com.bank.transaction.exception.ErrorCode;
+import com.bank.transaction.model.Transaction;
+import com.bank.transaction.validation.ValidationStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionValidatorTest {
+    private static final TransactionDto DTO =
+            new TransactionDto("ACC-1", 100.0, Transaction.TransactionType.DEPOSIT, "Salary");
+
+    // 测试遇到第一个拒绝即停止，批量校验逐条返回错误码
+    @Test
+    void check_ShouldStopAtFirstRejection() {
+        AtomicInteger laterCalls = new AtomicInteger();
+        ValidationStrategy<TransactionDto> rejecting = dto -> ErrorCode.ACCOUNT_BLACKLISTED;
+        ValidationStrategy<TransactionDto> later = dto -> {
+            laterCalls.incrementAndGet();
+            return null;
+        };
+        TransactionValidator validator = new TransactionValidator(List.of(rejecting, later));
+
+        assertEquals(ErrorCode.ACCOUNT_BLACKLISTED, validator.check(DTO));
+        assertEquals(0, laterCalls.get());
+        assertArrayEquals(new ErrorCode[]{ErrorCode.INVALID_TRANSACTION_DATA, ErrorCode.ACCOUNT_BLACKLISTED},
+                validator.validateAll(Arrays.asList(null, DTO)));
+    }
+
+    // 测试批量校验：缺少账户ID的记录只标记该条，不调用各规则
+    @Test
+    void validateAll_WithoutAccountId_ShouldRejectOnlyThatItem() {
+        ValidationStrategy<TransactionDto> requiresAccount = dto -> dto.accountId().startsWith("X") ? ErrorCode.ACCOUNT_BLACKLISTED : null;
+        TransactionValidator validator = new TransactionValidator(List.of(requiresAccount));
+        TransactionDto missing = new TransactionDto(null, 1.0, Transaction.TransactionType.DEPOSIT, "A");
+        TransactionDto blank = new TransactionDto(" ", 1.0, Transaction.TransactionType.DEPOSIT, "B");
+
+        assertArrayEquals(new ErrorCode[]{ErrorCode.INVALID_TRANSACTION_DATA, null, ErrorCode.INVALID_TRANSACTION_DATA},
+                validator.validateAll(List.of(missing, DTO, blank)));
+    }
+
+    // 测试按抽样统计重排：便宜且总是拒绝的规则移到昂贵的通过规则之前
+    @Test
+    void check_AfterSampling_ShouldRunCheapRejectingStrategyFirst() {
+        ValidationStrategy<TransactionDto> expensive = dto -> {
+            long end = System.nanoTime() + 2_000;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+            return null;
+        };
+        ValidationStrategy<TransactionDto> cheapRejecting = dto -> ErrorCode.OUTSIDE_TRANSACTION_WINDOW;
+        TransactionValidator validator = new TransactionValidator(List.of(expensive, cheapRejecting));
+
+        for (int i = 0; i < 200_000 && validator.order().get(0) != cheapRejecting; i++) {
+            assertEquals(ErrorCode.OUTSIDE_TRANSACTION_WINDOW, validator.check(DTO));
+        }
+        assertSame(cheapRejecting, validator.order().get(0));
+    }
+}